@@ -23,6 +23,91 @@ SET sent_by_name = u.name
 FROM users u
 WHERE cm.sent_by_id = u.id AND cm.sent_by_name IS NULL;
 
+-- Request lifecycle sweeper: set once deployed workers were released after the end date
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS workers_released_at TIMESTAMP NULL;
+
+-- Background geocoding: why a request was handed back to the admins
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS location_error VARCHAR(500);
+
+-- Background geocoding: true while a pin code is still being resolved
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS location_pending BOOLEAN DEFAULT FALSE;
+
+-- Worker type bitmasks: bit positions (assigned by WorkerTypeRegistry) and the precomputed masks (NULL falls back to comparing the type lists)
+ALTER TABLE worker_types ADD COLUMN IF NOT EXISTS bit_index INT UNIQUE;
+ALTER TABLE workers ADD COLUMN IF NOT EXISTS worker_types_mask BIGINT;
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS worker_types_mask BIGINT;
+
+-- Geocode tasks table (pin codes waiting to be geocoded in the background)
+CREATE TABLE IF NOT EXISTS geocode_tasks (
+    id BIGSERIAL PRIMARY KEY,
+    target_type VARCHAR(20) NOT NULL,
+    target_id BIGINT NOT NULL,
+    pin_code VARCHAR(6) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_geocode_tasks_target UNIQUE (target_type, target_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_geocode_tasks_status_next ON geocode_tasks(status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_geocode_tasks_pin_code ON geocode_tasks(pin_code);
+
+-- Login attempts table (shared login throttle when login-throttle.store=database)
+CREATE TABLE IF NOT EXISTS login_attempts (
+    id BIGSERIAL PRIMARY KEY,
+    throttle_key VARCHAR(320) NOT NULL,
+    attempted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_login_attempts_key_time ON login_attempts(throttle_key, attempted_at);
+CREATE INDEX IF NOT EXISTS idx_login_attempts_time ON login_attempts(attempted_at);
+
+-- Seed state table (checksum of the reference data last seeded, so restarts skip unchanged seeds)
+CREATE TABLE IF NOT EXISTS seed_state (
+    seed_name VARCHAR(64) PRIMARY KEY,
+    checksum VARCHAR(64) NOT NULL,
+    applied_at TIMESTAMP NOT NULL
+);
+
+-- Background jobs table (durable job queue; ids come from a pooled sequence, 50 per nextval)
+CREATE SEQUENCE IF NOT EXISTS background_jobs_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS background_jobs (
+    id BIGINT PRIMARY KEY,
+    queue VARCHAR(50) NOT NULL,
+    job_type VARCHAR(100) NOT NULL,
+    payload TEXT,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL,
+    run_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(50),
+    locked_at TIMESTAMP,
+    last_error VARCHAR(1000),
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_background_jobs_queue_status_run ON background_jobs(queue, status, run_at);
+CREATE INDEX IF NOT EXISTS idx_background_jobs_status_locked ON background_jobs(status, locked_at);
+
+-- Cluster tasks table (fenced lease per scheduled task, so only one instance runs it at a time)
+CREATE TABLE IF NOT EXISTS cluster_tasks (
+    task_name VARCHAR(100) PRIMARY KEY,
+    fence_token BIGINT NOT NULL DEFAULT 0,
+    owner VARCHAR(100),
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    last_duration_ms BIGINT,
+    last_status VARCHAR(20),
+    last_error VARCHAR(500),
+    runs BIGINT NOT NULL DEFAULT 0
+);
+
 -- Verify the changes
 SELECT column_name, is_nullable, data_type 
 FROM information_schema.columns 
@@ -77,10 +77,14 @@ CREATE TABLE IF NOT EXISTS workers (
     current_longitude DOUBLE PRECISION,
     current_address VARCHAR(500),
     current_landmark VARCHAR(500),
+    worker_types_mask BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Databases created before worker types were matched by bitmask (NULL falls back to comparing the type lists)
+ALTER TABLE workers ADD COLUMN IF NOT EXISTS worker_types_mask BIGINT;
+
 CREATE INDEX IF NOT EXISTS idx_workers_user_id ON workers(user_id);
 CREATE INDEX IF NOT EXISTS idx_workers_available ON workers(available);
 CREATE INDEX IF NOT EXISTS idx_workers_verified ON workers(verified);
@@ -100,10 +104,14 @@ CREATE TABLE IF NOT EXISTS worker_types (
     description VARCHAR(500),
     is_active BOOLEAN DEFAULT TRUE,
     display_order INT DEFAULT 0,
+    bit_index INT UNIQUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Databases created before worker types were matched by bitmask (bits are assigned by WorkerTypeRegistry)
+ALTER TABLE worker_types ADD COLUMN IF NOT EXISTS bit_index INT UNIQUE;
+
 CREATE INDEX IF NOT EXISTS idx_worker_types_name ON worker_types(name);
 CREATE INDEX IF NOT EXISTS idx_worker_types_active ON worker_types(is_active);
 CREATE INDEX IF NOT EXISTS idx_worker_types_active_name ON worker_types(is_active, name);
@@ -155,9 +163,22 @@ CREATE TABLE IF NOT EXISTS requests (
     status VARCHAR(30) DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'PENDING_ADMIN_APPROVAL', 'ADMIN_APPROVED', 'NOTIFIED', 'CONFIRMED', 'DEPLOYED', 'COMPLETED', 'CANCELLED', 'REJECTED')),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     completed_at TIMESTAMP NULL,
+    workers_released_at TIMESTAMP NULL,
+    location_pending BOOLEAN DEFAULT FALSE,
+    location_error VARCHAR(500),
+    worker_types_mask BIGINT,
     FOREIGN KEY (customer_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Databases created before the lifecycle sweeper
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS workers_released_at TIMESTAMP NULL;
+-- Databases created before background geocoding could hand a request back to the admins
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS location_error VARCHAR(500);
+-- Databases created before pin codes were geocoded in the background
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS location_pending BOOLEAN DEFAULT FALSE;
+-- Databases created before worker types were matched by bitmask
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS worker_types_mask BIGINT;
+
 CREATE INDEX IF NOT EXISTS idx_requests_customer_id ON requests(customer_id);
 CREATE INDEX IF NOT EXISTS idx_requests_status ON requests(status);
 CREATE INDEX IF NOT EXISTS idx_requests_start_date ON requests(start_date);
@@ -207,6 +228,7 @@ CREATE INDEX IF NOT EXISTS idx_confirmed_worker_id ON confirmed_workers(worker_i
 CREATE INDEX IF NOT EXISTS idx_confirmed_worker_request ON confirmed_workers(worker_id, request_id);
 CREATE INDEX IF NOT EXISTS idx_confirmed_confirmed_at ON confirmed_workers(confirmed_at DESC);
 CREATE INDEX IF NOT EXISTS idx_confirmed_worker_date ON confirmed_workers(worker_id, confirmed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_confirmed_worker_date_request ON confirmed_workers(worker_id, confirmed_at DESC, request_id DESC);
 
 -- Deployed workers table
 CREATE TABLE IF NOT EXISTS deployed_workers (
@@ -223,6 +245,7 @@ CREATE INDEX IF NOT EXISTS idx_deployed_worker_id ON deployed_workers(worker_id)
 CREATE INDEX IF NOT EXISTS idx_deployed_worker_request ON deployed_workers(worker_id, request_id);
 CREATE INDEX IF NOT EXISTS idx_deployed_deployed_at ON deployed_workers(deployed_at DESC);
 CREATE INDEX IF NOT EXISTS idx_deployed_worker_date ON deployed_workers(worker_id, deployed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_deployed_worker_date_request ON deployed_workers(worker_id, deployed_at DESC, request_id DESC);
 
 -- Ratings table
 CREATE TABLE IF NOT EXISTS ratings (
@@ -382,6 +405,77 @@ CREATE INDEX IF NOT EXISTS idx_api_logs_created_at ON api_logs(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_api_logs_endpoint_status ON api_logs(endpoint, status_code);
 CREATE INDEX IF NOT EXISTS idx_api_logs_user_created ON api_logs(user_id, created_at DESC);
 
+-- Geocode tasks table (pin codes waiting to be geocoded in the background)
+CREATE TABLE IF NOT EXISTS geocode_tasks (
+    id BIGSERIAL PRIMARY KEY,
+    target_type VARCHAR(20) NOT NULL,
+    target_id BIGINT NOT NULL,
+    pin_code VARCHAR(6) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_geocode_tasks_target UNIQUE (target_type, target_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_geocode_tasks_status_next ON geocode_tasks(status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_geocode_tasks_pin_code ON geocode_tasks(pin_code);
+
+-- Login attempts table (shared login throttle when login-throttle.store=database)
+CREATE TABLE IF NOT EXISTS login_attempts (
+    id BIGSERIAL PRIMARY KEY,
+    throttle_key VARCHAR(320) NOT NULL,
+    attempted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_login_attempts_key_time ON login_attempts(throttle_key, attempted_at);
+CREATE INDEX IF NOT EXISTS idx_login_attempts_time ON login_attempts(attempted_at);
+
+-- Seed state table (checksum of the reference data last seeded, so restarts skip unchanged seeds)
+CREATE TABLE IF NOT EXISTS seed_state (
+    seed_name VARCHAR(64) PRIMARY KEY,
+    checksum VARCHAR(64) NOT NULL,
+    applied_at TIMESTAMP NOT NULL
+);
+
+-- Background jobs table (durable job queue; ids come from a pooled sequence, 50 per nextval)
+CREATE SEQUENCE IF NOT EXISTS background_jobs_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS background_jobs (
+    id BIGINT PRIMARY KEY,
+    queue VARCHAR(50) NOT NULL,
+    job_type VARCHAR(100) NOT NULL,
+    payload TEXT,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL,
+    run_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(50),
+    locked_at TIMESTAMP,
+    last_error VARCHAR(1000),
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_background_jobs_queue_status_run ON background_jobs(queue, status, run_at);
+CREATE INDEX IF NOT EXISTS idx_background_jobs_status_locked ON background_jobs(status, locked_at);
+
+-- Cluster tasks table (fenced lease per scheduled task, so only one instance runs it at a time)
+CREATE TABLE IF NOT EXISTS cluster_tasks (
+    task_name VARCHAR(100) PRIMARY KEY,
+    fence_token BIGINT NOT NULL DEFAULT 0,
+    owner VARCHAR(100),
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    last_duration_ms BIGINT,
+    last_status VARCHAR(20),
+    last_error VARCHAR(500),
+    runs BIGINT NOT NULL DEFAULT 0
+);
+
 -- ============================================================================
 -- 2. INITIAL DATA - WORKER TYPES
 -- ============================================================================
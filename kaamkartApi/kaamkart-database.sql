@@ -72,6 +72,7 @@ CREATE TABLE IF NOT EXISTS workers (
     current_longitude DOUBLE,
     current_address VARCHAR(500),
     current_landmark VARCHAR(500),
+    worker_types_mask BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     INDEX idx_workers_user_id (user_id),
@@ -94,6 +95,7 @@ CREATE TABLE IF NOT EXISTS worker_types (
     description VARCHAR(500),
     is_active BOOLEAN DEFAULT TRUE,
     display_order INT DEFAULT 0,
+    bit_index INT UNIQUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_worker_types_name (name),
@@ -134,6 +136,9 @@ CREATE TABLE IF NOT EXISTS requests (
     status ENUM('PENDING', 'PENDING_ADMIN_APPROVAL', 'ADMIN_APPROVED', 'NOTIFIED', 'CONFIRMED', 'DEPLOYED', 'COMPLETED', 'CANCELLED', 'REJECTED') DEFAULT 'PENDING',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     completed_at TIMESTAMP NULL,
+    workers_released_at TIMESTAMP NULL,
+    location_error VARCHAR(500),
+    worker_types_mask BIGINT,
     FOREIGN KEY (customer_id) REFERENCES users(id) ON DELETE CASCADE,
     INDEX idx_requests_customer_id (customer_id),
     INDEX idx_requests_status (status),
@@ -181,7 +186,8 @@ CREATE TABLE IF NOT EXISTS confirmed_workers (
     INDEX idx_confirmed_worker_id (worker_id),
     INDEX idx_confirmed_worker_request (worker_id, request_id),
     INDEX idx_confirmed_confirmed_at (confirmed_at DESC),
-    INDEX idx_confirmed_worker_date (worker_id, confirmed_at DESC)
+    INDEX idx_confirmed_worker_date (worker_id, confirmed_at DESC),
+    INDEX idx_confirmed_worker_date_request (worker_id, confirmed_at DESC, request_id DESC)
 );
 
 -- Deployed workers table
@@ -196,7 +202,8 @@ CREATE TABLE IF NOT EXISTS deployed_workers (
     INDEX idx_deployed_worker_id (worker_id),
     INDEX idx_deployed_worker_request (worker_id, request_id),
     INDEX idx_deployed_deployed_at (deployed_at DESC),
-    INDEX idx_deployed_worker_date (worker_id, deployed_at DESC)
+    INDEX idx_deployed_worker_date (worker_id, deployed_at DESC),
+    INDEX idx_deployed_worker_date_request (worker_id, deployed_at DESC, request_id DESC)
 );
 
 -- Ratings table
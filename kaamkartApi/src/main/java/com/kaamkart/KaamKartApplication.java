@@ -1,12 +1,19 @@
 package com.kaamkart;
 
+import com.kaamkart.config.NativeRuntimeHints;
+import com.kaamkart.config.StartupTimings;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class KaamKartApplication {
     public static void main(String[] args) {
-        SpringApplication.run(KaamKartApplication.class, args);
+        SpringApplication application = new SpringApplication(KaamKartApplication.class);
+        StartupTimings.install(application);
+        application.run(args);
     }
 }
-
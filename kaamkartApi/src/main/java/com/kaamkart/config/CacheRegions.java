@@ -0,0 +1,22 @@
+package com.kaamkart.config;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level cache region names. Every region is declared with its size and
+ * expiry in ehcache.xml; entities use the entity regions, cacheable finder queries the query region.
+ */
+public final class CacheRegions {
+
+    public static final String WORKER_TYPES = "kaamkart.worker-types";
+    public static final String SYSTEM_USERS = "kaamkart.system-users";
+    public static final String ADVERTISEMENTS = "kaamkart.advertisements";
+    public static final String SUCCESS_STORIES = "kaamkart.success-stories";
+
+    public static final String REFERENCE_QUERIES = "kaamkart.reference-queries";
+
+    public static final List<String> ENTITY_REGIONS = List.of(WORKER_TYPES, SYSTEM_USERS, ADVERTISEMENTS, SUCCESS_STORIES);
+
+    private CacheRegions() {
+    }
+}
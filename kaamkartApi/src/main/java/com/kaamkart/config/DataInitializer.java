@@ -1,34 +1,55 @@
 package com.kaamkart.config;
 
 import com.kaamkart.model.Advertisement;
+import com.kaamkart.model.SeedState;
 import com.kaamkart.model.SuccessStory;
 import com.kaamkart.model.SystemUser;
 import com.kaamkart.model.WorkerType;
 import com.kaamkart.repository.AdvertisementRepository;
+import com.kaamkart.repository.SeedStateRepository;
 import com.kaamkart.repository.SuccessStoryRepository;
 import com.kaamkart.repository.SystemUserRepository;
+import com.kaamkart.repository.UserRepository;
 import com.kaamkart.repository.WorkerTypeRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Data Initializer - Ensures default data is present on application startup
  * This runs after the database is initialized and ensures default values exist
+ *
+ * The defaults are only written when their checksum differs from the one stored in seed_state
+ * (seed.mode=checksum, the default), so a normal restart costs one lookup instead of re-saving
+ * every row. seed.mode=always restores the old behaviour of re-applying them on every boot.
  */
 @Component
 public class DataInitializer implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
+    private static final String SEED_NAME = "default-data-v1";
+
     @Autowired
     private WorkerTypeRepository workerTypeRepository;
 
@@ -41,23 +62,90 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private SystemUserRepository systemUserRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SeedStateRepository seedStateRepository;
+
+    // Registered by StartupTimings.install in main; absent when the context is started another way
+    @Autowired(required = false)
+    private StartupTimings startupTimings;
+
+    @Value("${seed.mode:checksum}")
+    private String seedMode;
+
     @Override
     @Transactional
     public void run(String... args) {
+        long started = System.currentTimeMillis();
         logger.info("Initializing default data...");
-        
-        initializeWorkerTypes();
-        initializeSuccessStories();
-        initializeAdvertisements();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WorkerType> defaultWorkerTypes = defaultWorkerTypes();
+        List<SuccessStory> defaultStories = defaultSuccessStories();
+        List<Advertisement> defaultAds = defaultAdvertisements(now, now.plusYears(1));
+
+        String checksum = seedChecksum(defaultWorkerTypes, defaultStories, defaultAds);
+        String appliedChecksum = seedStateRepository.findById(SEED_NAME).map(SeedState::getChecksum).orElse(null);
+        boolean applySeed = "always".equalsIgnoreCase(seedMode) || !checksum.equals(appliedChecksum);
+
+        if (applySeed) {
+            initializeWorkerTypes(defaultWorkerTypes);
+            initializeSuccessStories(defaultStories);
+            initializeAdvertisements(defaultAds);
+            normalizeAccountEmails();
+            seedStateRepository.save(new SeedState(SEED_NAME, checksum, now));
+        } else {
+            logger.info("Default data unchanged (checksum {}) - skipping seed", checksum.substring(0, 12));
+        }
+        // Always checked: a single indexed lookup, and the only way in if the super admin was removed
         initializeSuperAdmin();
-        
-        logger.info("Default data initialization completed.");
+
+        long elapsed = System.currentTimeMillis() - started;
+        if (startupTimings != null) {
+            startupTimings.recordPhase(applySeed ? "seed-data (applied)" : "seed-data (skipped)", elapsed);
+        }
+        logger.info("Default data initialization completed in {}ms.", elapsed);
     }
 
-    private void initializeWorkerTypes() {
-        logger.info("Initializing worker types...");
-        
-        List<WorkerType> defaultWorkerTypes = Arrays.asList(
+    /**
+     * SHA-256 over the default data definitions (advertisement dates excluded, they are relative to now)
+     */
+    private String seedChecksum(List<WorkerType> workerTypes, List<SuccessStory> stories, List<Advertisement> ads) {
+        StringBuilder canonical = new StringBuilder(SEED_NAME).append('\n');
+        for (WorkerType type : workerTypes) {
+            appendFields(canonical, "worker-type", type.getName(), type.getDisplayName(), type.getIcon(),
+                    type.getDescription(), type.getDisplayOrder());
+        }
+        for (SuccessStory story : stories) {
+            appendFields(canonical, "success-story", story.getTitle(), story.getDescription(), story.getCustomerName(),
+                    story.getWorkerName(), story.getWorkerType(), story.getRating(), story.getDisplayOrder());
+        }
+        for (Advertisement ad : ads) {
+            appendFields(canonical, "advertisement", ad.getTitle(), ad.getText(), ad.getLinkUrl(), ad.getLinkText(),
+                    ad.getDisplayOrder());
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void appendFields(StringBuilder canonical, Object... fields) {
+        for (Object field : fields) {
+            canonical.append(field).append('\u001f');
+        }
+        canonical.append('\n');
+    }
+
+    private List<WorkerType> defaultWorkerTypes() {
+        return Arrays.asList(
             createWorkerType("ELECTRICIAN", "Electrician", "⚡", "Electrical repairs, installations & maintenance", 1),
             createWorkerType("DRIVER", "Driver", "🚗", "Professional drivers for all your transportation needs", 2),
             createWorkerType("RIGGER", "Rigger", "🔩", "Expert rigging and lifting services", 3),
@@ -69,26 +157,34 @@ public class DataInitializer implements CommandLineRunner {
             createWorkerType("UNSKILLED_WORKER", "Unskilled Worker", "👷", "Unskilled worker for all manual tasks", 9),
             createWorkerType("RAJ_MISTRI", "Raj Mistri", "👷‍♂️", "Supervisor & foreman for construction projects", 10)
         );
+    }
+
+    private void initializeWorkerTypes(List<WorkerType> defaultWorkerTypes) {
+        logger.info("Initializing worker types...");
 
+        // One read for all existing types, one batch of saves
+        Map<String, WorkerType> existingByName = workerTypeRepository.findAll().stream()
+            .collect(Collectors.toMap(WorkerType::getName, Function.identity(), (first, second) -> first));
+        List<WorkerType> toSave = new ArrayList<>();
         for (WorkerType workerType : defaultWorkerTypes) {
-            Optional<WorkerType> existing = workerTypeRepository.findByName(workerType.getName());
-            if (existing.isPresent()) {
+            WorkerType existingType = existingByName.get(workerType.getName());
+            if (existingType != null) {
                 // Update existing worker type
-                WorkerType existingType = existing.get();
                 existingType.setDisplayName(workerType.getDisplayName());
                 existingType.setIcon(workerType.getIcon());
                 existingType.setDescription(workerType.getDescription());
                 existingType.setDisplayOrder(workerType.getDisplayOrder());
                 existingType.setIsActive(true);
-                workerTypeRepository.save(existingType);
+                toSave.add(existingType);
                 logger.debug("Updated worker type: {}", workerType.getName());
             } else {
                 // Create new worker type
-                workerTypeRepository.save(workerType);
+                toSave.add(workerType);
                 logger.debug("Created worker type: {}", workerType.getName());
             }
         }
-        
+        workerTypeRepository.saveAll(toSave);
+
         logger.info("Worker types initialized: {}", defaultWorkerTypes.size());
     }
 
@@ -103,10 +199,8 @@ public class DataInitializer implements CommandLineRunner {
         return workerType;
     }
 
-    private void initializeSuccessStories() {
-        logger.info("Initializing success stories...");
-        
-        List<SuccessStory> defaultStories = Arrays.asList(
+    private List<SuccessStory> defaultSuccessStories() {
+        return Arrays.asList(
             createSuccessStory("Excellent Electrical Work", 
                 "Got my entire house rewired by an expert electrician from KaamKart. Professional service, timely completion, and reasonable pricing. Highly recommended!",
                 "Rajesh Kumar", "Amit Sharma", "ELECTRICIAN", 5, 1),
@@ -123,20 +217,22 @@ public class DataInitializer implements CommandLineRunner {
                 "Needed custom furniture for my home. The carpenter from KaamKart delivered exactly what I wanted. Excellent craftsmanship!",
                 "Deepak Malhotra", "Kiran Reddy", "CARPENTER", 5, 5)
         );
+    }
+
+    private void initializeSuccessStories(List<SuccessStory> defaultStories) {
+        logger.info("Initializing success stories...");
 
-        for (int i = 0; i < defaultStories.size(); i++) {
-            SuccessStory story = defaultStories.get(i);
-            // Check if story with same title exists
-            List<SuccessStory> existing = successStoryRepository.findAll().stream()
-                .filter(s -> s.getTitle().equals(story.getTitle()))
-                .toList();
-            
-            if (existing.isEmpty()) {
-                successStoryRepository.save(story);
+        // Existing stories are matched by title, loaded once instead of once per default story
+        Map<String, SuccessStory> existingByTitle = successStoryRepository.findAll().stream()
+            .collect(Collectors.toMap(SuccessStory::getTitle, Function.identity(), (first, second) -> first));
+        List<SuccessStory> toSave = new ArrayList<>();
+        for (SuccessStory story : defaultStories) {
+            SuccessStory existingStory = existingByTitle.get(story.getTitle());
+            if (existingStory == null) {
+                toSave.add(story);
                 logger.debug("Created success story: {}", story.getTitle());
             } else {
                 // Update existing story
-                SuccessStory existingStory = existing.get(0);
                 existingStory.setDescription(story.getDescription());
                 existingStory.setCustomerName(story.getCustomerName());
                 existingStory.setWorkerName(story.getWorkerName());
@@ -144,11 +240,12 @@ public class DataInitializer implements CommandLineRunner {
                 existingStory.setRating(story.getRating());
                 existingStory.setIsActive(true);
                 existingStory.setDisplayOrder(story.getDisplayOrder());
-                successStoryRepository.save(existingStory);
+                toSave.add(existingStory);
                 logger.debug("Updated success story: {}", story.getTitle());
             }
         }
-        
+        successStoryRepository.saveAll(toSave);
+
         logger.info("Success stories initialized: {}", defaultStories.size());
     }
 
@@ -166,36 +263,33 @@ public class DataInitializer implements CommandLineRunner {
         return story;
     }
 
-    private void initializeAdvertisements() {
-        logger.info("Initializing advertisements...");
-        
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime oneYearLater = now.plusYears(1);
-        
-        List<Advertisement> defaultAds = Arrays.asList(
+    private List<Advertisement> defaultAdvertisements(LocalDateTime startDate, LocalDateTime endDate) {
+        return Arrays.asList(
             createAdvertisement("Find Skilled Workers Fast!",
                 "Connect with verified workers for all your needs. Electricians, Plumbers, Drivers, and more. Book now!",
-                "/login", "Get Started", 1, now, oneYearLater),
+                "/login", "Get Started", 1, startDate, endDate),
             createAdvertisement("Trusted by Thousands",
                 "Join thousands of satisfied customers who found reliable workers through KaamKart. Your trusted labor connection platform.",
-                "/", "Learn More", 2, now, oneYearLater),
+                "/", "Learn More", 2, startDate, endDate),
             createAdvertisement("Verified Workers Only",
                 "All workers on KaamKart are verified and background checked. Your safety and satisfaction is our priority.",
-                "/login", "Browse Workers", 3, now, oneYearLater)
+                "/login", "Browse Workers", 3, startDate, endDate)
         );
+    }
 
+    private void initializeAdvertisements(List<Advertisement> defaultAds) {
+        logger.info("Initializing advertisements...");
+
+        Map<String, Advertisement> existingByTitle = advertisementRepository.findAll().stream()
+            .collect(Collectors.toMap(Advertisement::getTitle, Function.identity(), (first, second) -> first));
+        List<Advertisement> toSave = new ArrayList<>();
         for (Advertisement ad : defaultAds) {
-            // Check if advertisement with same title exists
-            List<Advertisement> existing = advertisementRepository.findAll().stream()
-                .filter(a -> a.getTitle().equals(ad.getTitle()))
-                .toList();
-            
-            if (existing.isEmpty()) {
-                advertisementRepository.save(ad);
+            Advertisement existingAd = existingByTitle.get(ad.getTitle());
+            if (existingAd == null) {
+                toSave.add(ad);
                 logger.debug("Created advertisement: {}", ad.getTitle());
             } else {
                 // Update existing advertisement
-                Advertisement existingAd = existing.get(0);
                 existingAd.setText(ad.getText());
                 existingAd.setLinkUrl(ad.getLinkUrl());
                 existingAd.setLinkText(ad.getLinkText());
@@ -203,11 +297,12 @@ public class DataInitializer implements CommandLineRunner {
                 existingAd.setDisplayOrder(ad.getDisplayOrder());
                 existingAd.setStartDate(ad.getStartDate());
                 existingAd.setEndDate(ad.getEndDate());
-                advertisementRepository.save(existingAd);
+                toSave.add(existingAd);
                 logger.debug("Updated advertisement: {}", ad.getTitle());
             }
         }
-        
+        advertisementRepository.saveAll(toSave);
+
         logger.info("Advertisements initialized: {}", defaultAds.size());
     }
 
@@ -257,5 +352,29 @@ public class DataInitializer implements CommandLineRunner {
         
         logger.info("Super admin initialization completed.");
     }
-}
 
+    private void normalizeAccountEmails() {
+        // Separate transaction: a unique-key clash here must not roll back the default data above
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            Integer updated = requiresNew.execute(status ->
+                    systemUserRepository.normalizeEmails() + userRepository.normalizeEmails());
+            if (updated != null && updated > 0) {
+                logger.info("Normalized {} account emails to lower case", updated);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not normalize account emails: {}", e.getMessage());
+        }
+        try {
+            List<String> collisions = new ArrayList<>(systemUserRepository.findEmailCollisions());
+            collisions.addAll(userRepository.findEmailCollisions());
+            if (!collisions.isEmpty()) {
+                logger.warn("⚠️ {} email(s) are used by several accounts in different case and were not normalized - " +
+                        "those accounts cannot log in until they are merged: {}", collisions.size(), collisions);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check account emails for case collisions: {}", e.getMessage());
+        }
+    }
+}
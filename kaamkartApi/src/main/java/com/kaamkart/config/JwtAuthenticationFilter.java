@@ -1,7 +1,11 @@
 package com.kaamkart.config;
 
+import com.kaamkart.model.SystemUser;
+import com.kaamkart.model.User;
 import com.kaamkart.repository.SystemUserRepository;
 import com.kaamkart.repository.UserRepository;
+import com.kaamkart.service.ClusterCacheService;
+import com.kaamkart.util.BoundedCache;
 import com.kaamkart.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -18,6 +22,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -28,10 +33,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final UserRepository userRepository;
     private final SystemUserRepository systemUserRepository;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository, SystemUserRepository systemUserRepository) {
+    // Principal id -> display name, so an authenticated request needs no user lookup.
+    // Invalidated cluster-wide when a profile or a block status changes.
+    private final BoundedCache<String, String> principalNames;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository, SystemUserRepository systemUserRepository,
+                                   ClusterCacheService clusterCacheService) {
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
         this.systemUserRepository = systemUserRepository;
+        this.principalNames = clusterCacheService.region(ClusterCacheService.PRINCIPALS, 10000, 600000);
     }
 
     @Override
@@ -53,16 +64,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 String role = jwtUtil.getRoleFromToken(token);
 
                 if (userId != null && role != null) {
-                    // Check if it's a system user (negative ID) or regular user
-                    boolean userExists = false;
-                    if (userId < 0) {
-                        // System user - use positive ID to lookup
-                        Long systemUserId = Math.abs(userId);
-                        userExists = systemUserRepository.findById(systemUserId).isPresent();
-                    } else {
-                        // Regular user
-                        userExists = userRepository.findById(userId).isPresent();
-                    }
+                    String userName = principalNames.getOrLoad(String.valueOf(userId), () -> loadPrincipalName(userId));
+                    boolean userExists = userName != null;
                     
                     if (userExists) {
                         // Normalize role (remove SYSTEM_ prefix if present)
@@ -70,6 +73,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         List<SimpleGrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + normalizedRole));
                         UsernamePasswordAuthenticationToken authentication =
                                 new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                        // Display name of the caller, so services need not look the user up again
+                        authentication.setDetails(Map.of("name", userName != null ? userName : ""));
                         SecurityContextHolder.getContext().setAuthentication(authentication);
                         // Set userId in request attribute for logging interceptor
                         request.setAttribute("userId", userId);
@@ -91,5 +96,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
 
+    /**
+     * Display name of the principal ("" when it has none), or null if the user no longer exists
+     */
+    private String loadPrincipalName(Long userId) {
+        // Check if it's a system user (negative ID) or regular user
+        if (userId < 0) {
+            SystemUser systemUser = systemUserRepository.findById(Math.abs(userId)).orElse(null);
+            return systemUser != null ? (systemUser.getName() != null ? systemUser.getName() : "") : null;
+        }
+        User user = userRepository.findById(userId).orElse(null);
+        return user != null ? (user.getName() != null ? user.getName() : "") : null;
+    }
+}
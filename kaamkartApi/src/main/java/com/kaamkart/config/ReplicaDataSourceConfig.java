@@ -0,0 +1,117 @@
+package com.kaamkart.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read replica routing, enabled with datasource.replicas.enabled=true and a comma-separated list of
+ * replica JDBC URLs in datasource.replicas.urls (see docs/READ_REPLICAS.md).
+ *
+ * The primary pool is still configured through spring.datasource.* / spring.datasource.hikari.*.
+ * Each replica gets its own read-only Hikari pool with the same credentials unless overridden.
+ * Without this configuration Spring Boot creates the single primary datasource as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+
+    @Value("${datasource.replicas.urls:}")
+    private String replicaUrls;
+
+    @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.maximum-pool-size:20}")
+    private int replicaPoolSize;
+
+    @Value("${datasource.replicas.max-lag-ms:5000}")
+    private long maxLagMs;
+
+    @Value("${datasource.replicas.read-your-writes-ms:10000}")
+    private long readYourWritesMs;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource) {
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        List<String> urls = Arrays.stream(replicaUrls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setDriverClassName(primaryDataSource.getDriverClassName());
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setMinimumIdle(Math.min(primaryDataSource.getMinimumIdle(), replicaPoolSize));
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setIdleTimeout(primaryDataSource.getIdleTimeout());
+            replica.setMaxLifetime(primaryDataSource.getMaxLifetime());
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            // A replica that is down at startup must not stop the application; it is retried by the lag check
+            replica.setInitializationFailTimeout(-1);
+            replicaPools.add(replica);
+        }
+        if (replicaPools.isEmpty()) {
+            logger.warn("⚠️ datasource.replicas.enabled=true but datasource.replicas.urls is empty - all reads use the primary");
+        } else {
+            logger.info("📚 Read replica routing: {} replica(s) | max lag {}ms | read-your-writes {}ms",
+                    replicaPools.size(), maxLagMs, readYourWritesMs);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPools, maxLagMs, readYourWritesMs);
+    }
+
+    /**
+     * The DataSource used by JPA, JdbcTemplate and SQL init. Connections are fetched lazily so the
+     * routing decision sees the read-only flag of the transaction that is being started.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    /**
+     * Spring's default keeps a session's connection until the session closes. With open-in-view that is
+     * the whole HTTP request, so a read-only transaction's replica connection would be reused by a later
+     * write in the same request. Release it after every transaction instead.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
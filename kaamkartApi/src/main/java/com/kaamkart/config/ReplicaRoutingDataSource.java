@@ -0,0 +1,307 @@
+package com.kaamkart.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends read-only transactions to a replica pool and everything else to the primary.
+ * Wrapped in a LazyConnectionDataSourceProxy (see ReplicaDataSourceConfig), so the physical connection
+ * is only fetched at the first statement, after the transaction's read-only flag is known.
+ *
+ * A connection goes to a replica only when all of these hold:
+ * - the transaction is @Transactional(readOnly = true) on application code, not the implicit read-only
+ *   transaction of a Spring Data repository call (those often precede a save in the same service method)
+ * - it runs on an HTTP request thread; scheduled jobs and listeners read what they are about to write
+ * - the client has not committed a write within read-your-writes-ms. A write on an HTTP request returns
+ *   its commit time in the X-Last-Write-At response header and the client echoes it back on later
+ *   requests, so this holds whichever instance serves them. Clients that do not echo the header
+ *   (scripts, other apps) fall back to the user's last write on this instance.
+ * - at least one replica is reachable and replays within max-lag-ms of the primary
+ * Otherwise the primary serves the read, so a replica outage only moves load back to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    // Commit time (epoch ms) of the client's last write, set on responses and echoed back by the client
+    public static final String LAST_WRITE_HEADER = "X-Last-Write-At";
+
+    // recovery flag, whether the WAL receiver is streaming, lag while streaming (0 when every received record
+    // is replayed, so an idle primary does not look like lag) and the age of the last replayed transaction.
+    // Seeing the receiver status needs pg_read_all_stats; without it the replica is judged by the replay age.
+    private static final String LAG_SQL =
+            "SELECT pg_is_in_recovery(), " +
+            "EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming'), " +
+            "CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END, " +
+            "CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT)";
+
+    private static final String APPLICATION_PACKAGE = "com.kaamkart.";
+    private static final String REPOSITORY_PACKAGE = "com.kaamkart.repository.";
+
+    private final HikariDataSource primary;
+    private final List<ReplicaState> replicas = new ArrayList<>();
+    private final long maxLagMs;
+    private final long readYourWritesMs;
+
+    // user id -> time of the user's last committed write on this instance
+    private final Map<Long, Long> lastWriteByUserId = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final AtomicLong primaryReads = new AtomicLong();
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong readYourWritesReads = new AtomicLong();
+    private final AtomicLong noHealthyReplicaReads = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                                    long maxLagMs, long readYourWritesMs) {
+        this.primary = primary;
+        this.maxLagMs = maxLagMs;
+        this.readYourWritesMs = readYourWritesMs;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource pool : replicaPools) {
+            replicas.add(new ReplicaState(pool));
+            targets.put(pool.getPoolName(), pool);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.incrementAndGet();
+            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+            if ((userId != null || requestAttributes != null) && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        long now = System.currentTimeMillis();
+                        if (userId != null) {
+                            lastWriteByUserId.put(userId, now);
+                        }
+                        setLastWriteHeader(requestAttributes, now);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (!isReplicaEligible(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            primaryReads.incrementAndGet();
+            return PRIMARY;
+        }
+        if (isRecentWrite(clientLastWrite()) || (userId != null && isRecentWrite(lastWriteByUserId.get(userId)))) {
+            readYourWritesReads.incrementAndGet();
+            return PRIMARY;
+        }
+        ReplicaState replica = pickHealthyReplica();
+        if (replica == null) {
+            noHealthyReplicaReads.incrementAndGet();
+            return PRIMARY;
+        }
+        replicaReads.incrementAndGet();
+        replica.reads.incrementAndGet();
+        return replica.pool.getPoolName();
+    }
+
+    /**
+     * Measure replication lag of every replica; a replica that is unreachable or too far behind
+     * gets no reads until a later check finds it healthy again
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval-ms:2000}")
+    public void checkReplicas() {
+        for (ReplicaState replica : replicas) {
+            boolean firstCheck = replica.lastCheckedAt == 0;
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.pool.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(LAG_SQL);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                boolean inRecovery = resultSet.getBoolean(1);
+                boolean streaming = resultSet.getBoolean(2);
+                // A disconnected receiver has replayed all it received, so only the replay age tells how stale it is
+                long lag = resultSet.getLong(streaming ? 3 : 4);
+                boolean lagKnown = !resultSet.wasNull();
+                if (!inRecovery) {
+                    replica.healthy = false;
+                    replica.lastError = "Not in recovery - the server is a primary, not a replica";
+                } else if (!lagKnown) {
+                    replica.healthy = false;
+                    replica.lastError = "WAL receiver not streaming and no transaction replayed yet";
+                } else {
+                    replica.lagMs = lag;
+                    replica.healthy = lag <= maxLagMs;
+                    replica.lastError = replica.healthy ? null : "Lag " + lag + "ms over " + maxLagMs + "ms"
+                            + (streaming ? "" : " (WAL receiver not streaming)");
+                }
+            } catch (Exception e) {
+                replica.healthy = false;
+                replica.lastError = e.getMessage();
+            }
+            replica.lastCheckedAt = System.currentTimeMillis();
+            if (firstCheck || wasHealthy != replica.healthy) {
+                if (replica.healthy) {
+                    logger.info("✅ Read replica {} in rotation | Lag: {}ms", replica.pool.getPoolName(), replica.lagMs);
+                } else {
+                    logger.warn("⚠️ Read replica {} taken out of rotation: {}", replica.pool.getPoolName(), replica.lastError);
+                }
+            }
+        }
+        long cutoff = System.currentTimeMillis() - readYourWritesMs;
+        lastWriteByUserId.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxLagMs", maxLagMs);
+        stats.put("readYourWritesMs", readYourWritesMs);
+        stats.put("writeTransactions", writes.get());
+        stats.put("replicaReads", replicaReads.get());
+        stats.put("primaryReads", primaryReads.get());
+        stats.put("readYourWritesReads", readYourWritesReads.get());
+        stats.put("noHealthyReplicaReads", noHealthyReplicaReads.get());
+        stats.put("recentWriters", lastWriteByUserId.size());
+        stats.put("primaryPool", poolStats(primary));
+
+        List<Map<String, Object>> replicaStats = new ArrayList<>();
+        for (ReplicaState replica : replicas) {
+            Map<String, Object> entry = poolStats(replica.pool);
+            entry.put("healthy", replica.healthy);
+            entry.put("lagMs", replica.lagMs);
+            entry.put("reads", replica.reads.get());
+            entry.put("lastError", replica.lastError);
+            entry.put("lastCheckedAt", replica.lastCheckedAt > 0 ? replica.lastCheckedAt : null);
+            replicaStats.add(entry);
+        }
+        stats.put("replicas", replicaStats);
+        return stats;
+    }
+
+    private boolean isReplicaEligible(String transactionName) {
+        return transactionName != null
+                && transactionName.startsWith(APPLICATION_PACKAGE)
+                && !transactionName.startsWith(REPOSITORY_PACKAGE)
+                && RequestContextHolder.getRequestAttributes() != null;
+    }
+
+    /**
+     * True if the write happened within read-your-writes-ms. A time in the future (a clock ahead of
+     * this instance, or a forged header) counts only up to the same window, so it cannot pin a client
+     * to the primary for longer than that.
+     */
+    private boolean isRecentWrite(Long lastWrite) {
+        if (lastWrite == null) {
+            return false;
+        }
+        long age = System.currentTimeMillis() - lastWrite;
+        return age < readYourWritesMs && age > -readYourWritesMs;
+    }
+
+    /**
+     * The X-Last-Write-At value the client sent with the current HTTP request, if any
+     */
+    private Long clientLastWrite() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String header = request.getHeader(LAST_WRITE_HEADER);
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void setLastWriteHeader(RequestAttributes requestAttributes, long committedAt) {
+        if (!(requestAttributes instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        // A response already streaming cannot take headers; the client then relies on this instance's record
+        if (response != null && !response.isCommitted()) {
+            response.setHeader(LAST_WRITE_HEADER, Long.toString(committedAt));
+        }
+    }
+
+    private ReplicaState pickHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaState candidate = replicas.get((start + i) % size);
+            if (candidate.healthy) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof Long)) {
+            return null;
+        }
+        return (Long) authentication.getPrincipal();
+    }
+
+    private Map<String, Object> poolStats(HikariDataSource pool) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pool", pool.getPoolName());
+        if (pool.getHikariPoolMXBean() != null) {
+            stats.put("activeConnections", pool.getHikariPoolMXBean().getActiveConnections());
+            stats.put("idleConnections", pool.getHikariPoolMXBean().getIdleConnections());
+            stats.put("waitingThreads", pool.getHikariPoolMXBean().getThreadsAwaitingConnection());
+        }
+        return stats;
+    }
+
+    private static final class ReplicaState {
+        private final HikariDataSource pool;
+        private final AtomicLong reads = new AtomicLong();
+        // Not trusted until the first lag check has run
+        private volatile boolean healthy = false;
+        private volatile long lagMs = -1;
+        private volatile String lastError = "Not checked yet";
+        private volatile long lastCheckedAt;
+
+        private ReplicaState(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
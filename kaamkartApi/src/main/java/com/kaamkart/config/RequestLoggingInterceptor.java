@@ -1,7 +1,7 @@
 package com.kaamkart.config;
 
 import com.kaamkart.model.ApiLog;
-import com.kaamkart.repository.ApiLogRepository;
+import com.kaamkart.service.ApiLogWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -14,7 +14,6 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.concurrent.CompletableFuture;
 
 @Component
 public class RequestLoggingInterceptor implements HandlerInterceptor {
@@ -22,7 +21,7 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
     private static final Logger logger = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
 
     @Autowired
-    private ApiLogRepository apiLogRepository;
+    private ApiLogWriter apiLogWriter;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
@@ -125,7 +124,7 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
                 }
             }
 
-            // Save to database asynchronously to avoid blocking
+            // Save to database without blocking the request
             ApiLog apiLog = new ApiLog();
             apiLog.setEndpoint(endpoint);
             apiLog.setMethod(method);
@@ -140,14 +139,8 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
             apiLog.setErrorStackTrace(errorStackTrace);
             apiLog.setCreatedAt(LocalDateTime.now());
 
-            // Save asynchronously
-            CompletableFuture.runAsync(() -> {
-                try {
-                    apiLogRepository.save(apiLog);
-                } catch (Exception e) {
-                    logger.error("Failed to save API log to database", e);
-                }
-            });
+            // Buffered and written in batches off the request thread
+            apiLogWriter.enqueue(apiLog);
 
         } catch (Exception e) {
             logger.error("Error in request logging interceptor", e);
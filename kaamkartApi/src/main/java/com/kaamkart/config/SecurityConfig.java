@@ -51,6 +51,8 @@ public class SecurityConfig {
         });
         configuration.addAllowedMethod("*");
         configuration.addAllowedHeader("*");
+        // Lets the UI read the last write time back and echo it, for read-your-writes across instances
+        configuration.addExposedHeader(ReplicaRoutingDataSource.LAST_WRITE_HEADER);
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L); // Cache preflight for 1 hour
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
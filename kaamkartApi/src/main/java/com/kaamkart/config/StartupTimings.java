@@ -0,0 +1,133 @@
+package com.kaamkart.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.context.event.SpringApplicationEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures where startup time goes: JVM launch to main, environment, context preparation,
+ * context refresh (beans, JPA, web server), runners (DataInitializer) and the slowest bean
+ * creations recorded by a BufferingApplicationStartup. Logged once when the application is
+ * ready and exposed at /api/admin/metrics/startup.
+ *
+ * Installed from main, because the early phases happen before any bean exists.
+ */
+public class StartupTimings implements ApplicationListener<SpringApplicationEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimings.class);
+
+    private static final int STEP_CAPACITY = 4096;
+    private static final int SLOWEST_STEPS = 10;
+
+    private final BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(STEP_CAPACITY);
+
+    private final long jvmStartedAt = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private long startingAt;
+    private long environmentPreparedAt;
+    private long contextPreparedAt;
+    private long contextStartedAt;
+    private long readyAt;
+
+    private final Map<String, Long> extraPhasesMs = new LinkedHashMap<>();
+    private final List<Map<String, Object>> slowestSteps = new ArrayList<>();
+
+    public static StartupTimings install(SpringApplication application) {
+        StartupTimings timings = new StartupTimings();
+        application.setApplicationStartup(timings.applicationStartup);
+        application.addListeners(timings);
+        application.addInitializers(context -> context.getBeanFactory().registerSingleton("startupTimings", timings));
+        return timings;
+    }
+
+    @Override
+    public void onApplicationEvent(SpringApplicationEvent event) {
+        if (event instanceof ApplicationStartingEvent) {
+            startingAt = event.getTimestamp();
+        } else if (event instanceof ApplicationEnvironmentPreparedEvent) {
+            environmentPreparedAt = event.getTimestamp();
+        } else if (event instanceof ApplicationPreparedEvent) {
+            contextPreparedAt = event.getTimestamp();
+        } else if (event instanceof ApplicationStartedEvent) {
+            contextStartedAt = event.getTimestamp();
+        } else if (event instanceof ApplicationReadyEvent) {
+            readyAt = event.getTimestamp();
+            collectSlowestSteps();
+            logSummary();
+        }
+    }
+
+    /**
+     * Add a named phase measured elsewhere (e.g. seeding inside the runners phase)
+     */
+    public synchronized void recordPhase(String name, long elapsedMs) {
+        extraPhasesMs.put(name, elapsedMs);
+    }
+
+    public synchronized Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("phasesMs", phases());
+        report.put("totalMs", readyAt > 0 ? readyAt - jvmStartedAt : null);
+        report.put("slowestSteps", slowestSteps);
+        return report;
+    }
+
+    private Map<String, Long> phases() {
+        Map<String, Long> phases = new LinkedHashMap<>();
+        phases.put("jvm-to-main", between(jvmStartedAt, startingAt));
+        phases.put("environment", between(startingAt, environmentPreparedAt));
+        phases.put("context-prepare", between(environmentPreparedAt, contextPreparedAt));
+        phases.put("context-refresh", between(contextPreparedAt, contextStartedAt));
+        phases.put("runners", between(contextStartedAt, readyAt));
+        phases.putAll(extraPhasesMs);
+        return phases;
+    }
+
+    private Long between(long from, long to) {
+        return from > 0 && to > 0 ? to - from : null;
+    }
+
+    private synchronized void collectSlowestSteps() {
+        // Draining also releases the buffered steps, which are no longer needed once ready
+        StartupTimeline timeline = applicationStartup.drainBufferedTimeline();
+        timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_STEPS)
+                .forEach(event -> {
+                    Map<String, Object> step = new LinkedHashMap<>();
+                    step.put("name", event.getStartupStep().getName());
+                    for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+                        step.put(tag.getKey(), tag.getValue());
+                    }
+                    step.put("durationMs", event.getDuration().toMillis());
+                    slowestSteps.add(step);
+                });
+    }
+
+    private void logSummary() {
+        StringBuilder summary = new StringBuilder();
+        phases().forEach((name, ms) -> summary.append(" | ").append(name).append(' ').append(ms != null ? ms + "ms" : "-"));
+        logger.info("🚀 Ready in {}ms{}", readyAt - jvmStartedAt, summary);
+        if (!slowestSteps.isEmpty()) {
+            Map<String, Object> slowest = slowestSteps.get(0);
+            logger.info("🐢 Slowest startup step: {} {} ({}ms)", slowest.get("name"),
+                    slowest.getOrDefault("beanName", ""), slowest.get("durationMs"));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.kaamkart.config;
+
+import com.kaamkart.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs which thread model serves requests, and warns when virtual threads were requested
+ * (spring.threads.virtual.enabled) on a JDK that does not have them, in which case Spring
+ * silently keeps the platform thread pools.
+ */
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int databasePoolSize;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int tomcatMaxThreads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int jdk = Runtime.version().feature();
+        if (virtualThreadsRequested && VirtualThreads.isSupported()) {
+            logger.info("🧵 Virtual threads: Tomcat, @Async and scheduling | JDK {} | DB pool {} is now the concurrency limit",
+                    jdk, databasePoolSize);
+            if (!"short".equals(System.getProperty("jdk.tracePinnedThreads"))
+                    && !"full".equals(System.getProperty("jdk.tracePinnedThreads"))) {
+                logger.info("🧵 Pinning diagnostics are off - add -Djdk.tracePinnedThreads=short to JAVA_OPTS to log pinned virtual threads");
+            }
+        } else if (virtualThreadsRequested) {
+            logger.warn("⚠️ spring.threads.virtual.enabled=true but the JDK is {} (virtual threads need 21+) - using platform threads", jdk);
+        } else {
+            logger.info("🧵 Platform threads | JDK {} | Tomcat max threads {} | DB pool {}", jdk, tomcatMaxThreads, databasePoolSize);
+        }
+    }
+}
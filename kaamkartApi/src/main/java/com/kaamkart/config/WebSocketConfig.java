@@ -1,20 +1,67 @@
 package com.kaamkart.config;
 
+import com.kaamkart.service.ConcernService;
+import com.kaamkart.service.LiveTrackingService;
+import com.kaamkart.service.WorkerCellNotificationService;
+import com.kaamkart.util.JwtUtil;
+import com.kaamkart.util.StompSubscriptionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 import org.springframework.lang.NonNull;
 
+import java.util.Collections;
+
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketConfig.class);
+
     @Value("${websocket.allowed-origins}")
     private String allowedOrigins;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private StompSubscriptionRegistry stompSubscriptionRegistry;
+
+    // Lazy: the tracking service needs the broker messaging template this configuration creates
+    @Autowired
+    @Lazy
+    private LiveTrackingService liveTrackingService;
+
+    @Autowired
+    @Lazy
+    private ConcernService concernService;
+
+    @Autowired
+    @Lazy
+    private WorkerCellNotificationService workerCellNotificationService;
+
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
@@ -27,6 +74,84 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOrigins(allowedOrigins.split(","))
                 .withSockJS();
     }
-    
-}
 
+    /**
+     * Keep the open sessions in the subscription registry, so subscriptions can be revoked by closing them
+     */
+    @Override
+    public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registration) {
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                stompSubscriptionRegistry.registerSession(session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus) throws Exception {
+                stompSubscriptionRegistry.unregisterSession(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        });
+    }
+
+    /**
+     * Authenticate STOMP CONNECT frames that carry an "Authorization: Bearer <token>" header,
+     * so /app message handlers receive the same Authentication as REST controllers.
+     * Connections without a token are still allowed to subscribe to topics, except live request
+     * tracking (limited to the request's customer), concern threads (limited to the concern's parties)
+     * and geocell request notifications (limited to eligible workers near the cell).
+     */
+    @Override
+    public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    String authHeader = accessor.getFirstNativeHeader("Authorization");
+                    if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                        String token = authHeader.substring(7);
+                        try {
+                            Long userId = jwtUtil.getUserIdFromToken(token);
+                            String role = jwtUtil.getRoleFromToken(token);
+                            if (userId != null && role != null && !jwtUtil.isTokenExpired(token)) {
+                                String normalizedRole = role.startsWith("SYSTEM_") ? role.substring(7) : role;
+                                accessor.setUser(new UsernamePasswordAuthenticationToken(userId, null,
+                                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + normalizedRole))));
+                            }
+                        } catch (Exception e) {
+                            logger.debug("STOMP CONNECT with invalid token: {}", e.getMessage());
+                        }
+                    }
+                }
+                if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                    Long trackedRequestId = LiveTrackingService.parseRequestId(accessor.getDestination());
+                    if (trackedRequestId != null) {
+                        Authentication authentication = accessor.getUser() instanceof Authentication
+                                ? (Authentication) accessor.getUser() : null;
+                        if (!liveTrackingService.canTrack(authentication, trackedRequestId)) {
+                            throw new RuntimeException("Not allowed to track request " + trackedRequestId);
+                        }
+                    }
+                    Long concernId = ConcernService.parseConcernId(accessor.getDestination());
+                    if (concernId != null) {
+                        Authentication authentication = accessor.getUser() instanceof Authentication
+                                ? (Authentication) accessor.getUser() : null;
+                        if (!concernService.canViewConcern(authentication, concernId)) {
+                            throw new RuntimeException("Not allowed to follow concern " + concernId);
+                        }
+                    }
+                    if (WorkerCellNotificationService.isCellTopic(accessor.getDestination())) {
+                        Authentication authentication = accessor.getUser() instanceof Authentication
+                                ? (Authentication) accessor.getUser() : null;
+                        if (!workerCellNotificationService.canSubscribe(authentication, accessor.getDestination())) {
+                            throw new RuntimeException("Not allowed to subscribe to " + accessor.getDestination());
+                        }
+                    }
+                }
+                return message;
+            }
+        });
+    }
+}
@@ -1,12 +1,15 @@
 package com.kaamkart.controller;
 
+import com.kaamkart.dto.ConcernMessageDto;
 import com.kaamkart.dto.CreateUserRequest;
 import com.kaamkart.model.*;
 import com.kaamkart.service.AdminService;
 import com.kaamkart.service.AdvertisementService;
+import com.kaamkart.service.PublicCatalogService;
 import com.kaamkart.service.ConcernService;
 import com.kaamkart.service.WorkerTypeService;
 import com.kaamkart.service.SuccessStoryService;
+import com.kaamkart.util.PrincipalNames;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +44,9 @@ public class AdminController {
     @Autowired
     private WorkerTypeService workerTypeService;
 
+    @Autowired
+    private PublicCatalogService publicCatalogService;
+
     @GetMapping("/requests/pending")
     public ResponseEntity<?> getPendingRequests(
             Authentication authentication,
@@ -99,7 +105,7 @@ public class AdminController {
             logger.info("✅ REQUEST APPROVED | RequestID: {} | Admin: {} | Duration: {}ms", 
                     requestId, adminId, duration);
             
-            return ResponseEntity.ok(Map.of("message", "Request approved and workers notified", "request", request));
+            return ResponseEntity.ok(Map.of("message", "Request approved - matching workers are being notified", "request", request));
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             logger.error("❌ REQUEST APPROVAL FAILED | RequestID: {} | Error: {} | Duration: {}ms", 
@@ -413,7 +419,8 @@ public class AdminController {
                 }
                 
                 // System users and regular admins can both add messages now
-                ConcernMessage concernMessage = concernService.addMessageToConcern(concernId, adminId, message);
+                ConcernMessageDto concernMessage = concernService.addMessageToConcern(concernId, adminId,
+                        PrincipalNames.nameOf(authentication), "ADMIN", message);
                 
                 return ResponseEntity.ok(Map.of(
                         "message", "Message added successfully",
@@ -556,6 +563,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can create success stories"));
                 }
                 SuccessStory created = successStoryService.createStory(story);
+                publicCatalogService.invalidateSuccessStories();
                 return ResponseEntity.ok(created);
             } catch (Exception e) {
                 logger.error("Error creating success story", e);
@@ -577,6 +585,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can update success stories"));
                 }
                 SuccessStory updated = successStoryService.updateStory(id, story);
+                publicCatalogService.invalidateSuccessStories();
                 return ResponseEntity.ok(updated);
             } catch (Exception e) {
                 logger.error("Error updating success story", e);
@@ -597,6 +606,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can delete success stories"));
                 }
                 successStoryService.deleteStory(id);
+                publicCatalogService.invalidateSuccessStories();
                 return ResponseEntity.ok(Map.of("message", "Success story deleted successfully"));
             } catch (Exception e) {
                 logger.error("Error deleting success story", e);
@@ -637,6 +647,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can create advertisements"));
                 }
                 Advertisement created = advertisementService.createAdvertisement(advertisement);
+                publicCatalogService.invalidateAdvertisements();
                 return ResponseEntity.ok(created);
             } catch (Exception e) {
                 logger.error("Error creating advertisement", e);
@@ -658,6 +669,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can update advertisements"));
                 }
                 Advertisement updated = advertisementService.updateAdvertisement(id, advertisement);
+                publicCatalogService.invalidateAdvertisements();
                 return ResponseEntity.ok(updated);
             } catch (Exception e) {
                 logger.error("Error updating advertisement", e);
@@ -678,6 +690,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can delete advertisements"));
                 }
                 advertisementService.deleteAdvertisement(id);
+                publicCatalogService.invalidateAdvertisements();
                 return ResponseEntity.ok(Map.of("message", "Advertisement deleted successfully"));
             } catch (Exception e) {
                 logger.error("Error deleting advertisement", e);
@@ -718,6 +731,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can create worker types"));
                 }
                 WorkerType created = workerTypeService.createWorkerType(workerType);
+                publicCatalogService.invalidateWorkerTypes();
                 return ResponseEntity.ok(created);
             } catch (Exception e) {
                 logger.error("Error creating worker type", e);
@@ -739,6 +753,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can update worker types"));
                 }
                 WorkerType updated = workerTypeService.updateWorkerType(id, workerType);
+                publicCatalogService.invalidateWorkerTypes();
                 return ResponseEntity.ok(updated);
             } catch (Exception e) {
                 logger.error("Error updating worker type", e);
@@ -759,6 +774,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can delete worker types"));
                 }
                 workerTypeService.deleteWorkerType(id);
+                publicCatalogService.invalidateWorkerTypes();
                 return ResponseEntity.ok(Map.of("message", "Worker type deleted successfully"));
             } catch (Exception e) {
                 logger.error("Error deleting worker type", e);
@@ -779,6 +795,7 @@ public class AdminController {
                     return ResponseEntity.status(403).body(Map.of("message", "Only super admin can toggle worker type status"));
                 }
                 WorkerType updated = workerTypeService.toggleActiveStatus(id);
+                publicCatalogService.invalidateWorkerTypes();
                 return ResponseEntity.ok(updated);
             } catch (Exception e) {
                 logger.error("Error toggling worker type status", e);
@@ -5,11 +5,14 @@ import com.kaamkart.dto.LoginRequest;
 import com.kaamkart.dto.RegisterRequest;
 import com.kaamkart.dto.ResetPasswordRequest;
 import com.kaamkart.service.AuthService;
+import com.kaamkart.service.LoginThrottleService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -64,6 +67,11 @@ public class AuthController {
             
             logger.info("✅ LOGIN SUCCESS | Email: {} | Role: {} | Duration: {}ms", email, role, duration);
             return ResponseEntity.ok(response);
+        } catch (LoginThrottleService.LoginThrottledException e) {
+            logger.warn("🚫 LOGIN THROTTLED | Email: {} | Retry after: {}s", email, e.getRetryAfterSeconds());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage(), "retryAfterSeconds", e.getRetryAfterSeconds()));
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             logger.error("❌ LOGIN FAILED | Email: {} | Error: {} | Duration: {}ms", 
@@ -97,6 +105,11 @@ public class AuthController {
             
             logger.info("✅ ADMIN LOGIN SUCCESS | Email: {} | Role: {} | Duration: {}ms", email, role, duration);
             return ResponseEntity.ok(response);
+        } catch (LoginThrottleService.LoginThrottledException e) {
+            logger.warn("🚫 ADMIN LOGIN THROTTLED | Email: {} | Retry after: {}s", email, e.getRetryAfterSeconds());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage(), "retryAfterSeconds", e.getRetryAfterSeconds()));
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             logger.error("❌ ADMIN LOGIN FAILED | Email: {} | Error: {} | Duration: {}ms", 
@@ -107,35 +120,12 @@ public class AuthController {
     }
     
     /**
-     * Get client IP address from request
+     * Client IP for login throttling. Forwarded headers are not read here: behind a proxy, Tomcat's
+     * RemoteIpValve (server.forward-headers-strategy=native) sets the remote address from
+     * X-Forwarded-For only when the request comes from a trusted proxy.
      */
     private String getClientIpAddress(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_CLIENT_IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        
-        // If IP contains multiple addresses (from proxies), take the first one
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        
-        return ip;
+        return request.getRemoteAddr();
     }
 
     @PostMapping("/forgot-password")
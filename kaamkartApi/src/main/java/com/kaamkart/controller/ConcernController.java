@@ -1,13 +1,15 @@
 package com.kaamkart.controller;
 
+import com.kaamkart.dto.ConcernMessageDto;
 import com.kaamkart.dto.CreateConcernDto;
 import com.kaamkart.model.Concern;
-import com.kaamkart.model.ConcernMessage;
 import com.kaamkart.service.ConcernService;
+import com.kaamkart.util.PrincipalNames;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -32,6 +34,32 @@ public class ConcernController {
         throw new RuntimeException("User not authenticated");
     }
 
+    /**
+     * Sender role from the authenticated principal (set by JwtAuthenticationFilter),
+     * so posting a message does not reload the user
+     */
+    private String getRoleFromAuthentication(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        return authentication.getAuthorities().stream()
+                .map(authority -> authority.getAuthority())
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> authority.substring(5))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Only admins and the parties of a concern may read or post to its thread
+     */
+    private ResponseEntity<?> forbiddenUnlessParty(Authentication authentication, Long concernId) {
+        if (concernService.canViewConcern(authentication, concernId)) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Not allowed to view this concern"));
+    }
+
     @PostMapping
     public ResponseEntity<?> createConcern(
             Authentication authentication,
@@ -96,13 +124,18 @@ public class ConcernController {
             @RequestBody Map<String, String> request) {
         try {
             Long userId = getUserIdFromAuthentication(authentication);
+            ResponseEntity<?> forbidden = forbiddenUnlessParty(authentication, concernId);
+            if (forbidden != null) {
+                return forbidden;
+            }
             String message = request.get("message");
             
             if (message == null || message.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("message", "Message is required"));
             }
             
-            ConcernMessage concernMessage = concernService.addMessageToConcern(concernId, userId, message);
+            ConcernMessageDto concernMessage = concernService.addMessageToConcern(concernId, userId,
+                    PrincipalNames.nameOf(authentication), getRoleFromAuthentication(authentication), message);
             
             return ResponseEntity.ok(Map.of(
                     "message", "Message added successfully",
@@ -118,11 +151,35 @@ public class ConcernController {
             Authentication authentication,
             @PathVariable Long concernId) {
         try {
-            List<ConcernMessage> messages = concernService.getConcernMessages(concernId);
+            ResponseEntity<?> forbidden = forbiddenUnlessParty(authentication, concernId);
+            if (forbidden != null) {
+                return forbidden;
+            }
+            List<ConcernMessageDto> messages = concernService.getConcernMessages(concernId);
             return ResponseEntity.ok(messages);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
-}
 
+    /**
+     * Latest messages of a thread, oldest first. Pass nextBefore back as before to load older ones;
+     * new messages arrive on /topic/concern/{concernId}.
+     */
+    @GetMapping("/{concernId}/messages/page")
+    public ResponseEntity<?> getConcernMessagesPage(
+            Authentication authentication,
+            @PathVariable Long concernId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "30") int limit) {
+        try {
+            ResponseEntity<?> forbidden = forbiddenUnlessParty(authentication, concernId);
+            if (forbidden != null) {
+                return forbidden;
+            }
+            return ResponseEntity.ok(concernService.getConcernMessagesPage(concernId, before, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.kaamkart.controller;
 
+import com.kaamkart.service.WarmupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,9 +16,19 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/health")
 public class HealthController {
+
+    @Autowired
+    private WarmupService warmupService;
+
+    // Report 503 from /api/health and /ready until warm-up has finished, so no traffic is routed to a cold instance
+    @Value("${warmup.gate-health:true}")
+    private boolean gateOnWarmup;
     
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
+        if (isWarmingUp()) {
+            return warmingUp();
+        }
         Map<String, Object> health = new HashMap<>();
         health.put("status", "UP");
         health.put("timestamp", LocalDateTime.now());
@@ -25,6 +39,9 @@ public class HealthController {
     
     @GetMapping("/ready")
     public ResponseEntity<Map<String, Object>> readiness() {
+        if (isWarmingUp()) {
+            return warmingUp();
+        }
         Map<String, Object> ready = new HashMap<>();
         ready.put("status", "READY");
         ready.put("timestamp", LocalDateTime.now());
@@ -38,5 +55,16 @@ public class HealthController {
         live.put("timestamp", LocalDateTime.now());
         return ResponseEntity.ok(live);
     }
-}
 
+    private boolean isWarmingUp() {
+        return gateOnWarmup && !warmupService.isReady();
+    }
+
+    private ResponseEntity<Map<String, Object>> warmingUp() {
+        Map<String, Object> warming = new HashMap<>();
+        warming.put("status", "WARMING_UP");
+        warming.put("warmup", warmupService.getStatus());
+        warming.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(warming);
+    }
+}
@@ -1,17 +1,41 @@
 package com.kaamkart.controller;
 
+import com.kaamkart.config.ReplicaRoutingDataSource;
+import com.kaamkart.config.StartupTimings;
 import com.kaamkart.model.ApiLog;
+import com.kaamkart.model.BackgroundJob;
 import com.kaamkart.repository.ApiLogRepository;
+import com.kaamkart.service.ClusterCacheService;
+import com.kaamkart.service.ClusterTaskService;
+import com.kaamkart.service.GeocodeStrategyResolver;
+import com.kaamkart.service.GeocodingBackfillService;
+import com.kaamkart.service.GeocodingEnrichmentService;
+import com.kaamkart.service.JdbcWriteStatsService;
+import com.kaamkart.service.JobQueueService;
+import com.kaamkart.service.JobWorker;
+import com.kaamkart.service.LiveTrackingService;
+import com.kaamkart.service.LoginThrottleService;
 import com.kaamkart.service.MetricsService;
+import com.kaamkart.service.PasswordHashingService;
+import com.kaamkart.service.RequestLifecycleSweeper;
+import com.kaamkart.service.SecondLevelCacheService;
+import com.kaamkart.service.TrafficReplayService;
+import com.kaamkart.service.WarmupService;
+import com.kaamkart.service.WorkerCellNotificationService;
+import com.kaamkart.service.WorkerLocationIngestionService;
+import com.kaamkart.util.OutboundHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +52,67 @@ public class MetricsController {
     @Autowired
     private ApiLogRepository apiLogRepository;
 
+    @Autowired
+    private TrafficReplayService trafficReplayService;
+
+    @Autowired
+    private OutboundHttpClient outboundHttpClient;
+
+    @Autowired
+    private GeocodeStrategyResolver geocodeStrategyResolver;
+
+    @Autowired
+    private GeocodingEnrichmentService geocodingEnrichmentService;
+
+    @Autowired
+    private GeocodingBackfillService geocodingBackfillService;
+
+    @Autowired
+    private WorkerLocationIngestionService workerLocationIngestionService;
+
+    @Autowired
+    private LiveTrackingService liveTrackingService;
+
+    @Autowired
+    private WorkerCellNotificationService workerCellNotificationService;
+
+    @Autowired
+    private RequestLifecycleSweeper requestLifecycleSweeper;
+
+    @Autowired(required = false)
+    private StartupTimings startupTimings;
+
+    // Only present when datasource.replicas.enabled=true
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private WarmupService warmupService;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @Autowired
+    private ClusterCacheService clusterCacheService;
+
+    @Autowired
+    private JdbcWriteStatsService jdbcWriteStatsService;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private JobWorker jobWorker;
+
+    @Autowired
+    private ClusterTaskService clusterTaskService;
+
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     /**
      * Get metrics summary for the last N hours (default 24)
      */
@@ -104,5 +189,233 @@ public class MetricsController {
             return ResponseEntity.status(500).build();
         }
     }
-}
 
+    /**
+     * Get circuit breaker state, bulkhead usage and latency histograms per external upstream
+     */
+    @GetMapping("/upstreams")
+    public ResponseEntity<Map<String, Object>> getUpstreamStats() {
+        return ResponseEntity.ok(outboundHttpClient.getUpstreamStats());
+    }
+
+    /**
+     * Get attempts/successes/wins per geocode query strategy (drives the adaptive ordering)
+     */
+    @GetMapping("/geocode-strategies")
+    public ResponseEntity<Map<String, Object>> getGeocodeStrategyStats() {
+        return ResponseEntity.ok(geocodeStrategyResolver.getStrategyStats());
+    }
+
+    /**
+     * Get pending/done/failed counts of the background geocoding queue
+     */
+    @GetMapping("/geocode-queue")
+    public ResponseEntity<Map<String, Object>> getGeocodeQueueStats() {
+        return ResponseEntity.ok(geocodingEnrichmentService.getQueueStats());
+    }
+
+    /**
+     * Get received/dropped/flushed counts of the worker GPS ingestion path, live tracking and geocell notifications
+     */
+    @GetMapping("/worker-locations")
+    public ResponseEntity<Map<String, Object>> getWorkerLocationStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(workerLocationIngestionService.getStats());
+        stats.put("liveTracking", liveTrackingService.getStats());
+        stats.put("cellNotifications", workerCellNotificationService.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Start backfilling lat/lon for rows that only have an address / pin code
+     * resume=true continues from where the previous run stopped
+     */
+    @PostMapping("/geocode-backfill")
+    public ResponseEntity<Map<String, Object>> startGeocodeBackfill(@RequestParam(defaultValue = "false") boolean resume) {
+        try {
+            return ResponseEntity.accepted().body(geocodingBackfillService.start(resume));
+        } catch (Exception e) {
+            logger.error("Error starting geocoding backfill: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Stop the running geocoding backfill after the current pin code
+     */
+    @PostMapping("/geocode-backfill/stop")
+    public ResponseEntity<Map<String, Object>> stopGeocodeBackfill() {
+        try {
+            return ResponseEntity.ok(geocodingBackfillService.stop());
+        } catch (Exception e) {
+            logger.error("Error stopping geocoding backfill: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get progress of the current or last geocoding backfill
+     */
+    @GetMapping("/geocode-backfill")
+    public ResponseEntity<Map<String, Object>> getGeocodeBackfillProgress() {
+        return ResponseEntity.ok(geocodingBackfillService.getProgress());
+    }
+
+    /**
+     * Get login throttling counters and password hashing pool usage
+     */
+    @GetMapping("/login-protection")
+    public ResponseEntity<Map<String, Object>> getLoginProtectionStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("throttle", loginThrottleService.getStats());
+        stats.put("hashing", passwordHashingService.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Get startup phase timings and the slowest bean creations of this instance
+     */
+    @GetMapping("/startup")
+    public ResponseEntity<Map<String, Object>> getStartupTimings() {
+        if (startupTimings == null) {
+            return ResponseEntity.ok(Map.of("message", "Startup timings are not recorded for this instance"));
+        }
+        return ResponseEntity.ok(startupTimings.getReport());
+    }
+
+    /**
+     * Get the warm-up result: rounds, duration and first vs last round latency per workload
+     */
+    @GetMapping("/warmup")
+    public ResponseEntity<Map<String, Object>> getWarmupReport() {
+        return ResponseEntity.ok(warmupService.getReport());
+    }
+
+    /**
+     * Get Hibernate second-level / query cache hit and miss counts per region
+     */
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<Map<String, Object>> getSecondLevelCacheStats() {
+        return ResponseEntity.ok(secondLevelCacheService.getStats());
+    }
+
+    /**
+     * Get the in-process cache regions and the state of cluster-wide invalidation (LISTEN/NOTIFY)
+     */
+    @GetMapping("/cluster-cache")
+    public ResponseEntity<Map<String, Object>> getClusterCacheStats() {
+        return ResponseEntity.ok(clusterCacheService.getStats());
+    }
+
+    /**
+     * Evict a second-level cache region (all regions if none given), e.g. after editing reference data by SQL
+     */
+    @PostMapping("/second-level-cache/evict")
+    public ResponseEntity<?> evictSecondLevelCache(@RequestParam(required = false) String region) {
+        try {
+            return ResponseEntity.ok(secondLevelCacheService.evict(region));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get insert/update and prepared statement counts (JDBC batching effectiveness) and the API log writer buffer
+     */
+    @GetMapping("/jdbc-writes")
+    public ResponseEntity<Map<String, Object>> getJdbcWriteStats() {
+        return ResponseEntity.ok(jdbcWriteStatsService.getStats());
+    }
+
+    /**
+     * Get read replica health, lag and how many reads went to replicas vs the primary
+     */
+    @GetMapping("/replicas")
+    public ResponseEntity<Map<String, Object>> getReplicaStats() {
+        if (replicaRoutingDataSource == null) {
+            return ResponseEntity.ok(Map.of("message", "Read replicas are not configured for this instance"));
+        }
+        return ResponseEntity.ok(replicaRoutingDataSource.getStats());
+    }
+
+    /**
+     * Get background job counts per queue and status, and this node's job worker
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> getJobStats() {
+        return ResponseEntity.ok(jobWorker.getStats());
+    }
+
+    /**
+     * Get the most recently dead-lettered background jobs
+     */
+    @GetMapping("/jobs/dead")
+    public ResponseEntity<List<BackgroundJob>> getDeadJobs(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(jobQueueService.getDeadJobs(Math.min(limit, 500)));
+    }
+
+    /**
+     * Requeue a dead-lettered background job with a fresh set of attempts
+     */
+    @PostMapping("/jobs/{jobId}/retry")
+    public ResponseEntity<?> retryDeadJob(@PathVariable Long jobId) {
+        try {
+            jobQueueService.retryDead(jobId);
+            return ResponseEntity.ok(Map.of("message", "Job requeued", "jobId", jobId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the cluster-wide scheduled tasks: last run, owner node and fencing token of each task,
+     * and this node's run counts and durations
+     */
+    @GetMapping("/cluster-tasks")
+    public ResponseEntity<Map<String, Object>> getClusterTaskStats() {
+        return ResponseEntity.ok(clusterTaskService.getStats());
+    }
+
+    /**
+     * Get counts of the scheduled request lifecycle sweeper
+     */
+    @GetMapping("/lifecycle-sweep")
+    public ResponseEntity<Map<String, Object>> getLifecycleSweepStats() {
+        return ResponseEntity.ok(requestLifecycleSweeper.getStats());
+    }
+
+    /**
+     * Run the request lifecycle sweep now instead of waiting for the next scheduled run
+     */
+    @PostMapping("/lifecycle-sweep")
+    public ResponseEntity<Map<String, Object>> runLifecycleSweep() {
+        return ResponseEntity.ok(requestLifecycleSweeper.sweep());
+    }
+
+    /**
+     * Replay a window of logged traffic against a target instance (default: local)
+     * speedFactor 1.0 = original timing, >1 compresses time, 0 = back-to-back
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Object>> startReplay(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "1.0") double speedFactor,
+            @RequestParam(defaultValue = "false") boolean includeWrites,
+            @RequestParam(required = false) String targetBaseUrl) {
+        try {
+            Map<String, Object> report = trafficReplayService.startReplay(start, end, speedFactor, includeWrites, targetBaseUrl);
+            return ResponseEntity.accepted().body(report);
+        } catch (Exception e) {
+            logger.error("Error starting traffic replay: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get progress or the latency comparison report of the last replay
+     */
+    @GetMapping("/replay")
+    public ResponseEntity<Map<String, Object>> getReplayReport() {
+        return ResponseEntity.ok(trafficReplayService.getLastReport());
+    }
+}
@@ -1,18 +1,15 @@
 package com.kaamkart.controller;
 
-import com.kaamkart.model.Advertisement;
-import com.kaamkart.model.WorkerType;
-import com.kaamkart.model.SuccessStory;
-import com.kaamkart.service.AdvertisementService;
-import com.kaamkart.service.WorkerTypeService;
-import com.kaamkart.service.SuccessStoryService;
+import com.kaamkart.service.PublicCatalogService;
+import com.kaamkart.service.PublicCatalogService.CatalogSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,21 +20,14 @@ public class PublicController {
     private static final Logger logger = LoggerFactory.getLogger(PublicController.class);
     
     @Autowired
-    private SuccessStoryService successStoryService;
-    
-    @Autowired
-    private AdvertisementService advertisementService;
-    
-    @Autowired
-    private WorkerTypeService workerTypeService;
+    private PublicCatalogService publicCatalogService;
     
     @GetMapping("/success-stories")
-    public ResponseEntity<?> getActiveSuccessStories() {
+    public ResponseEntity<?> getActiveSuccessStories(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<SuccessStory> stories = successStoryService.getActiveStories();
-            return ResponseEntity.ok()
-                    .header("Cache-Control", "public, max-age=300") // Cache for 5 minutes
-                    .body(stories);
+            CatalogSnapshot snapshot = publicCatalogService.getSuccessStories();
+            return snapshotResponse(snapshot, ifNoneMatch, "public, max-age=300"); // Cache for 5 minutes
         } catch (Exception e) {
             logger.error("Error fetching success stories", e);
             return ResponseEntity.status(500).body(Map.of("message", "Error fetching success stories"));
@@ -45,12 +35,11 @@ public class PublicController {
     }
     
     @GetMapping("/advertisements")
-    public ResponseEntity<?> getActiveAdvertisements() {
+    public ResponseEntity<?> getActiveAdvertisements(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<Advertisement> advertisements = advertisementService.getActiveAdvertisements();
-            return ResponseEntity.ok()
-                    .header("Cache-Control", "public, max-age=300") // Cache for 5 minutes
-                    .body(advertisements);
+            CatalogSnapshot snapshot = publicCatalogService.getAdvertisements();
+            return snapshotResponse(snapshot, ifNoneMatch, "public, max-age=300"); // Cache for 5 minutes
         } catch (Exception e) {
             logger.error("Error fetching advertisements", e);
             return ResponseEntity.status(500).body(Map.of("message", "Error fetching advertisements"));
@@ -58,16 +47,31 @@ public class PublicController {
     }
     
     @GetMapping("/worker-types")
-    public ResponseEntity<?> getActiveWorkerTypes() {
+    public ResponseEntity<?> getActiveWorkerTypes(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<WorkerType> workerTypes = workerTypeService.getActiveWorkerTypes();
-            return ResponseEntity.ok()
-                    .header("Cache-Control", "public, max-age=600") // Cache for 10 minutes (worker types change less frequently)
-                    .body(workerTypes);
+            CatalogSnapshot snapshot = publicCatalogService.getWorkerTypes();
+            return snapshotResponse(snapshot, ifNoneMatch, "public, max-age=600"); // Cache for 10 minutes (worker types change less frequently)
         } catch (Exception e) {
             logger.error("Error fetching worker types", e);
             return ResponseEntity.status(500).body(Map.of("message", "Error fetching worker types"));
         }
     }
-}
 
+    /**
+     * Serve a pre-serialized snapshot, or 304 when the client already has it
+     */
+    private ResponseEntity<?> snapshotResponse(CatalogSnapshot snapshot, String ifNoneMatch, String cacheControl) {
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .header("Cache-Control", cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .header("Cache-Control", cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getBody());
+    }
+}
@@ -1,13 +1,19 @@
 package com.kaamkart.controller;
 
 import com.kaamkart.dto.LocationDto;
+import com.kaamkart.dto.WorkHistoryEntryDto;
+import com.kaamkart.dto.WorkHistoryPageDto;
+import com.kaamkart.model.Location;
 import com.kaamkart.model.Worker;
+import com.kaamkart.service.WorkerCellNotificationService;
 import com.kaamkart.service.WorkerService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,6 +30,9 @@ public class WorkerController {
     @Autowired
     private WorkerService workerService;
 
+    @Autowired
+    private WorkerCellNotificationService workerCellNotificationService;
+
     private Long getUserIdFromAuthentication(Authentication authentication) {
         if (authentication != null && authentication.getPrincipal() instanceof Long) {
             return (Long) authentication.getPrincipal();
@@ -48,13 +57,26 @@ public class WorkerController {
             @Valid @RequestBody LocationDto locationDto) {
         try {
             Long userId = getUserIdFromAuthentication(authentication);
-            Worker worker = workerService.updateLocation(userId, locationDto);
-            return ResponseEntity.ok(Map.of("message", "Location updated", "location", worker.getCurrentLocation()));
+            Location location = workerService.updateLocation(userId, locationDto);
+            return ResponseEntity.ok(Map.of("message", "Location updated", "location", location));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
 
+    /**
+     * STOMP ingestion path for GPS pings: clients send to /app/worker/location on an authenticated connection
+     */
+    @MessageMapping("/worker/location")
+    public void ingestLocation(@Payload LocationDto locationDto, Authentication authentication) {
+        try {
+            Long userId = getUserIdFromAuthentication(authentication);
+            workerService.updateLocation(userId, locationDto);
+        } catch (Exception e) {
+            logger.debug("Dropped worker location message: {}", e.getMessage());
+        }
+    }
+
     @PutMapping("/availability")
     public ResponseEntity<?> updateAvailability(
             Authentication authentication,
@@ -69,17 +91,51 @@ public class WorkerController {
         }
     }
 
+    /**
+     * STOMP topics for new-request notifications near the worker
+     * Fetch again after toggling availability or moving into another cell
+     */
+    @GetMapping("/notification-topics")
+    public ResponseEntity<?> getNotificationTopics(Authentication authentication) {
+        try {
+            Long userId = getUserIdFromAuthentication(authentication);
+            return ResponseEntity.ok(workerCellNotificationService.getTopics(userId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/history")
     public ResponseEntity<?> getWorkHistory(Authentication authentication) {
         try {
             Long userId = getUserIdFromAuthentication(authentication);
-            List<Map<String, Object>> history = workerService.getWorkHistory(userId);
+            List<WorkHistoryEntryDto> history = workerService.getWorkHistory(userId);
             return ResponseEntity.ok(history);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
 
+    /**
+     * Cursor-paginated work history, newest first
+     * status can be repeated (e.g. status=COMPLETED&status=CANCELLED), type is "deployed" or "confirmed"
+     */
+    @GetMapping("/history/page")
+    public ResponseEntity<?> getWorkHistoryPage(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) String type) {
+        try {
+            Long userId = getUserIdFromAuthentication(authentication);
+            WorkHistoryPageDto page = workerService.getWorkHistoryPage(userId, cursor, limit, status, type);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @PutMapping("/profile/update")
     public ResponseEntity<?> updateWorkerProfile(
             Authentication authentication,
@@ -0,0 +1,54 @@
+package com.kaamkart.dto;
+
+import com.kaamkart.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact concern message for threads and live delivery (no concern/request graph attached).
+ * sentBy keeps the id/name/role shape clients already read from ConcernMessage.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConcernMessageDto {
+    private Long id;
+    private Long concernId;
+    private String message;
+    private LocalDateTime createdAt;
+    private Sender sentBy;
+    private Long sentBySystemUserId;
+    private String sentByName;
+
+    /**
+     * Used by the JPQL constructor expression in ConcernMessageRepository
+     */
+    public ConcernMessageDto(Long id, Long concernId, String message, LocalDateTime createdAt,
+                             Long sentById, String sentByUserName, User.UserRole sentByRole,
+                             Long sentBySystemUserId, String sentByName) {
+        this.id = id;
+        this.concernId = concernId;
+        this.message = message;
+        this.createdAt = createdAt;
+        this.sentBySystemUserId = sentBySystemUserId;
+        this.sentByName = sentByName;
+        if (sentById != null) {
+            this.sentBy = new Sender(sentById, sentByUserName, sentByRole != null ? sentByRole.name() : null);
+        } else if (sentBySystemUserId != null) {
+            // System admins have no User row; expose them with their negative id
+            this.sentBy = new Sender(sentBySystemUserId, sentByName, "ADMIN");
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sender {
+        private Long id;
+        private String name;
+        private String role;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kaamkart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published by RequestLifecycleSweeper (as a Spring application event and on /topic/admin/request-lifecycle)
+ * for every batch of rows it changed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestLifecycleEvent {
+    private Type type;
+    private List<Long> requestIds = new ArrayList<>();
+    private List<Long> workerUserIds = new ArrayList<>();
+    private LocalDateTime occurredAt;
+
+    public enum Type {
+        REQUESTS_EXPIRED, // open requests whose end date passed before any worker was deployed
+        WORKERS_RELEASED  // deployed workers made available again after the request's end date
+    }
+}
@@ -0,0 +1,40 @@
+package com.kaamkart.dto;
+
+import com.kaamkart.model.Location;
+import com.kaamkart.model.Request;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One row of a worker's work history (deployed or confirmed-only request)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkHistoryEntryDto {
+    private String type; // "deployed" or "confirmed"
+    private Long requestId;
+    private List<String> workerTypes = new ArrayList<>();
+    private String workType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Location location;
+    private Request.RequestStatus status;
+    private LocalDateTime date;
+    private CustomerSummary customer;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CustomerSummary {
+        private Long id;
+        private String name;
+        private String phone;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kaamkart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cursor-paginated page of work history. Pass nextCursor back as cursor to get the next page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkHistoryPageDto {
+    private List<WorkHistoryEntryDto> items = new ArrayList<>();
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -1,9 +1,12 @@
 package com.kaamkart.model;
 
+import com.kaamkart.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -16,6 +19,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_ads_end_date", columnList = "end_date"),
     @Index(name = "idx_ads_date_range", columnList = "start_date,end_date")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ADVERTISEMENTS)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
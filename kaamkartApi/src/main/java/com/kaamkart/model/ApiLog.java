@@ -21,8 +21,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ApiLog {
+    // Pooled sequence (one nextval per 50 ids) so inserts can be JDBC-batched; IDENTITY disables batching.
+    // Reuses the sequence behind the old identity/serial column, see db/pooled-sequences.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "api_logs_id_gen")
+    @SequenceGenerator(name = "api_logs_id_gen", sequenceName = "api_logs_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "endpoint", nullable = false, length = 500)
@@ -0,0 +1,90 @@
+package com.kaamkart.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable unit of background work, written in the same transaction as the change that needs it.
+ * Claimed by JobWorker on any API node with FOR UPDATE SKIP LOCKED, retried with backoff and
+ * left as DEAD (the dead letter) once max_attempts is used up.
+ */
+@Entity
+@Table(name = "background_jobs", indexes = {
+    @Index(name = "idx_background_jobs_queue_status_run", columnList = "queue,status,run_at"),
+    @Index(name = "idx_background_jobs_status_locked", columnList = "status,locked_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackgroundJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "background_jobs_id_gen")
+    @SequenceGenerator(name = "background_jobs_id_gen", sequenceName = "background_jobs_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String queue;
+
+    @Column(name = "job_type", nullable = false, length = 100)
+    private String jobType;
+
+    // JSON, read by the handler registered for job_type
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status = JobStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "max_attempts", nullable = false)
+    private Integer maxAttempts;
+
+    @Column(name = "run_at", nullable = false)
+    private LocalDateTime runAt;
+
+    @Column(name = "locked_by", length = 50)
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (runAt == null) {
+            runAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        DONE,
+        DEAD
+    }
+}
@@ -0,0 +1,49 @@
+package com.kaamkart.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shared state of a scheduled task that must run on one node at a time (see ClusterTaskService).
+ * fence_token is incremented by every run; a run whose token is no longer current has lost its lock.
+ * Timestamps are the database's clock, so nodes with skewed clocks agree on when a task is due.
+ */
+@Entity
+@Table(name = "cluster_tasks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterTask {
+    @Id
+    @Column(name = "task_name", length = 100)
+    private String taskName;
+
+    @Column(name = "fence_token", nullable = false)
+    private Long fenceToken = 0L;
+
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_duration_ms")
+    private Long lastDurationMs;
+
+    // RUNNING, SUCCEEDED, FAILED or FENCED
+    @Column(name = "last_status", length = 20)
+    private String lastStatus;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Long runs = 0L;
+}
@@ -11,14 +11,16 @@ import java.time.LocalDateTime;
 @Table(name = "concern_messages", indexes = {
     @Index(name = "idx_concern_messages_concern_id", columnList = "concern_id"),
     @Index(name = "idx_concern_messages_created_at", columnList = "created_at"),
-    @Index(name = "idx_concern_messages_concern_created", columnList = "concern_id,created_at")
+    @Index(name = "idx_concern_messages_concern_created", columnList = "concern_id,created_at"),
+    @Index(name = "idx_concern_messages_concern_id_id", columnList = "concern_id,id")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ConcernMessage {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "concern_messages_id_gen")
+    @SequenceGenerator(name = "concern_messages_id_gen", sequenceName = "concern_messages_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
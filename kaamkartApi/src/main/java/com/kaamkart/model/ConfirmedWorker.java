@@ -14,14 +14,16 @@ import java.time.LocalDateTime;
     @Index(name = "idx_confirmed_worker_id", columnList = "worker_id"),
     @Index(name = "idx_confirmed_worker_request", columnList = "worker_id,request_id"),
     @Index(name = "idx_confirmed_confirmed_at", columnList = "confirmed_at"),
-    @Index(name = "idx_confirmed_worker_date", columnList = "worker_id,confirmed_at")
+    @Index(name = "idx_confirmed_worker_date", columnList = "worker_id,confirmed_at"),
+    @Index(name = "idx_confirmed_worker_date_request", columnList = "worker_id,confirmed_at,request_id")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ConfirmedWorker {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "confirmed_workers_id_gen")
+    @SequenceGenerator(name = "confirmed_workers_id_gen", sequenceName = "confirmed_workers_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -15,14 +15,16 @@ import java.time.LocalDateTime;
     @Index(name = "idx_deployed_worker_id", columnList = "worker_id"),
     @Index(name = "idx_deployed_worker_request", columnList = "worker_id,request_id"),
     @Index(name = "idx_deployed_deployed_at", columnList = "deployed_at"),
-    @Index(name = "idx_deployed_worker_date", columnList = "worker_id,deployed_at")
+    @Index(name = "idx_deployed_worker_date", columnList = "worker_id,deployed_at"),
+    @Index(name = "idx_deployed_worker_date_request", columnList = "worker_id,deployed_at,request_id")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class DeployedWorker {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deployed_workers_id_gen")
+    @SequenceGenerator(name = "deployed_workers_id_gen", sequenceName = "deployed_workers_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,82 @@
+package com.kaamkart.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending pin-code geocode for a request, user, worker or system user.
+ * Processed in the background by GeocodingEnrichmentWorker so that create/approve
+ * never wait on third-party geo APIs.
+ */
+@Entity
+@Table(name = "geocode_tasks", indexes = {
+    @Index(name = "idx_geocode_tasks_status_next", columnList = "status,next_attempt_at"),
+    @Index(name = "idx_geocode_tasks_pin_code", columnList = "pin_code")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_geocode_tasks_target", columnNames = {"target_type", "target_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeocodeTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 20)
+    private TargetType targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "pin_code", nullable = false, length = 6)
+    private String pinCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TaskStatus status = TaskStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum TargetType {
+        REQUEST,
+        USER,
+        WORKER,
+        SYSTEM_USER
+    }
+
+    public enum TaskStatus {
+        PENDING,
+        DONE,
+        FAILED
+    }
+}
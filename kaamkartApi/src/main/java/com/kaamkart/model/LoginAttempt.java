@@ -0,0 +1,32 @@
+package com.kaamkart.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One counted login event for a throttle key ("ip:<address>" or "account:<email>").
+ * Only used when login-throttle.store=database, so that several API instances share the same limits.
+ */
+@Entity
+@Table(name = "login_attempts", indexes = {
+    @Index(name = "idx_login_attempts_key_time", columnList = "throttle_key,attempted_at"),
+    @Index(name = "idx_login_attempts_time", columnList = "attempted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginAttempt {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "throttle_key", nullable = false, length = 320)
+    private String throttleKey;
+
+    @Column(name = "attempted_at", nullable = false)
+    private LocalDateTime attemptedAt;
+}
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Rating {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ratings_id_gen")
+    @SequenceGenerator(name = "ratings_id_gen", sequenceName = "ratings_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -1,5 +1,6 @@
 package com.kaamkart.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -39,6 +40,11 @@ public class Request {
     @Column(name = "worker_type")
     private List<String> workerTypes = new ArrayList<>();
 
+    // Bitmask of workerTypes interned by WorkerTypeRegistry (null = not computed yet)
+    @JsonIgnore
+    @Column(name = "worker_types_mask")
+    private Long workerTypesMask;
+
     @OneToMany(mappedBy = "request", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<RequestWorkerTypeRequirement> workerTypeRequirements = new ArrayList<>();
 
@@ -63,6 +69,14 @@ public class Request {
     })
     private Location location;
 
+    // True while the pin code is still being geocoded in the background (see GeocodeTask)
+    @Column(name = "location_pending")
+    private Boolean locationPending = false;
+
+    // Why background geocoding gave up; shown to admins while the request is back in PENDING_ADMIN_APPROVAL
+    @Column(name = "location_error", length = 500)
+    private String locationError;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private RequestStatus status = RequestStatus.PENDING;
@@ -79,6 +93,10 @@ public class Request {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Set by RequestLifecycleSweeper once deployed workers were released after the end date
+    @Column(name = "workers_released_at")
+    private LocalDateTime workersReleasedAt;
+
     @Transient
     private Double customerRating = 0.0;
 
@@ -17,7 +17,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class RequestWorkerTypeRequirement {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_worker_type_requirements_id_gen")
+    @SequenceGenerator(name = "request_worker_type_requirements_id_gen", sequenceName = "request_worker_type_requirements_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,29 @@
+package com.kaamkart.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checksum of the default data last applied by DataInitializer (one row per seed set).
+ * Startup only re-applies a seed set when the checksum of its definitions differs from this one.
+ */
+@Entity
+@Table(name = "seed_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeedState {
+    @Id
+    @Column(name = "seed_name", length = 64)
+    private String seedName;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -1,9 +1,12 @@
 package com.kaamkart.model;
 
+import com.kaamkart.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -13,6 +16,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_stories_display_order", columnList = "display_order"),
     @Index(name = "idx_stories_active_order", columnList = "is_active,display_order,created_at")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SUCCESS_STORIES)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,10 +1,13 @@
 package com.kaamkart.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kaamkart.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -16,6 +19,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_system_users_super_blocked", columnList = "super_admin,blocked"),
     @Index(name = "idx_system_users_created_at", columnList = "created_at")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SYSTEM_USERS)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,6 @@
 package com.kaamkart.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -36,6 +37,11 @@ public class Worker {
     @Column(name = "worker_type")
     private List<String> workerTypes = new ArrayList<>();
 
+    // Bitmask of workerTypes interned by WorkerTypeRegistry (null = not computed yet)
+    @JsonIgnore
+    @Column(name = "worker_types_mask")
+    private Long workerTypesMask;
+
     @ElementCollection
     @CollectionTable(name = "worker_skills", joinColumns = @JoinColumn(name = "worker_id"))
     @Column(name = "skill")
@@ -1,9 +1,12 @@
 package com.kaamkart.model;
 
+import com.kaamkart.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -13,6 +16,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_worker_types_active", columnList = "is_active"),
     @Index(name = "idx_worker_types_active_name", columnList = "is_active,name")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.WORKER_TYPES)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,6 +44,10 @@ public class WorkerType {
     @Column(name = "display_order", nullable = false)
     private Integer displayOrder = 0;
 
+    // Bit position used in workers/requests worker_types_mask, assigned by WorkerTypeRegistry
+    @Column(name = "bit_index", unique = true)
+    private Integer bitIndex;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -1,8 +1,12 @@
 package com.kaamkart.repository;
 
+import com.kaamkart.config.CacheRegions;
 import com.kaamkart.model.Advertisement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,6 +22,8 @@ public interface AdvertisementRepository extends JpaRepository<Advertisement, Lo
            "ORDER BY a.displayOrder ASC, a.createdAt DESC")
     List<Advertisement> findActiveAdvertisements(@Param("now") LocalDateTime now);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     List<Advertisement> findAllByOrderByDisplayOrderAscCreatedAtDesc();
 }
 
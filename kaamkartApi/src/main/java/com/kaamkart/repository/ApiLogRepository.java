@@ -22,6 +22,21 @@ public interface ApiLogRepository extends JpaRepository<ApiLog, Long> {
     
     List<ApiLog> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
     
+    /**
+     * Replay candidates of a window in time order, one page at a time: GETs, plus writes with a complete
+     * captured body when includeWrites is set. The page size bounds how many rows are read.
+     */
+    @Query("SELECT a FROM ApiLog a WHERE a.createdAt >= :start AND a.createdAt <= :end " +
+           "AND a.endpoint IS NOT NULL " +
+           "AND (a.method = 'GET' OR (:includeWrites = true AND a.requestBody IS NOT NULL " +
+           "AND a.requestBody NOT LIKE :truncatedPattern)) " +
+           "ORDER BY a.createdAt ASC, a.id ASC")
+    List<ApiLog> findReplayCandidates(@Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
+                                      @Param("includeWrites") boolean includeWrites,
+                                      @Param("truncatedPattern") String truncatedPattern,
+                                      Pageable pageable);
+    
     @Query("SELECT COUNT(a) FROM ApiLog a WHERE a.endpoint = :endpoint AND a.statusCode >= 400")
     Long countErrorsByEndpoint(@Param("endpoint") String endpoint);
     
@@ -0,0 +1,78 @@
+package com.kaamkart.repository;
+
+import com.kaamkart.model.BackgroundJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+
+    /**
+     * Lock due jobs of a queue. Rows already locked by another node's claim are skipped instead of
+     * waited on, so any number of nodes can poll the same queue without handing out a job twice.
+     */
+    @Query(value = "SELECT * FROM background_jobs WHERE queue = :queue AND status = 'PENDING' AND run_at <= :now " +
+           "ORDER BY run_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<BackgroundJob> lockDueJobs(@Param("queue") String queue,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("limit") int limit);
+
+    /**
+     * Move a running job to its next status. Only applies while the job is still running the given
+     * attempt, which fences off a node whose lease expired after the job was claimed again.
+     */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :status, j.lockedBy = null, j.lockedAt = null, j.lastError = :error, " +
+           "j.runAt = :runAt, j.finishedAt = :finishedAt, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = :running AND j.attempts = :attempts")
+    int finishAttempt(@Param("id") Long id,
+                      @Param("attempts") Integer attempts,
+                      @Param("running") BackgroundJob.JobStatus running,
+                      @Param("status") BackgroundJob.JobStatus status,
+                      @Param("error") String error,
+                      @Param("runAt") LocalDateTime runAt,
+                      @Param("finishedAt") LocalDateTime finishedAt,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :pending, j.lockedBy = null, j.lockedAt = null, " +
+           "j.lastError = 'Lease expired', j.runAt = :now, j.updatedAt = :now " +
+           "WHERE j.status = :running AND j.lockedAt < :lockedBefore AND j.attempts < j.maxAttempts")
+    int releaseExpiredLeases(@Param("running") BackgroundJob.JobStatus running,
+                             @Param("pending") BackgroundJob.JobStatus pending,
+                             @Param("lockedBefore") LocalDateTime lockedBefore,
+                             @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :dead, j.lockedBy = null, j.lockedAt = null, " +
+           "j.lastError = 'Lease expired on the last attempt', j.finishedAt = :now, j.updatedAt = :now " +
+           "WHERE j.status = :running AND j.lockedAt < :lockedBefore AND j.attempts >= j.maxAttempts")
+    int deadLetterExpiredLeases(@Param("running") BackgroundJob.JobStatus running,
+                                @Param("dead") BackgroundJob.JobStatus dead,
+                                @Param("lockedBefore") LocalDateTime lockedBefore,
+                                @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :pending, j.attempts = 0, j.runAt = :now, j.finishedAt = null, " +
+           "j.updatedAt = :now WHERE j.id = :id AND j.status = :dead")
+    int requeueDead(@Param("id") Long id,
+                    @Param("dead") BackgroundJob.JobStatus dead,
+                    @Param("pending") BackgroundJob.JobStatus pending,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM BackgroundJob j WHERE j.status = :status AND j.finishedAt < :before")
+    int deleteFinishedBefore(@Param("status") BackgroundJob.JobStatus status, @Param("before") LocalDateTime before);
+
+    @Query("SELECT j.queue, j.status, COUNT(j) FROM BackgroundJob j GROUP BY j.queue, j.status")
+    List<Object[]> countByQueueAndStatus();
+
+    List<BackgroundJob> findByStatusOrderByFinishedAtDesc(BackgroundJob.JobStatus status, Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.kaamkart.repository;
+
+import com.kaamkart.model.ClusterTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ClusterTaskRepository extends JpaRepository<ClusterTask, String> {
+
+    List<ClusterTask> findAllByOrderByTaskNameAsc();
+}
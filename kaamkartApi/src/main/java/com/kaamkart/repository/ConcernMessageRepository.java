@@ -1,8 +1,12 @@
 package com.kaamkart.repository;
 
+import com.kaamkart.dto.ConcernMessageDto;
 import com.kaamkart.model.Concern;
 import com.kaamkart.model.ConcernMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,5 +14,20 @@ import java.util.List;
 @Repository
 public interface ConcernMessageRepository extends JpaRepository<ConcernMessage, Long> {
     List<ConcernMessage> findByConcernOrderByCreatedAtAsc(Concern concern);
-}
 
+    // Whole thread as compact DTOs, oldest first (does not load the concern/request graph)
+    @Query("SELECT new com.kaamkart.dto.ConcernMessageDto(m.id, m.concern.id, m.message, m.createdAt, " +
+           "u.id, u.name, u.role, m.sentBySystemUserId, m.sentByName) " +
+           "FROM ConcernMessage m LEFT JOIN m.sentBy u " +
+           "WHERE m.concern.id = :concernId ORDER BY m.id ASC")
+    List<ConcernMessageDto> findThreadByConcernId(@Param("concernId") Long concernId);
+
+    // Newest messages with id below the cursor, newest first (keyset page of a thread)
+    @Query("SELECT new com.kaamkart.dto.ConcernMessageDto(m.id, m.concern.id, m.message, m.createdAt, " +
+           "u.id, u.name, u.role, m.sentBySystemUserId, m.sentByName) " +
+           "FROM ConcernMessage m LEFT JOIN m.sentBy u " +
+           "WHERE m.concern.id = :concernId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<ConcernMessageDto> findThreadPageBefore(@Param("concernId") Long concernId,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Pageable pageable);
+}
@@ -8,6 +8,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -37,5 +39,21 @@ public interface ConfirmedWorkerRepository extends JpaRepository<ConfirmedWorker
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
-}
 
+    /**
+     * Of the given worker user ids, the ones confirmed on a request that is not COMPLETED,
+     * has not ended yet and only ends after startDate (so they are busy when new work would start).
+     */
+    @Query("SELECT DISTINCT cw.worker.id FROM ConfirmedWorker cw " +
+           "WHERE cw.worker.id IN :workerIds " +
+           "AND cw.request.endDate >= CURRENT_DATE AND cw.request.endDate > :startDate " +
+           "AND cw.request.status != 'COMPLETED'")
+    List<Long> findWorkerUserIdsBusyAfter(@Param("workerIds") Collection<Long> workerIds,
+                                          @Param("startDate") LocalDate startDate);
+
+    // (worker user id, confirmations since) for ranking workers by recent responsiveness
+    @Query("SELECT cw.worker.id, COUNT(cw) FROM ConfirmedWorker cw " +
+           "WHERE cw.worker.id IN :workerIds AND cw.confirmedAt >= :since GROUP BY cw.worker.id")
+    List<Object[]> countConfirmationsSince(@Param("workerIds") Collection<Long> workerIds,
+                                           @Param("since") LocalDateTime since);
+}
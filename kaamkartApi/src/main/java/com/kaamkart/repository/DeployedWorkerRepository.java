@@ -8,6 +8,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -65,5 +67,59 @@ public interface DeployedWorkerRepository extends JpaRepository<DeployedWorker,
            "AND r.end_date >= CURRENT_DATE " +
            "AND r.status != 'COMPLETED'", nativeQuery = true)
     List<Object[]> findActiveDeploymentsForWorker(@Param("workerId") Long workerId);
-}
 
+    /**
+     * Of the given worker user ids, the ones still deployed on a request that is not COMPLETED,
+     * has not ended yet and only ends after startDate (so they are busy when new work would start).
+     * Bulk form of the per-worker hasActiveDeployment / findByWorkerOrderByDeployedAtDesc checks.
+     */
+    @Query("SELECT DISTINCT dw.worker.id FROM DeployedWorker dw " +
+           "WHERE dw.worker.id IN :workerIds " +
+           "AND dw.request.endDate >= CURRENT_DATE AND dw.request.endDate > :startDate " +
+           "AND dw.request.status != 'COMPLETED'")
+    List<Long> findWorkerUserIdsBusyAfter(@Param("workerIds") Collection<Long> workerIds,
+                                          @Param("startDate") LocalDate startDate);
+
+    @Query("SELECT dw.worker.id FROM DeployedWorker dw WHERE dw.request.id = :requestId")
+    List<Long> findWorkerUserIdsByRequestId(@Param("requestId") Long requestId);
+
+    /**
+     * One page of a worker's work history: deployed requests plus confirmed requests the worker was
+     * not deployed on, newest first. Keyset-paginated on (event date, request id); each branch compares
+     * and orders on its own columns, so it is served by its (worker_id, date, request_id) index and
+     * limited before the merge - the cost of a page does not grow with the length of the history.
+     * Columns: type, request_id, event_at, work_type, status, start_date, end_date, location_latitude,
+     * location_longitude, location_address, location_landmark, customer id, customer name, customer phone
+     */
+    @Query(value = "SELECT h.type, h.request_id, h.event_at, h.work_type, h.status, h.start_date, h.end_date, " +
+           "h.location_latitude, h.location_longitude, h.location_address, h.location_landmark, " +
+           "c.id, c.name, c.phone FROM (" +
+           "(SELECT 'deployed' AS type, dw.request_id AS request_id, dw.deployed_at AS event_at, r.work_type, r.status, " +
+           "r.start_date, r.end_date, r.location_latitude, r.location_longitude, r.location_address, " +
+           "r.location_landmark, r.customer_id FROM deployed_workers dw " +
+           "INNER JOIN requests r ON dw.request_id = r.id " +
+           "WHERE dw.worker_id = :workerId AND :includeDeployed = true AND r.status IN (:statuses) " +
+           "AND (dw.deployed_at, dw.request_id) < (:cursorAt, :cursorRequestId) " +
+           "ORDER BY dw.deployed_at DESC, dw.request_id DESC LIMIT :limit) " +
+           "UNION ALL " +
+           "(SELECT 'confirmed' AS type, cw.request_id AS request_id, cw.confirmed_at AS event_at, r.work_type, r.status, " +
+           "r.start_date, r.end_date, r.location_latitude, r.location_longitude, r.location_address, " +
+           "r.location_landmark, r.customer_id FROM confirmed_workers cw " +
+           "INNER JOIN requests r ON cw.request_id = r.id " +
+           "WHERE cw.worker_id = :workerId AND :includeConfirmed = true AND r.status IN (:statuses) " +
+           "AND (cw.confirmed_at, cw.request_id) < (:cursorAt, :cursorRequestId) " +
+           "AND NOT EXISTS (SELECT 1 FROM deployed_workers d WHERE d.worker_id = cw.worker_id AND d.request_id = cw.request_id) " +
+           "ORDER BY cw.confirmed_at DESC, cw.request_id DESC LIMIT :limit)" +
+           ") h INNER JOIN users c ON h.customer_id = c.id " +
+           "ORDER BY h.event_at DESC, h.request_id DESC LIMIT :limit", nativeQuery = true)
+    List<Object[]> findWorkHistoryPage(@Param("workerId") Long workerId,
+                                       @Param("statuses") List<String> statuses,
+                                       @Param("includeDeployed") boolean includeDeployed,
+                                       @Param("includeConfirmed") boolean includeConfirmed,
+                                       @Param("cursorAt") LocalDateTime cursorAt,
+                                       @Param("cursorRequestId") Long cursorRequestId,
+                                       @Param("limit") int limit);
+
+    @Query("SELECT DISTINCT dw.worker.id FROM DeployedWorker dw WHERE dw.request.id IN :requestIds")
+    List<Long> findWorkerUserIdsByRequestIds(@Param("requestIds") Collection<Long> requestIds);
+}
@@ -0,0 +1,25 @@
+package com.kaamkart.repository;
+
+import com.kaamkart.model.GeocodeTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GeocodeTaskRepository extends JpaRepository<GeocodeTask, Long> {
+    
+    Optional<GeocodeTask> findByTargetTypeAndTargetId(GeocodeTask.TargetType targetType, Long targetId);
+    
+    @Query("SELECT t FROM GeocodeTask t WHERE t.status = :status AND t.nextAttemptAt <= :now ORDER BY t.nextAttemptAt ASC")
+    List<GeocodeTask> findDueTasks(@Param("status") GeocodeTask.TaskStatus status,
+                                   @Param("now") LocalDateTime now,
+                                   Pageable pageable);
+    
+    long countByStatus(GeocodeTask.TaskStatus status);
+}
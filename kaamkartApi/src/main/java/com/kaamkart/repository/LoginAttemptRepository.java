@@ -0,0 +1,33 @@
+package com.kaamkart.repository;
+
+import com.kaamkart.model.LoginAttempt;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, Long> {
+
+    long countByThrottleKeyAndAttemptedAtAfter(String throttleKey, LocalDateTime since);
+
+    // Newest first, so the (limit)th entry tells when the key drops back under the limit
+    @Query("SELECT a.attemptedAt FROM LoginAttempt a WHERE a.throttleKey = :key AND a.attemptedAt > :since " +
+           "ORDER BY a.attemptedAt DESC")
+    List<LocalDateTime> findRecentAttemptTimes(@Param("key") String throttleKey,
+                                               @Param("since") LocalDateTime since,
+                                               Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM LoginAttempt a WHERE a.throttleKey = :key")
+    int deleteByKey(@Param("key") String throttleKey);
+
+    @Modifying
+    @Query("DELETE FROM LoginAttempt a WHERE a.attemptedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
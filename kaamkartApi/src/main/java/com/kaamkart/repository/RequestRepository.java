@@ -5,9 +5,15 @@ import com.kaamkart.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RequestRepository extends JpaRepository<Request, Long> {
@@ -20,7 +26,65 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     @Query("SELECT DISTINCT r FROM Request r " +
            "WHERE r.status IN :statuses")
     List<Request> findByStatusIn(@Param("statuses") List<Request.RequestStatus> statuses);
+
+    // Requests in the given statuses sharing a bit with the worker's type mask; rows whose mask is missing or
+    // has uninterned types (negative) are included too and must be re-checked with WorkerTypeRegistry.hasAnyType
+    @Query(value = "SELECT * FROM requests r WHERE r.status IN (:statuses) " +
+                   "AND ((r.worker_types_mask & :mask) <> 0 OR r.worker_types_mask IS NULL OR r.worker_types_mask < 0)",
+           nativeQuery = true)
+    List<Request> findByStatusInAndTypeMask(@Param("statuses") List<String> statuses, @Param("mask") long mask);
     
     List<Request> findByStatusOrderByCreatedAtDesc(Request.RequestStatus status);
-}
 
+    // Keyset page of (id, address) rows that have an address but no coordinates yet (geocoding backfill)
+    @Query("SELECT r.id, r.location.address FROM Request r " +
+           "WHERE r.id > :afterId AND (r.location.latitude IS NULL OR r.location.longitude IS NULL) " +
+           "AND r.location.address IS NOT NULL AND (r.locationPending IS NULL OR r.locationPending = false) ORDER BY r.id")
+    List<Object[]> findMissingCoordinatesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Request r SET r.location.latitude = :latitude, r.location.longitude = :longitude " +
+           "WHERE r.id IN :ids AND (r.location.latitude IS NULL OR r.location.longitude IS NULL)")
+    int fillMissingCoordinates(@Param("ids") List<Long> ids, @Param("latitude") Double latitude, @Param("longitude") Double longitude);
+
+    @Query("SELECT r.customer.id FROM Request r WHERE r.id = :requestId")
+    Optional<Long> findCustomerIdById(@Param("requestId") Long requestId);
+
+    // (request id, worker type) pairs for a page of requests, without loading the requests
+    @Query("SELECT r.id, wt FROM Request r JOIN r.workerTypes wt WHERE r.id IN :requestIds")
+    List<Object[]> findWorkerTypesByRequestIds(@Param("requestIds") Collection<Long> requestIds);
+
+    // Conditional status change; 0 when another transaction already moved the request on
+    @Modifying
+    @Query("UPDATE Request r SET r.status = :newStatus WHERE r.id = :id AND r.status = :expected")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("expected") Request.RequestStatus expected,
+                         @Param("newStatus") Request.RequestStatus newStatus);
+
+    // Lifecycle sweeper: ids of requests in the given statuses whose work period ended before today
+    @Query("SELECT r.id FROM Request r WHERE r.status IN :statuses AND r.endDate < :today ORDER BY r.id")
+    List<Long> findIdsByStatusInAndEndDateBefore(@Param("statuses") Collection<Request.RequestStatus> statuses,
+                                                 @Param("today") LocalDate today, Pageable pageable);
+
+    // Locks the rows among ids that are still in one of the statuses; a guarded update in the same
+    // transaction then changes exactly these rows
+    @Query(value = "SELECT id FROM requests WHERE id IN (:ids) AND status IN (:statuses) ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockIdsInStatuses(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<String> statuses);
+
+    // Status guard so a request changed concurrently (e.g. just deployed) is left alone
+    @Modifying
+    @Query("UPDATE Request r SET r.status = :newStatus WHERE r.id IN :ids AND r.status IN :statuses")
+    int updateStatusForIds(@Param("ids") Collection<Long> ids,
+                           @Param("statuses") Collection<Request.RequestStatus> statuses,
+                           @Param("newStatus") Request.RequestStatus newStatus);
+
+    @Query("SELECT r.id FROM Request r WHERE r.status = :status AND r.endDate < :today " +
+           "AND r.workersReleasedAt IS NULL ORDER BY r.id")
+    List<Long> findIdsPendingWorkerRelease(@Param("status") Request.RequestStatus status,
+                                           @Param("today") LocalDate today, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Request r SET r.workersReleasedAt = :releasedAt WHERE r.id IN :ids")
+    int markWorkersReleased(@Param("ids") Collection<Long> ids, @Param("releasedAt") LocalDateTime releasedAt);
+}
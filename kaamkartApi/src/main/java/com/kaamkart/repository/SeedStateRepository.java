@@ -0,0 +1,9 @@
+package com.kaamkart.repository;
+
+import com.kaamkart.model.SeedState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SeedStateRepository extends JpaRepository<SeedState, String> {
+}
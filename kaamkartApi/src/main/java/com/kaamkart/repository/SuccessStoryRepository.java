@@ -1,8 +1,12 @@
 package com.kaamkart.repository;
 
+import com.kaamkart.config.CacheRegions;
 import com.kaamkart.model.SuccessStory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,8 +14,12 @@ import java.util.List;
 @Repository
 public interface SuccessStoryRepository extends JpaRepository<SuccessStory, Long> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     List<SuccessStory> findByIsActiveTrueOrderByDisplayOrderAscCreatedAtDesc();
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     @Query("SELECT s FROM SuccessStory s WHERE s.isActive = true ORDER BY s.displayOrder ASC, s.createdAt DESC")
     List<SuccessStory> findActiveStoriesOrdered();
 }
@@ -1,16 +1,50 @@
 package com.kaamkart.repository;
 
+import com.kaamkart.config.CacheRegions;
 import com.kaamkart.model.SystemUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SystemUserRepository extends JpaRepository<SystemUser, Long> {
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     Optional<SystemUser> findByEmail(String email);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     Optional<SystemUser> findByEmailIgnoreCase(String email);
     boolean existsByEmail(String email);
     boolean existsByEmailIgnoreCase(String email);
-}
 
+    // Keyset page of (id, address) rows that have an address but no coordinates yet (geocoding backfill)
+    @Query("SELECT s.id, s.location.address FROM SystemUser s " +
+           "WHERE s.id > :afterId AND (s.location.latitude IS NULL OR s.location.longitude IS NULL) " +
+           "AND s.location.address IS NOT NULL ORDER BY s.id")
+    List<Object[]> findMissingCoordinatesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE SystemUser s SET s.location.latitude = :latitude, s.location.longitude = :longitude " +
+           "WHERE s.id IN :ids AND (s.location.latitude IS NULL OR s.location.longitude IS NULL)")
+    int fillMissingCoordinates(@Param("ids") List<Long> ids, @Param("latitude") Double latitude, @Param("longitude") Double longitude);
+
+    // Lower-case legacy mixed-case emails so logins need a single exact (indexed) lookup;
+    // rows whose lower-cased email matches any other row (in any case) are left alone, see findEmailCollisions
+    @Modifying
+    @Query("UPDATE SystemUser s SET s.email = LOWER(TRIM(s.email)) WHERE s.email <> LOWER(TRIM(s.email)) " +
+           "AND NOT EXISTS (SELECT o.id FROM SystemUser o WHERE o.id <> s.id AND LOWER(TRIM(o.email)) = LOWER(TRIM(s.email)))")
+    int normalizeEmails();
+
+    // Emails held by several rows once lower-cased; these accounts have to be merged by hand
+    @Query("SELECT LOWER(TRIM(s.email)) FROM SystemUser s GROUP BY LOWER(TRIM(s.email)) HAVING COUNT(s.id) > 1")
+    List<String> findEmailCollisions();
+}
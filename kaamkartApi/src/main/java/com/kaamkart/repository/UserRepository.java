@@ -2,13 +2,39 @@ package com.kaamkart.repository;
 
 import com.kaamkart.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
 
+    // Keyset page of (id, address) rows that have an address but no coordinates yet (geocoding backfill)
+    @Query("SELECT u.id, u.location.address FROM User u " +
+           "WHERE u.id > :afterId AND (u.location.latitude IS NULL OR u.location.longitude IS NULL) " +
+           "AND u.location.address IS NOT NULL ORDER BY u.id")
+    List<Object[]> findMissingCoordinatesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE User u SET u.location.latitude = :latitude, u.location.longitude = :longitude " +
+           "WHERE u.id IN :ids AND (u.location.latitude IS NULL OR u.location.longitude IS NULL)")
+    int fillMissingCoordinates(@Param("ids") List<Long> ids, @Param("latitude") Double latitude, @Param("longitude") Double longitude);
+
+    // Lower-case legacy mixed-case emails so logins need a single exact (indexed) lookup;
+    // rows whose lower-cased email matches any other row (in any case) are left alone, see findEmailCollisions
+    @Modifying
+    @Query("UPDATE User u SET u.email = LOWER(TRIM(u.email)) WHERE u.email <> LOWER(TRIM(u.email)) " +
+           "AND NOT EXISTS (SELECT o.id FROM User o WHERE o.id <> u.id AND LOWER(TRIM(o.email)) = LOWER(TRIM(u.email)))")
+    int normalizeEmails();
+
+    // Emails held by several rows once lower-cased; these accounts have to be merged by hand
+    @Query("SELECT LOWER(TRIM(u.email)) FROM User u GROUP BY LOWER(TRIM(u.email)) HAVING COUNT(u.id) > 1")
+    List<String> findEmailCollisions();
+}
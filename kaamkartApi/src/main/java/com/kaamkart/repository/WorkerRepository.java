@@ -1,12 +1,17 @@
 package com.kaamkart.repository;
 
+import com.kaamkart.model.Request;
 import com.kaamkart.model.User;
 import com.kaamkart.model.Worker;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +23,40 @@ public interface WorkerRepository extends JpaRepository<Worker, Long> {
     @Query("SELECT w FROM Worker w WHERE :workerType MEMBER OF w.workerTypes AND w.available = true AND w.verified = true")
     List<Worker> findAvailableWorkersByWorkerType(@Param("workerType") String workerType);
 
+    // Available, verified workers sharing a bit with the mask; rows whose mask is missing or has
+    // uninterned types (negative) are included too and must be re-checked with WorkerTypeRegistry.hasAnyType
+    @Query(value = "SELECT * FROM workers w WHERE w.available = true AND w.verified = true " +
+                   "AND ((w.worker_types_mask & :mask) <> 0 OR w.worker_types_mask IS NULL OR w.worker_types_mask < 0)",
+           nativeQuery = true)
+    List<Worker> findAvailableWorkersByTypeMask(@Param("mask") long mask);
+
     List<Worker> findAllByOrderByCreatedAtDesc();
-}
 
+    // Keyset page of (id, address) rows that have an address but no coordinates yet (geocoding backfill)
+    @Query("SELECT w.id, w.currentLocation.address FROM Worker w " +
+           "WHERE w.id > :afterId AND (w.currentLocation.latitude IS NULL OR w.currentLocation.longitude IS NULL) " +
+           "AND w.currentLocation.address IS NOT NULL ORDER BY w.id")
+    List<Object[]> findMissingCoordinatesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Worker w SET w.currentLocation.latitude = :latitude, w.currentLocation.longitude = :longitude " +
+           "WHERE w.id IN :ids AND (w.currentLocation.latitude IS NULL OR w.currentLocation.longitude IS NULL)")
+    int fillMissingCoordinates(@Param("ids") List<Long> ids, @Param("latitude") Double latitude, @Param("longitude") Double longitude);
+
+    // (userId, latitude, longitude, address) of the given workers without loading the entities
+    @Query("SELECT w.user.id, w.currentLocation.latitude, w.currentLocation.longitude, w.currentLocation.address " +
+           "FROM Worker w WHERE w.user.id IN :userIds")
+    List<Object[]> findCurrentLocationsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Verified workers that are marked unavailable but have no deployment still running (lifecycle sweeper)
+    @Query("SELECT w.user.id FROM Worker w WHERE w.user.id IN :userIds AND w.available = false AND w.verified = true " +
+           "AND NOT EXISTS (SELECT dw.id FROM DeployedWorker dw WHERE dw.worker.id = w.user.id " +
+           "AND dw.request.status = :activeStatus AND dw.request.endDate >= :today)")
+    List<Long> findReleasableUserIds(@Param("userIds") Collection<Long> userIds,
+                                     @Param("activeStatus") Request.RequestStatus activeStatus,
+                                     @Param("today") LocalDate today);
+
+    @Modifying
+    @Query("UPDATE Worker w SET w.available = true WHERE w.user.id IN :userIds AND w.available = false")
+    int markAvailableByUserIds(@Param("userIds") Collection<Long> userIds);
+}
@@ -1,8 +1,12 @@
 package com.kaamkart.repository;
 
+import com.kaamkart.config.CacheRegions;
 import com.kaamkart.model.WorkerType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,12 +14,18 @@ import java.util.Optional;
 
 @Repository
 public interface WorkerTypeRepository extends JpaRepository<WorkerType, Long> {
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     Optional<WorkerType> findByName(String name);
     boolean existsByName(String name);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     @Query("SELECT wt FROM WorkerType wt WHERE wt.isActive = true ORDER BY wt.displayOrder ASC, wt.name ASC")
     List<WorkerType> findActiveWorkerTypesOrdered();
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)})
     List<WorkerType> findAllByOrderByDisplayOrderAscNameAsc();
 }
 
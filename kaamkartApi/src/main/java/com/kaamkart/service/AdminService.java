@@ -9,6 +9,9 @@ import com.kaamkart.repository.RequestRepository;
 import com.kaamkart.repository.SystemUserRepository;
 import com.kaamkart.repository.UserRepository;
 import com.kaamkart.repository.WorkerRepository;
+import com.kaamkart.service.WorkerRankingService.RankedWorker;
+import com.kaamkart.util.BoundedCache;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +19,8 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -51,12 +56,54 @@ public class AdminService {
     private DeployedWorkerRepository deployedWorkerRepository;
 
     @Autowired
-    private PinCodeGeocodingService pinCodeGeocodingService;
+    private GeocodingEnrichmentService geocodingEnrichmentService;
+
+    @Autowired
+    private WorkerLocationIngestionService workerLocationIngestionService;
+
+    @Autowired
+    private WorkerRankingService workerRankingService;
+
+    @Autowired
+    private WorkerTypeRegistry workerTypeRegistry;
+
+    @Autowired
+    private ClusterCacheService clusterCacheService;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private WorkerCellNotificationService workerCellNotificationService;
+
+    // Admin id -> super admin flag (checked on almost every admin endpoint)
+    private BoundedCache<String, Boolean> superAdminFlags;
+
+    @PostConstruct
+    public void initCaches() {
+        superAdminFlags = clusterCacheService.region(ClusterCacheService.ADMIN_CONTEXT, 1000, 600000);
+        // System users are also in the second-level cache of each node; drop that copy first, together
+        // with the cached reference queries (evictEntity), e.g. an empty findByEmail for an admin created elsewhere
+        clusterCacheService.addInvalidationListener(ClusterCacheService.ADMIN_CONTEXT, (key, remote) -> {
+            if (!remote) {
+                return;
+            }
+            if (key == null) {
+                secondLevelCacheService.evictEntity(SystemUser.class, null);
+            } else if (key.startsWith("-")) {
+                secondLevelCacheService.evictEntity(SystemUser.class, Math.abs(Long.parseLong(key)));
+            }
+        });
+    }
 
     private static final double EARTH_RADIUS_KM = 6371.0;
     private static final double ADMIN_RADIUS_KM = 20.0; // 20km radius for admin
     private static final double WORKER_NOTIFICATION_RADIUS_KM = 20.0; // 20km radius for worker notifications
 
+    @Transactional(readOnly = true)
     public List<Request> getPendingApprovalRequests(Long adminId, String search, String sortBy, String sortOrder, Boolean locationFilter) {
         List<Request> requests = requestRepository.findByStatusOrderByCreatedAtDesc(Request.RequestStatus.PENDING_ADMIN_APPROVAL);
         
@@ -114,6 +161,7 @@ public class AdminService {
         return requests;
     }
 
+    @Transactional(readOnly = true)
     public List<Request> getActiveRequests(Long adminId, String search, String sortBy, String sortOrder, Boolean locationFilter) {
         List<Request.RequestStatus> activeStatuses = Arrays.asList(
                 Request.RequestStatus.NOTIFIED,
@@ -180,6 +228,7 @@ public class AdminService {
         return requests;
     }
 
+    @Transactional(readOnly = true)
     public List<Request> getAllRequests(String search, String sortBy, String sortOrder, Long adminId) {
         List<Request> allRequests = requestRepository.findAll();
         
@@ -246,51 +295,87 @@ public class AdminService {
 
         // Update status to approved
         request.setStatus(Request.RequestStatus.ADMIN_APPROVED);
+        // A geocoding failure from an earlier approval is retried below if coordinates are still missing
+        request.setLocationError(null);
         Request savedRequest = requestRepository.save(request);
 
-        // Find nearest available and verified workers for all required labor types
+        // No coordinates yet but a pin code is known - geocode in the background and match workers once it resolves
+        if (savedRequest.getLocation() == null || savedRequest.getLocation().getLatitude() == null || savedRequest.getLocation().getLongitude() == null) {
+            String pinCode = extractPinCode(savedRequest.getLocation());
+            if (pinCode != null && pinCode.matches("\\d{6}")) {
+                geocodingEnrichmentService.enqueue(GeocodeTask.TargetType.REQUEST, savedRequest.getId(), pinCode);
+                savedRequest.setLocationPending(true);
+                logger.info("⏳ Request {} approved without lat/long. Worker matching deferred until pin code {} is geocoded.",
+                        savedRequest.getId(), pinCode);
+                return requestRepository.save(savedRequest);
+            }
+        }
+
+        // Matching and notifying workers runs as a background job, committed together with the approval
+        jobQueueService.enqueue(JobQueueService.MATCHING_QUEUE, WorkerMatchingJobHandler.TYPE, savedRequest.getId());
+        return savedRequest;
+    }
+
+    /**
+     * Run worker matching for an approved request (background job, see WorkerMatchingJobHandler).
+     * Also reached once the coordinates of a request approved without them have been geocoded.
+     */
+    @Transactional
+    public Request runDeferredMatching(Long requestId) {
+        // Claim the request before matching: of two concurrent runs (approval and geocode jobs, or a job taken
+        // again after its lease expired) only one moves it out of ADMIN_APPROVED, the other waits for the row
+        // lock and then skips. Notifications are only sent once the claiming transaction has committed.
+        int claimed = requestRepository.transitionStatus(requestId,
+                Request.RequestStatus.ADMIN_APPROVED, Request.RequestStatus.NOTIFIED);
+        Request request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new RuntimeException("Request not found"));
+
+        if (claimed == 0) {
+            logger.info("Skipping deferred matching for request {} - status is {}", requestId, request.getStatus());
+            return request;
+        }
+        return notifyMatchingWorkers(request);
+    }
+
+    private Request notifyMatchingWorkers(Request savedRequest) {
+        if (workerCellNotificationService.isEnabled()) {
+            // One message per worker type and geocell instead of one per worker; clients apply the exact radius
+            workerCellNotificationService.publish(savedRequest, WORKER_NOTIFICATION_RADIUS_KM);
+            savedRequest.setStatus(Request.RequestStatus.NOTIFIED);
+            return requestRepository.save(savedRequest);
+        }
+
+        // Find nearest available and verified workers for all required labor types:
+        // one bitmask query for interned types, a name lookup only for types without a bit
         Set<Worker> allAvailableWorkers = new HashSet<>();
-        for (String workerType : savedRequest.getWorkerTypes()) {
-            List<Worker> workers = workerRepository.findAvailableWorkersByWorkerType(workerType);
-            allAvailableWorkers.addAll(workers);
+        long requestMask = workerTypeRegistry.maskOf(savedRequest.getWorkerTypes());
+        long internedMask = requestMask & ~WorkerTypeRegistry.UNINTERNED_FLAG;
+        if (internedMask != 0) {
+            for (Worker worker : workerRepository.findAvailableWorkersByTypeMask(internedMask)) {
+                if (workerTypeRegistry.hasAnyType(worker.getWorkerTypesMask(), worker.getWorkerTypes(),
+                        requestMask, savedRequest.getWorkerTypes())) {
+                    allAvailableWorkers.add(worker);
+                }
+            }
+        }
+        for (String workerType : workerTypeRegistry.uninterned(savedRequest.getWorkerTypes())) {
+            allAvailableWorkers.addAll(workerRepository.findAvailableWorkersByWorkerType(workerType));
         }
         List<Worker> availableWorkers = new ArrayList<>(allAvailableWorkers);
+        // Use the latest GPS positions, which may not have been flushed to the workers table yet
+        Map<Long, Location> workerLocations = workerLocationIngestionService.currentLocations(availableWorkers);
 
         // Calculate distances and sort
         // CRITICAL: Only include verified workers - unverified workers should NEVER receive notifications
         // CRITICAL: Only include workers within 20km radius of the request location
         final Request finalRequest = savedRequest;
         
-        // Validate request location first - try to geocode if missing lat/long but has pin code
+        // Validate request location first
         if (finalRequest.getLocation() == null || finalRequest.getLocation().getLatitude() == null || finalRequest.getLocation().getLongitude() == null) {
-            // Try to geocode from pin code if available
-            String pinCode = extractPinCode(finalRequest.getLocation());
-            if (pinCode != null && pinCode.matches("\\d{6}")) {
-                logger.info("📍 Request {} has no lat/long but has pin code {}. Attempting geocoding...", 
-                        finalRequest.getId(), pinCode);
-                Location geocodedLocation = pinCodeGeocodingService.getLocationFromPinCode(pinCode);
-                if (geocodedLocation != null && geocodedLocation.getLatitude() != null && geocodedLocation.getLongitude() != null) {
-                    // Update request location with geocoded coordinates
-                    finalRequest.getLocation().setLatitude(geocodedLocation.getLatitude());
-                    finalRequest.getLocation().setLongitude(geocodedLocation.getLongitude());
-                    if (geocodedLocation.getAddress() != null && !geocodedLocation.getAddress().startsWith("Pin Code:")) {
-                        finalRequest.getLocation().setAddress(geocodedLocation.getAddress());
-                    }
-                    savedRequest = requestRepository.save(finalRequest);
-                    logger.info("✅ Successfully geocoded request {} pin code {}: lat={}, lon={}", 
-                            finalRequest.getId(), pinCode, geocodedLocation.getLatitude(), geocodedLocation.getLongitude());
-                } else {
-                    logger.error("❌ CRITICAL: Request {} has no valid location (lat/long) and geocoding failed for pin code {}. Cannot calculate distances. Skipping worker notifications.", 
-                            finalRequest.getId(), pinCode);
-                    savedRequest.setStatus(Request.RequestStatus.NOTIFIED);
-                    return requestRepository.save(savedRequest);
-                }
-            } else {
-                logger.error("❌ CRITICAL: Request {} has no valid location (lat/long) and no valid pin code. Cannot calculate distances. Skipping worker notifications.", 
-                        finalRequest.getId());
-                savedRequest.setStatus(Request.RequestStatus.NOTIFIED);
-                return requestRepository.save(savedRequest);
-            }
+            logger.error("❌ CRITICAL: Request {} has no valid location (lat/long) and no valid pin code. Cannot calculate distances. Skipping worker notifications.", 
+                    finalRequest.getId());
+            savedRequest.setStatus(Request.RequestStatus.NOTIFIED);
+            return requestRepository.save(savedRequest);
         }
         
         double requestLat = finalRequest.getLocation().getLatitude();
@@ -318,7 +403,7 @@ public class AdminService {
                 finalRequest.getLocation().getAddress() != null ? finalRequest.getLocation().getAddress() : "N/A",
                 finalRequest.getId());
         
-        List<WorkerDistance> workersWithDistance = availableWorkers.stream()
+        List<RankedWorker> workersInRadius = availableWorkers.stream()
                 .filter(worker -> {
                     // First check: Worker MUST be verified by admin
                     if (worker.getVerified() == null || !worker.getVerified()) {
@@ -328,7 +413,8 @@ public class AdminService {
                         return false;
                     }
                     // Second check: Worker must have location
-                    if (worker.getCurrentLocation() == null || worker.getCurrentLocation().getLatitude() == null || worker.getCurrentLocation().getLongitude() == null) {
+                    Location workerLocation = workerLocations.get(worker.getId());
+                    if (workerLocation == null || workerLocation.getLatitude() == null || workerLocation.getLongitude() == null) {
                         logger.debug("Excluding worker {} (ID: {}) - no valid location (lat/long)", 
                                 worker.getUser().getName(), worker.getUser().getId());
                         return false;
@@ -336,21 +422,21 @@ public class AdminService {
                     return true;
                 })
                 .map(worker -> {
-                    double workerLat = worker.getCurrentLocation().getLatitude();
-                    double workerLon = worker.getCurrentLocation().getLongitude();
+                    double workerLat = workerLocations.get(worker.getId()).getLatitude();
+                    double workerLon = workerLocations.get(worker.getId()).getLongitude();
                     
                     // Validate coordinates are valid (not 0,0 which is in the ocean)
                     if (workerLat == 0.0 && workerLon == 0.0) {
                         logger.warn("⚠️ Worker {} (ID: {}) has invalid location (0,0) - excluding from notifications", 
                                 worker.getUser().getName(), worker.getUser().getId());
-                        return new WorkerDistance(worker, Double.MAX_VALUE); // Set to max to exclude
+                        return new RankedWorker(worker, Double.MAX_VALUE); // Set to max to exclude
                     }
                     
                     // Validate coordinates are within valid ranges
                     if (Math.abs(workerLat) > 90 || Math.abs(workerLon) > 180) {
                         logger.warn("⚠️ Worker {} (ID: {}) has invalid coordinates (lat: {}, lon: {}) - excluding from notifications", 
                                 worker.getUser().getName(), worker.getUser().getId(), workerLat, workerLon);
-                        return new WorkerDistance(worker, Double.MAX_VALUE); // Set to max to exclude
+                        return new RankedWorker(worker, Double.MAX_VALUE); // Set to max to exclude
                     }
                     
                     double distance = calculateDistance(requestLat, requestLon, workerLat, workerLon);
@@ -359,13 +445,13 @@ public class AdminService {
                     if (Double.isNaN(distance) || Double.isInfinite(distance)) {
                         logger.error("❌ Invalid distance calculation for worker {} (ID: {}) - result: {} - excluding from notifications", 
                                 worker.getUser().getName(), worker.getUser().getId(), distance);
-                        return new WorkerDistance(worker, Double.MAX_VALUE); // Set to max to exclude
+                        return new RankedWorker(worker, Double.MAX_VALUE); // Set to max to exclude
                     }
                     
                     logger.info("📍 Worker {} (ID: {}) distance: {} km from request location (lat: {}, lon: {})", 
                             worker.getUser().getName(), worker.getUser().getId(), String.format("%.2f", distance),
                             workerLat, workerLon);
-                    return new WorkerDistance(worker, distance);
+                    return new RankedWorker(worker, distance);
                 })
                 .filter(wd -> {
                     // CRITICAL: Only include workers within 20km radius
@@ -405,43 +491,10 @@ public class AdminService {
                     }
                     return withinRadius;
                 })
-                .sorted(Comparator.comparing(WorkerDistance::getDistance))
-                .limit(finalRequest.getNumberOfWorkers() * 3) // Notify 3x the required workers
                 .collect(Collectors.toList());
 
         logger.info("📍 WORKER NOTIFICATION RADIUS FILTER: Found {} workers within {} km radius of request location (Request ID: {})", 
-                workersWithDistance.size(), WORKER_NOTIFICATION_RADIUS_KM, finalRequest.getId());
-
-        // Send notifications via WebSocket to workers who match the required labor types
-        // Only notify workers whose labor types match the request requirements
-        Map<String, Object> notificationData = new HashMap<>();
-        notificationData.put("requestId", finalRequest.getId());
-        notificationData.put("workerTypes", finalRequest.getWorkerTypes());
-        
-        // Include labor type requirements with worker counts
-        if (finalRequest.getWorkerTypeRequirements() != null && !finalRequest.getWorkerTypeRequirements().isEmpty()) {
-            List<Map<String, Object>> workerTypeReqs = finalRequest.getWorkerTypeRequirements().stream()
-                    .map(req -> {
-                        Map<String, Object> reqData = new HashMap<>();
-                        reqData.put("workerType", req.getWorkerType());
-                        reqData.put("numberOfWorkers", req.getNumberOfWorkers());
-                        return reqData;
-                    })
-                    .collect(Collectors.toList());
-            notificationData.put("workerTypeRequirements", workerTypeReqs);
-        }
-        
-        notificationData.put("workType", finalRequest.getWorkType());
-        notificationData.put("numberOfWorkers", finalRequest.getNumberOfWorkers());
-        notificationData.put("startDate", finalRequest.getStartDate() != null ? finalRequest.getStartDate().toString() : null);
-        notificationData.put("endDate", finalRequest.getEndDate() != null ? finalRequest.getEndDate().toString() : null);
-        notificationData.put("location", finalRequest.getLocation());
-        notificationData.put("requestLatitude", requestLat);
-        notificationData.put("requestLongitude", requestLon);
-        notificationData.put("customerId", finalRequest.getCustomer().getId());
-        notificationData.put("customerName", finalRequest.getCustomer().getName());
-        notificationData.put("message", "New work request available in your area!");
-        notificationData.put("radiusLimitKm", WORKER_NOTIFICATION_RADIUS_KM);
+                workersInRadius.size(), WORKER_NOTIFICATION_RADIUS_KM, finalRequest.getId());
 
         // Get list of workers who are already deployed during this request's date range
         // This includes both deployed workers and confirmed workers (who are committed to work)
@@ -487,12 +540,76 @@ public class AdminService {
         }
         logger.info("Total committed worker IDs: {}", allCommittedWorkerIds);
 
+        // Rank only workers that can actually be notified, so the per-type quotas are filled with eligible workers
+        List<RankedWorker> eligibleInRadius = workersInRadius.stream()
+                .filter(wd -> !allCommittedWorkerIds.contains(wd.getUserId()))
+                .filter(wd -> wd.getWorker().getVerified() != null && wd.getWorker().getVerified())
+                .filter(wd -> wd.getWorker().getAvailable() != null && wd.getWorker().getAvailable())
+                .filter(wd -> wd.getWorker().getUser().getBlocked() == null || !wd.getWorker().getUser().getBlocked())
+                .collect(Collectors.toList());
+
+        // Same exclusion as the per-worker deployment/confirmation checks below, in two bulk queries:
+        // a worker whose active work only ends after this request starts is busy (no start date = busy while active)
+        Set<Long> busyWorkerIds = new HashSet<>();
+        if (!eligibleInRadius.isEmpty()) {
+            Set<Long> candidateUserIds = eligibleInRadius.stream()
+                    .map(RankedWorker::getUserId)
+                    .collect(Collectors.toSet());
+            java.time.LocalDate busyAfter = finalRequest.getStartDate() != null
+                    ? finalRequest.getStartDate()
+                    : java.time.LocalDate.now().minusDays(1);
+            busyWorkerIds.addAll(deployedWorkerRepository.findWorkerUserIdsBusyAfter(candidateUserIds, busyAfter));
+            busyWorkerIds.addAll(confirmedWorkerRepository.findWorkerUserIdsBusyAfter(candidateUserIds, busyAfter));
+        }
+        if (!busyWorkerIds.isEmpty()) {
+            logger.info("Excluding {} in-radius workers with active work ending after {}: {}",
+                    busyWorkerIds.size(), finalRequest.getStartDate(), busyWorkerIds);
+        }
+        List<RankedWorker> rankingCandidates = eligibleInRadius.stream()
+                .filter(wd -> !busyWorkerIds.contains(wd.getUserId()))
+                .collect(Collectors.toList());
+        List<RankedWorker> workersWithDistance = workerRankingService.selectWorkersToNotify(
+                finalRequest, rankingCandidates, WORKER_NOTIFICATION_RADIUS_KM);
+        logger.info("🏅 Selected {} of {} eligible in-radius workers by score for request {}",
+                workersWithDistance.size(), rankingCandidates.size(), finalRequest.getId());
+
+        // Send notifications via WebSocket to workers who match the required labor types
+        // Only notify workers whose labor types match the request requirements
+        Map<String, Object> notificationData = new HashMap<>();
+        notificationData.put("requestId", finalRequest.getId());
+        notificationData.put("workerTypes", finalRequest.getWorkerTypes());
+        
+        // Include labor type requirements with worker counts
+        if (finalRequest.getWorkerTypeRequirements() != null && !finalRequest.getWorkerTypeRequirements().isEmpty()) {
+            List<Map<String, Object>> workerTypeReqs = finalRequest.getWorkerTypeRequirements().stream()
+                    .map(req -> {
+                        Map<String, Object> reqData = new HashMap<>();
+                        reqData.put("workerType", req.getWorkerType());
+                        reqData.put("numberOfWorkers", req.getNumberOfWorkers());
+                        return reqData;
+                    })
+                    .collect(Collectors.toList());
+            notificationData.put("workerTypeRequirements", workerTypeReqs);
+        }
+        
+        notificationData.put("workType", finalRequest.getWorkType());
+        notificationData.put("numberOfWorkers", finalRequest.getNumberOfWorkers());
+        notificationData.put("startDate", finalRequest.getStartDate() != null ? finalRequest.getStartDate().toString() : null);
+        notificationData.put("endDate", finalRequest.getEndDate() != null ? finalRequest.getEndDate().toString() : null);
+        notificationData.put("location", finalRequest.getLocation());
+        notificationData.put("requestLatitude", requestLat);
+        notificationData.put("requestLongitude", requestLon);
+        notificationData.put("customerId", finalRequest.getCustomer().getId());
+        notificationData.put("customerName", finalRequest.getCustomer().getName());
+        notificationData.put("message", "New work request available in your area!");
+        notificationData.put("radiusLimitKm", WORKER_NOTIFICATION_RADIUS_KM);
+
         // Notify only workers whose labor types match the request AND are not already deployed AND are verified AND not blocked
         int notifiedCount = 0;
         int skippedDeployedCount = 0;
         int skippedUnverifiedCount = 0;
         int skippedBlockedCount = 0;
-        for (WorkerDistance wd : workersWithDistance) {
+        for (RankedWorker wd : workersWithDistance) {
             Worker worker = wd.getWorker();
             Long workerUserId = worker.getUser().getId();
             String workerEmail = worker.getUser().getEmail();
@@ -709,8 +826,8 @@ public class AdminService {
             }
             
             // Check if worker has at least one matching labor type
-            boolean hasMatchingWorkerType = finalRequest.getWorkerTypes().stream()
-                    .anyMatch(workerType -> worker.getWorkerTypes().contains(workerType));
+            boolean hasMatchingWorkerType = workerTypeRegistry.hasAnyType(worker.getWorkerTypesMask(), worker.getWorkerTypes(),
+                    requestMask, finalRequest.getWorkerTypes());
             
             if (hasMatchingWorkerType) {
                 // CRITICAL: Final safety checks before sending notification
@@ -800,15 +917,16 @@ public class AdminService {
                 
                 // CRITICAL: Final distance check before sending notification
                 // RECALCULATE distance from fresh data to ensure accuracy
-                if (worker.getCurrentLocation() == null || worker.getCurrentLocation().getLatitude() == null || 
-                    worker.getCurrentLocation().getLongitude() == null) {
+                Location workerLocation = workerLocations.get(worker.getId());
+                if (workerLocation == null || workerLocation.getLatitude() == null || 
+                    workerLocation.getLongitude() == null) {
                     logger.error("🚫🚫🚫 NO LOCATION: Worker {} (ID: {}, Email: {}) has no location - NOTIFICATION BLOCKED!", 
                             worker.getUser().getName(), worker.getUser().getId(), workerEmail);
                     continue; // Skip to next worker - DO NOT SEND NOTIFICATION
                 }
                 
-                double workerLat = worker.getCurrentLocation().getLatitude();
-                double workerLon = worker.getCurrentLocation().getLongitude();
+                double workerLat = workerLocation.getLatitude();
+                double workerLon = workerLocation.getLongitude();
                 
                 // Recalculate distance from fresh coordinates
                 double recalculatedDistance = calculateDistance(requestLat, requestLon, workerLat, workerLon);
@@ -872,10 +990,7 @@ public class AdminService {
                 logger.info("   Request: lat={}, lon={} | Worker: lat={}, lon={}", 
                         requestLat, requestLon, workerLat, workerLon);
                 
-                messagingTemplate.convertAndSend(
-                        "/topic/worker/" + worker.getUser().getId(),
-                        workerNotificationData
-                );
+                sendAfterCommit("/topic/worker/" + worker.getUser().getId(), workerNotificationData);
                 notifiedCount++;
                 logger.info("✓✓✓ NOTIFIED worker: {} (ID: {}, Email: {}) for request: {} at distance: {} km", 
                         worker.getUser().getName(), worker.getUser().getId(), workerEmail, finalRequest.getId(),
@@ -912,6 +1027,23 @@ public class AdminService {
         return requestRepository.save(finalRequest);
     }
 
+    /**
+     * Send once the current transaction has committed, so a rollback (and the job retry after it)
+     * never follows messages that were already delivered
+     */
+    private void sendAfterCommit(String destination, Object payload) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    messagingTemplate.convertAndSend(destination, payload);
+                }
+            });
+        } else {
+            messagingTemplate.convertAndSend(destination, payload);
+        }
+    }
+
     @Transactional
     public Request rejectRequest(Long requestId) {
         Request request = requestRepository.findById(requestId)
@@ -940,8 +1072,9 @@ public class AdminService {
     /**
      * Extract pin code from location address
      * Address format: "Pin Code: XXXXXX" or contains 6-digit pin code
+     * Package-private so the geocoding backfill reads pin codes the same way the radius filters do
      */
-    private String extractPinCode(Location location) {
+    String extractPinCode(Location location) {
         if (location == null || location.getAddress() == null) {
             return null;
         }
@@ -1054,24 +1187,6 @@ public class AdminService {
         return regionDiff <= 2;
     }
 
-    private static class WorkerDistance {
-        private final Worker worker;
-        private final double distance;
-
-        public WorkerDistance(Worker worker, double distance) {
-            this.worker = worker;
-            this.distance = distance;
-        }
-
-        public Worker getWorker() {
-            return worker;
-        }
-
-        public double getDistance() {
-            return distance;
-        }
-    }
-
     @Transactional
     public Object createUser(Long creatingAdminId, String name, String email, String phone, String secondaryPhone, String password, User.UserRole role, LocationDto location, List<String> workerTypes, Boolean isSuperAdmin) {
         // Normalize email to lowercase
@@ -1112,49 +1227,9 @@ public class AdminService {
             systemUser.setSuperAdmin(isSuperAdmin != null ? isSuperAdmin : false);
             systemUser.setBlocked(false);
 
-            // Always geocode pin code to get lat/long if pin code is provided
+            // Pin code is geocoded in the background so admin creation never waits on external APIs
             if (location != null && location.getPinCode() != null && !location.getPinCode().trim().isEmpty()) {
-                Location loc = new Location();
-                
-                // Always try to geocode the pin code to get coordinates
-                logger.info("📍 Geocoding pin code for admin: {}", location.getPinCode());
-                Location geocodedLocation = pinCodeGeocodingService.getLocationFromPinCode(location.getPinCode());
-                
-                if (geocodedLocation != null) {
-                    // Use geocoded coordinates (prefer geocoded over provided)
-                    if (geocodedLocation.getLatitude() != null && geocodedLocation.getLongitude() != null) {
-                        loc.setLatitude(geocodedLocation.getLatitude());
-                        loc.setLongitude(geocodedLocation.getLongitude());
-                        logger.info("✅ Geocoded admin pin code {}: lat={}, lon={}", 
-                                location.getPinCode(), geocodedLocation.getLatitude(), geocodedLocation.getLongitude());
-                    } else if (location.getLatitude() != null && location.getLongitude() != null) {
-                        // Fallback to provided coordinates if geocoding didn't return them
-                        loc.setLatitude(location.getLatitude());
-                        loc.setLongitude(location.getLongitude());
-                        logger.info("📍 Using provided coordinates for admin: lat={}, lon={}", 
-                                location.getLatitude(), location.getLongitude());
-                    }
-                    
-                    // Use geocoded address if it's better than what was provided
-                    if (geocodedLocation.getAddress() != null && !geocodedLocation.getAddress().startsWith("Pin Code:")) {
-                        loc.setAddress(geocodedLocation.getAddress());
-                    } else if (location.getAddress() != null && !location.getAddress().isEmpty()) {
-                        loc.setAddress(location.getAddress());
-                    } else {
-                        loc.setAddress(geocodedLocation.getAddress() != null ? geocodedLocation.getAddress() : "Pin Code: " + location.getPinCode());
-                    }
-                } else {
-                    // Geocoding failed, use provided data or pin code
-                    logger.warn("⚠️ Failed to geocode pin code {} for admin, using provided data or pin code only", location.getPinCode());
-                    loc.setLatitude(location.getLatitude());
-                    loc.setLongitude(location.getLongitude());
-                    if (location.getAddress() != null && !location.getAddress().isEmpty()) {
-                        loc.setAddress(location.getAddress());
-                    } else {
-                        loc.setAddress("Pin Code: " + location.getPinCode());
-                    }
-                }
-                
+                Location loc = buildInitialLocation(location);
                 loc.setLandmark(location.getLandmark());
                 systemUser.setLocation(loc);
                 logger.info("📍 Admin location set during creation: Address: {}, Pin Code: {}, Lat: {}, Lon: {}", 
@@ -1163,7 +1238,9 @@ public class AdminService {
                 logger.warn("⚠️ No pin code provided for admin, location will be auto-detected during first login");
             }
 
-            return systemUserRepository.save(systemUser);
+            SystemUser savedSystemUser = systemUserRepository.save(systemUser);
+            enqueueGeocodeIfMissing(GeocodeTask.TargetType.SYSTEM_USER, savedSystemUser.getId(), savedSystemUser.getLocation(), location);
+            return savedSystemUser;
         }
 
         // For customer and worker, create in User table
@@ -1175,49 +1252,9 @@ public class AdminService {
         user.setPassword(passwordEncoder.encode(password));
         user.setRole(role);
 
-        // Always geocode pin code to get lat/long if pin code is provided
+        // Pin code is geocoded in the background so user creation never waits on external APIs
         if (location != null && location.getPinCode() != null && !location.getPinCode().trim().isEmpty()) {
-            Location loc = new Location();
-            
-            // Always try to geocode the pin code to get coordinates
-            logger.info("📍 Geocoding pin code for user: {}", location.getPinCode());
-            Location geocodedLocation = pinCodeGeocodingService.getLocationFromPinCode(location.getPinCode());
-            
-            if (geocodedLocation != null) {
-                // Use geocoded coordinates (prefer geocoded over provided)
-                if (geocodedLocation.getLatitude() != null && geocodedLocation.getLongitude() != null) {
-                    loc.setLatitude(geocodedLocation.getLatitude());
-                    loc.setLongitude(geocodedLocation.getLongitude());
-                    logger.info("✅ Geocoded user pin code {}: lat={}, lon={}", 
-                            location.getPinCode(), geocodedLocation.getLatitude(), geocodedLocation.getLongitude());
-                } else if (location.getLatitude() != null && location.getLongitude() != null) {
-                    // Fallback to provided coordinates if geocoding didn't return them
-                    loc.setLatitude(location.getLatitude());
-                    loc.setLongitude(location.getLongitude());
-                    logger.info("📍 Using provided coordinates for user: lat={}, lon={}", 
-                            location.getLatitude(), location.getLongitude());
-                }
-                
-                // Use geocoded address if it's better than what was provided
-                if (geocodedLocation.getAddress() != null && !geocodedLocation.getAddress().startsWith("Pin Code:")) {
-                    loc.setAddress(geocodedLocation.getAddress());
-                } else if (location.getAddress() != null && !location.getAddress().isEmpty()) {
-                    loc.setAddress(location.getAddress());
-                } else {
-                    loc.setAddress(geocodedLocation.getAddress() != null ? geocodedLocation.getAddress() : "Pin Code: " + location.getPinCode());
-                }
-            } else {
-                // Geocoding failed, use provided data or pin code
-                logger.warn("⚠️ Failed to geocode pin code {} for user, using provided data or pin code only", location.getPinCode());
-                loc.setLatitude(location.getLatitude());
-                loc.setLongitude(location.getLongitude());
-                if (location.getAddress() != null && !location.getAddress().isEmpty()) {
-                    loc.setAddress(location.getAddress());
-                } else {
-                    loc.setAddress("Pin Code: " + location.getPinCode());
-                }
-            }
-            
+            Location loc = buildInitialLocation(location);
             user.setLocation(loc);
             logger.info("📍 User location set during creation: Address: {}, Pin Code: {}, Lat: {}, Lon: {}", 
                     loc.getAddress(), location.getPinCode(), loc.getLatitude(), loc.getLongitude());
@@ -1226,71 +1263,58 @@ public class AdminService {
         }
 
         user = userRepository.save(user);
+        enqueueGeocodeIfMissing(GeocodeTask.TargetType.USER, user.getId(), user.getLocation(), location);
 
         // If worker, create worker profile
         if (role == User.UserRole.WORKER && workerTypes != null && !workerTypes.isEmpty()) {
             Worker worker = new Worker();
             worker.setUser(user);
             worker.setWorkerTypes(workerTypes);
+            worker.setWorkerTypesMask(workerTypeRegistry.maskOf(workerTypes));
             // New workers are not verified by default, so set them as unavailable
             worker.setVerified(false);
             worker.setAvailable(false);
             // Note: Aadhaar number can be added later via profile update
-            // Always geocode pin code to get lat/long if pin code is provided
+            // Pin code is geocoded in the background so worker creation never waits on external APIs
             if (location != null && location.getPinCode() != null && !location.getPinCode().trim().isEmpty()) {
-                Location currentLocation = new Location();
-                
-                // Always try to geocode the pin code to get coordinates
-                logger.info("📍 Geocoding pin code for worker current location: {}", location.getPinCode());
-                Location geocodedLocation = pinCodeGeocodingService.getLocationFromPinCode(location.getPinCode());
-                
-                if (geocodedLocation != null) {
-                    // Use geocoded coordinates (prefer geocoded over provided)
-                    if (geocodedLocation.getLatitude() != null && geocodedLocation.getLongitude() != null) {
-                        currentLocation.setLatitude(geocodedLocation.getLatitude());
-                        currentLocation.setLongitude(geocodedLocation.getLongitude());
-                        logger.info("✅ Geocoded worker pin code {}: lat={}, lon={}", 
-                                location.getPinCode(), geocodedLocation.getLatitude(), geocodedLocation.getLongitude());
-                    } else if (location.getLatitude() != null && location.getLongitude() != null) {
-                        // Fallback to provided coordinates if geocoding didn't return them
-                        currentLocation.setLatitude(location.getLatitude());
-                        currentLocation.setLongitude(location.getLongitude());
-                        logger.info("📍 Using provided coordinates for worker: lat={}, lon={}", 
-                                location.getLatitude(), location.getLongitude());
-                    }
-                    
-                    // Use geocoded address if it's better than what was provided
-                    if (geocodedLocation.getAddress() != null && !geocodedLocation.getAddress().startsWith("Pin Code:")) {
-                        currentLocation.setAddress(geocodedLocation.getAddress());
-                    } else if (location.getAddress() != null && !location.getAddress().isEmpty()) {
-                        currentLocation.setAddress(location.getAddress());
-                    } else {
-                        currentLocation.setAddress(geocodedLocation.getAddress() != null ? geocodedLocation.getAddress() : "Pin Code: " + location.getPinCode());
-                    }
-                } else {
-                    // Geocoding failed, use provided data or pin code
-                    logger.warn("⚠️ Failed to geocode pin code {} for worker, using provided data or pin code only", location.getPinCode());
-                    currentLocation.setLatitude(location.getLatitude());
-                    currentLocation.setLongitude(location.getLongitude());
-                    if (location.getAddress() != null && !location.getAddress().isEmpty()) {
-                        currentLocation.setAddress(location.getAddress());
-                    } else {
-                        currentLocation.setAddress("Pin Code: " + location.getPinCode());
-                    }
-                }
-                
+                Location currentLocation = buildInitialLocation(location);
                 worker.setCurrentLocation(currentLocation);
                 logger.info("📍 Worker current location set during creation: Address: {}, Pin Code: {}, Lat: {}, Lon: {}", 
                         currentLocation.getAddress(), location.getPinCode(), currentLocation.getLatitude(), currentLocation.getLongitude());
             } else {
                 logger.warn("⚠️ No pin code provided for worker current location");
             }
-            workerRepository.save(worker);
+            Worker savedWorker = workerRepository.save(worker);
+            enqueueGeocodeIfMissing(GeocodeTask.TargetType.WORKER, savedWorker.getId(), savedWorker.getCurrentLocation(), location);
         }
 
         return user;
     }
 
+    /**
+     * Location from the provided data only; coordinates are filled in later by the geocoding worker
+     */
+    private Location buildInitialLocation(LocationDto location) {
+        Location loc = new Location();
+        loc.setLatitude(location.getLatitude());
+        loc.setLongitude(location.getLongitude());
+        if (location.getAddress() != null && !location.getAddress().isEmpty()) {
+            loc.setAddress(location.getAddress());
+        } else {
+            loc.setAddress("Pin Code: " + location.getPinCode());
+        }
+        return loc;
+    }
+
+    private void enqueueGeocodeIfMissing(GeocodeTask.TargetType targetType, Long targetId, Location saved, LocationDto location) {
+        if (location == null || location.getPinCode() == null || !location.getPinCode().trim().matches("\\d{6}")) {
+            return;
+        }
+        if (saved == null || saved.getLatitude() == null || saved.getLongitude() == null) {
+            geocodingEnrichmentService.enqueue(targetType, targetId, location.getPinCode().trim());
+        }
+    }
+
     @Transactional
     public User updateAdminPassword(String email, String newPassword) {
         User admin = userRepository.findByEmail(email)
@@ -1333,6 +1357,7 @@ public class AdminService {
             logger.info("Updated password for system user: {}", systemUser.getEmail());
         }
         
+        // ReferenceDataChangeListener invalidates the admin context and principal on every node
         return systemUserRepository.save(systemUser);
     }
 
@@ -1364,6 +1389,7 @@ public class AdminService {
         return userRepository.save(user);
     }
 
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllWorkers(Long adminId, String search, String sortBy, String sortOrder, Boolean locationFilter) {
         List<Worker> workers = workerRepository.findAll();
         
@@ -1464,6 +1490,7 @@ public class AdminService {
         }).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllCustomers(Long adminId, String search, String sortBy, String sortOrder, Boolean locationFilter) {
         List<User> customers = userRepository.findAll().stream()
                 .filter(user -> user.getRole() == User.UserRole.CUSTOMER)
@@ -1566,6 +1593,7 @@ public class AdminService {
         } else {
             // Worker is now unverified - make them unavailable
             worker.setAvailable(false);
+            workerCellNotificationService.revokeSubscriptions(worker.getUser().getId());
             logger.info("Worker {} (ID: {}) unverified and set to unavailable", 
                     worker.getUser().getName(), workerId);
         }
@@ -1585,7 +1613,13 @@ public class AdminService {
         }
         
         user.setBlocked(user.getBlocked() == null || !user.getBlocked());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        clusterCacheService.invalidate(ClusterCacheService.PRINCIPALS, userId);
+        clusterCacheService.invalidate(ClusterCacheService.ADMIN_CONTEXT, userId);
+        if (Boolean.TRUE.equals(savedUser.getBlocked())) {
+            workerCellNotificationService.revokeSubscriptions(userId);
+        }
+        return savedUser;
     }
 
     // Helper method to filter requests by admin radius
@@ -1885,7 +1919,14 @@ public class AdminService {
             logger.warn("isSuperAdmin: adminId is null");
             return false;
         }
-        
+        Boolean cached = superAdminFlags.getOrLoad(String.valueOf(adminId), () -> loadSuperAdminFlag(adminId));
+        return cached != null && cached;
+    }
+
+    /**
+     * Super admin flag from the database, or null if the admin does not exist (not cached)
+     */
+    private Boolean loadSuperAdminFlag(Long adminId) {
         logger.debug("isSuperAdmin check for adminId: {}", adminId);
         
         // Check if it's a system user (negative ID) or regular user
@@ -1901,7 +1942,7 @@ public class AdminService {
                 return isSuper;
             } else {
                 logger.warn("System user not found with ID: {}", systemUserId);
-                return false;
+                return null;
             }
         } else {
             // Regular user (legacy admin) - should not happen for system users, but handle it
@@ -1914,11 +1955,12 @@ public class AdminService {
                 return isSuper;
             } else {
                 logger.warn("Regular user not found with ID: {}", adminId);
-                return false;
+                return null;
             }
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllSystemUsers(Long adminId, String search, String sortBy, String sortOrder, Boolean locationFilter) {
         logger.debug("getAllSystemUsers called with adminId: {} (type: {})", 
                 adminId, adminId != null ? adminId.getClass().getName() : "null");
@@ -2276,6 +2318,7 @@ public class AdminService {
                     if (workerProfile != null) {
                         workerProfile.setAvailable(false);
                         workerRepository.save(workerProfile);
+                        workerCellNotificationService.revokeSubscriptions(userId);
                         logger.info("Worker {} (ID: {}) set to unavailable after deployment", 
                                 workerUser.getName(), userId);
                     }
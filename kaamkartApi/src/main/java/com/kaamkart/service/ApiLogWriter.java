@@ -0,0 +1,101 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.ApiLog;
+import com.kaamkart.repository.ApiLogRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write path for API log rows (see RequestLoggingInterceptor).
+ *
+ * Rows are buffered in memory and written every flush-interval-ms with one saveAll per chunk.
+ * ApiLog ids come from a pooled sequence, so each chunk goes out as a few JDBC batches instead of
+ * one transaction and one INSERT round trip per request.
+ * When the buffer is full (database down or very slow) new rows are dropped and counted
+ * rather than holding memory or request threads.
+ */
+@Service
+public class ApiLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiLogWriter.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private ApiLogRepository apiLogRepository;
+
+    @Value("${api-log.max-buffered:10000}")
+    private int maxBuffered;
+
+    private final ConcurrentLinkedQueue<ApiLog> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    public void enqueue(ApiLog apiLog) {
+        if (buffered.incrementAndGet() > maxBuffered) {
+            buffered.decrementAndGet();
+            if (dropped.incrementAndGet() % 1000 == 1) {
+                logger.warn("⚠️ API log buffer full ({} rows), dropping log rows", maxBuffered);
+            }
+            return;
+        }
+        buffer.add(apiLog);
+        enqueued.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${api-log.flush-interval-ms:1000}")
+    public void flush() {
+        while (!buffer.isEmpty()) {
+            List<ApiLog> chunk = new ArrayList<>(CHUNK_SIZE);
+            ApiLog apiLog;
+            while (chunk.size() < CHUNK_SIZE && (apiLog = buffer.poll()) != null) {
+                chunk.add(apiLog);
+            }
+            buffered.addAndGet(-chunk.size());
+            try {
+                apiLogRepository.saveAll(chunk);
+                written.addAndGet(chunk.size());
+            } catch (Exception e) {
+                // Log rows are best effort: a failed chunk is not retried
+                failed.addAndGet(chunk.size());
+                logger.error("Failed to save {} API logs to database: {}", chunk.size(), e.getMessage());
+                return;
+            }
+        }
+        flushes.incrementAndGet();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enqueued", enqueued.get());
+        stats.put("buffered", buffered.get());
+        stats.put("written", written.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failed", failed.get());
+        stats.put("flushes", flushes.get());
+        return stats;
+    }
+}
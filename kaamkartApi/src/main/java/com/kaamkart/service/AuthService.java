@@ -60,15 +60,25 @@ public class AuthService {
     @Autowired
     private IpGeolocationService ipGeolocationService;
 
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private WorkerTypeRegistry workerTypeRegistry;
+
     @Transactional
     public Map<String, Object> register(RegisterRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
+        String email = LoginThrottleService.normalizeEmail(request.getEmail());
+        if (userRepository.existsByEmail(email)) {
             throw new RuntimeException("User already exists");
         }
 
         User user = new User();
         user.setName(request.getName());
-        user.setEmail(request.getEmail());
+        user.setEmail(email);
         user.setPhone(request.getPhone());
         user.setSecondaryPhone(request.getSecondaryPhone());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
@@ -89,6 +99,7 @@ public class AuthService {
             Worker worker = new Worker();
             worker.setUser(user);
             worker.setWorkerTypes(request.getWorkerTypes());
+            worker.setWorkerTypesMask(workerTypeRegistry.maskOf(request.getWorkerTypes()));
             if (request.getLocation() != null) {
                 Location currentLocation = new Location();
                 currentLocation.setLatitude(request.getLocation().getLatitude());
@@ -118,19 +129,27 @@ public class AuthService {
                 throw new RuntimeException("Password is required");
             }
 
-            // Check if email exists in SystemUser table (admin) - reject admin login attempts
-            Optional<SystemUser> systemUserOpt = systemUserRepository.findByEmail(request.getEmail().trim().toLowerCase());
-            if (systemUserOpt.isPresent()) {
-                throw new RuntimeException("Please use the admin login page to access your account.");
-            }
+            String email = LoginThrottleService.normalizeEmail(request.getEmail());
+            // Rejected before any lookup or BCrypt work when the IP or account is over its limit
+            loginThrottleService.checkAllowed(clientIp, email);
 
             // Only check regular User table (for workers and customers)
-            User user = userRepository.findByEmail(request.getEmail().trim().toLowerCase())
-                    .orElseThrow(() -> new RuntimeException("Invalid credentials"));
+            Optional<User> userOpt = userRepository.findByEmail(email);
+            if (userOpt.isEmpty()) {
+                // Admin emails live in SystemUser table - point them to the admin login page
+                if (systemUserRepository.findByEmail(email).isPresent()) {
+                    throw new RuntimeException("Please use the admin login page to access your account.");
+                }
+                loginThrottleService.recordFailure(email);
+                throw new RuntimeException("Invalid credentials");
+            }
+            User user = userOpt.get();
 
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+                loginThrottleService.recordFailure(email);
                 throw new RuntimeException("Invalid credentials");
             }
+            loginThrottleService.recordSuccess(email);
 
             // Check if user is blocked
             if (user.getBlocked() != null && user.getBlocked()) {
@@ -178,33 +197,19 @@ public class AuthService {
                 throw new RuntimeException("Password is required");
             }
 
-            String emailLower = request.getEmail().trim().toLowerCase();
+            String emailLower = LoginThrottleService.normalizeEmail(request.getEmail());
             logger.info("🔐 ADMIN LOGIN ATTEMPT | Email: {} (normalized: {})", request.getEmail(), emailLower);
-            
+            // Rejected before any lookup or BCrypt work when the IP or account is over its limit
+            loginThrottleService.checkAllowed(clientIp, emailLower);
+
             // Only check SystemUser table (for admins)
-            // Try case-insensitive search first, then exact match
-            Optional<SystemUser> systemUserOpt = systemUserRepository.findByEmailIgnoreCase(emailLower);
-            
-            if (systemUserOpt.isEmpty()) {
-                // Fallback to exact match (for backward compatibility)
-                systemUserOpt = systemUserRepository.findByEmail(emailLower);
-            }
-            
+            // Emails are stored normalized (DataInitializer lower-cases legacy rows), so one exact lookup hits the index
+            Optional<SystemUser> systemUserOpt = systemUserRepository.findByEmail(emailLower);
             if (systemUserOpt.isEmpty()) {
-                // Try with original case (for admins created before the fix)
-                systemUserOpt = systemUserRepository.findByEmailIgnoreCase(request.getEmail().trim());
-                if (systemUserOpt.isEmpty()) {
-                    logger.error("❌ ADMIN LOGIN FAILED | Email not found in SystemUser table: {} (searched as: {})", 
-                            request.getEmail(), emailLower);
-                    throw new RuntimeException("Invalid credentials");
-                } else {
-                    logger.warn("⚠️ ADMIN LOGIN | Found admin with different case email. Updating to lowercase: {}", request.getEmail());
-                    // Update email to lowercase for future logins
-                    SystemUser foundUser = systemUserOpt.get();
-                    foundUser.setEmail(emailLower);
-                    systemUserRepository.save(foundUser);
-                    logger.info("✅ Updated admin email to lowercase: {}", emailLower);
-                }
+                logger.error("❌ ADMIN LOGIN FAILED | Email not found in SystemUser table: {} (searched as: {})", 
+                        request.getEmail(), emailLower);
+                loginThrottleService.recordFailure(emailLower);
+                throw new RuntimeException("Invalid credentials");
             }
             
             SystemUser systemUser = systemUserOpt.get();
@@ -212,13 +217,15 @@ public class AuthService {
                     systemUser.getId(), systemUser.getName(), systemUser.getEmail(), 
                     systemUser.getSuperAdmin(), systemUser.getBlocked());
             
-            boolean passwordMatches = passwordEncoder.matches(request.getPassword(), systemUser.getPassword());
+            boolean passwordMatches = passwordHashingService.matches(request.getPassword(), systemUser.getPassword());
             logger.info("🔑 PASSWORD CHECK | Matches: {}", passwordMatches);
             
             if (!passwordMatches) {
                 logger.error("❌ ADMIN LOGIN FAILED | Password mismatch for email: {}", emailLower);
+                loginThrottleService.recordFailure(emailLower);
                 throw new RuntimeException("Invalid credentials");
             }
+            loginThrottleService.recordSuccess(emailLower);
 
             // Check if system user is blocked
             if (systemUser.getBlocked() != null && systemUser.getBlocked()) {
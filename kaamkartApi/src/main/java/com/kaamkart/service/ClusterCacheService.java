@@ -0,0 +1,289 @@
+package com.kaamkart.service;
+
+import com.kaamkart.util.BoundedCache;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process cache regions that stay consistent across API nodes.
+ *
+ * Each region is a BoundedCache (LRU + TTL). Services invalidate entries after writing the entity behind
+ * them; the invalidation is applied locally after commit and sent to every other node with PostgreSQL
+ * NOTIFY on the cluster-cache.channel. NOTIFY issued inside a transaction is only delivered if that
+ * transaction commits, so other nodes never drop (and reload) entries for a write that was rolled back.
+ *
+ * Every node LISTENs on a dedicated connection outside the pool. While that connection is down,
+ * notifications are lost, so after every (re)connect all regions are cleared.
+ * Regions can also just carry events (no cache): listeners registered for a region are called for
+ * local and remote invalidations, e.g. to drop the public catalog snapshots on every node.
+ * Listeners run before the region's own entries are dropped, so a remote invalidation can first evict
+ * the Hibernate second-level cache of the same entity (the level below) on this node.
+ */
+@Service
+public class ClusterCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterCacheService.class);
+
+    public static final String PRINCIPALS = "principals";
+    public static final String ADMIN_CONTEXT = "admin-context";
+    public static final String RATING_STATS = "rating-stats";
+    public static final String CATALOG = "catalog";
+    // Event-only: a worker's geocell subscriptions must be dropped on every node (key = user id)
+    public static final String WORKER_CELL_ACCESS = "worker-cell-access";
+
+    private static final String ALL_KEYS = "*";
+    // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    /**
+     * Called for every invalidation of a region (key is null when the whole region is invalidated)
+     */
+    @FunctionalInterface
+    public interface InvalidationListener {
+        void onInvalidate(String key, boolean remote);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${cluster-cache.enabled:true}")
+    private boolean clusterEnabled;
+
+    @Value("${cluster-cache.channel:kaamkart_cache}")
+    private String channel;
+
+    @Value("${cluster-cache.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Map<String, BoundedCache<String, ?>> regions = new ConcurrentHashMap<>();
+    private final Map<String, List<InvalidationListener>> listeners = new ConcurrentHashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong publishFailures = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong appliedRemote = new AtomicLong();
+    private final AtomicLong connects = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean listenerConnected;
+    private volatile String listenerError;
+    private Thread listenerThread;
+
+    /**
+     * Create (or return the existing) cache region
+     */
+    @SuppressWarnings("unchecked")
+    public <V> BoundedCache<String, V> region(String name, int maxEntries, long ttlMs) {
+        return (BoundedCache<String, V>) regions.computeIfAbsent(name, n -> new BoundedCache<String, V>(n, maxEntries, ttlMs));
+    }
+
+    public void addInvalidationListener(String region, InvalidationListener listener) {
+        listeners.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Invalidate one key of a region on this node and on every other node
+     */
+    public void invalidate(String region, Object key) {
+        String keyText = String.valueOf(key);
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Sent within the transaction: PostgreSQL delivers it only on commit
+            publish(region, keyText);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyLocal(region, keyText, false);
+                }
+            });
+        } else {
+            applyLocal(region, keyText, false);
+            publish(region, keyText);
+        }
+    }
+
+    public void invalidateAll(String region) {
+        invalidate(region, ALL_KEYS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListener() {
+        if (!clusterEnabled) {
+            logger.info("🗄️ Cluster cache invalidation disabled - caches are invalidated on this node only");
+            return;
+        }
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new RuntimeException("Invalid cluster-cache.channel: " + channel);
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cluster-cache-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stopListener() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodeId", nodeId);
+        stats.put("clusterEnabled", clusterEnabled);
+        stats.put("channel", channel);
+        stats.put("listenerConnected", listenerConnected);
+        stats.put("listenerError", listenerError);
+        stats.put("connects", connects.get());
+        stats.put("published", published.get());
+        stats.put("publishFailures", publishFailures.get());
+        stats.put("received", received.get());
+        stats.put("appliedRemote", appliedRemote.get());
+        Map<String, Object> regionStats = new LinkedHashMap<>();
+        regions.forEach((name, cache) -> regionStats.put(name, cache.getStats()));
+        stats.put("regions", regionStats);
+        stats.put("eventOnlyRegions", listeners.keySet().stream().filter(name -> !regions.containsKey(name)).sorted().toList());
+        return stats;
+    }
+
+    private void publish(String region, String key) {
+        if (!clusterEnabled) {
+            return;
+        }
+        String payload = nodeId + "|" + region + "|" + key;
+        if (payload.length() > MAX_PAYLOAD_LENGTH) {
+            payload = nodeId + "|" + region + "|" + ALL_KEYS;
+        }
+        try {
+            jdbcTemplate.query(NOTIFY_SQL, (ResultSetExtractor<Object>) resultSet -> null, channel, payload);
+            published.incrementAndGet();
+        } catch (Exception e) {
+            // Other nodes keep the entry until its TTL expires
+            publishFailures.incrementAndGet();
+            logger.warn("⚠️ Failed to publish cache invalidation {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private void applyLocal(String region, String key, boolean remote) {
+        boolean allKeys = ALL_KEYS.equals(key);
+        // Listeners first: they clear lower cache levels (e.g. the Hibernate second-level cache) so that
+        // an entry reloaded right after the region is cleared cannot come from a stale lower level
+        for (InvalidationListener listener : listeners.getOrDefault(region, List.of())) {
+            try {
+                listener.onInvalidate(allKeys ? null : key, remote);
+            } catch (Exception e) {
+                logger.error("Cache invalidation listener failed for {} {}: {}", region, key, e.getMessage());
+            }
+        }
+        BoundedCache<String, ?> cache = regions.get(region);
+        if (cache != null) {
+            if (allKeys) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                listenerConnected = true;
+                listenerError = null;
+                if (connects.incrementAndGet() > 1) {
+                    // Invalidations sent while disconnected are lost
+                    invalidateAllRegionsLocally();
+                    logger.info("🗄️ Cluster cache listener reconnected - all regions cleared");
+                } else {
+                    logger.info("🗄️ Cluster cache listening on channel {} | Node: {}", channel, nodeId);
+                }
+
+                long lastValidated = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handleNotification(notification.getParameter());
+                        }
+                    }
+                    if (System.currentTimeMillis() - lastValidated > 30000) {
+                        if (!connection.isValid(5)) {
+                            throw new RuntimeException("Listener connection is no longer valid");
+                        }
+                        lastValidated = System.currentTimeMillis();
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                listenerConnected = false;
+                listenerError = e.getMessage();
+                logger.warn("⚠️ Cluster cache listener disconnected, retrying in {}ms: {}", reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        listenerConnected = false;
+    }
+
+    private void handleNotification(String payload) {
+        received.incrementAndGet();
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            // Own invalidations were already applied after commit
+            return;
+        }
+        applyLocal(parts[1], parts[2], true);
+        appliedRemote.incrementAndGet();
+        logger.debug("Remote cache invalidation from node {}: {} {}", parts[0], parts[1], parts[2]);
+    }
+
+    private void invalidateAllRegionsLocally() {
+        List<String> names = new ArrayList<>(regions.keySet());
+        names.addAll(listeners.keySet());
+        names.stream().distinct().forEach(name -> applyLocal(name, ALL_KEYS, true));
+    }
+}
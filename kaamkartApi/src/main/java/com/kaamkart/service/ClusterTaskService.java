@@ -0,0 +1,299 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.ClusterTask;
+import com.kaamkart.repository.ClusterTaskRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs periodic tasks on one API node at a time.
+ *
+ * Every node keeps its own @Scheduled timer; when it fires, the task is only run by the node that gets
+ * the task's PostgreSQL advisory lock (pg_try_advisory_lock, held on a pooled connection for the run).
+ * If the lock cannot be released, that connection is evicted from the pool rather than reused.
+ * The other nodes skip it instead of waiting. A task that ran less than minIntervalMs ago on any node
+ * is skipped too, so a task with an interval runs about once per interval across the fleet, not once
+ * per node.
+ *
+ * Each run takes a new fencing token from cluster_tasks. If the lock connection is lost mid-run, another
+ * node can start the task while this one still runs. Tasks that write in several transactions therefore
+ * call assertFence inside each of them. It fails once a newer run has started, so a stale run stops
+ * before its next write.
+ */
+@Service
+public class ClusterTaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterTaskService.class);
+
+    // First key of the two-int advisory lock, so task locks cannot collide with other advisory lock users
+    private static final int LOCK_NAMESPACE = 0x4B4B;
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(?, hashtext(?))";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(?, hashtext(?))";
+    private static final String INSERT_SQL =
+            "INSERT INTO cluster_tasks (task_name, fence_token, runs) VALUES (?, 0, 0) ON CONFLICT (task_name) DO NOTHING";
+    private static final String START_SQL =
+            "UPDATE cluster_tasks SET fence_token = fence_token + 1, owner = ?, started_at = LOCALTIMESTAMP, " +
+            "finished_at = NULL, last_status = 'RUNNING', last_error = NULL " +
+            "WHERE task_name = ? AND (started_at IS NULL OR started_at <= LOCALTIMESTAMP - CAST(? AS DOUBLE PRECISION) * INTERVAL '1 millisecond') " +
+            "RETURNING fence_token";
+    private static final String FINISH_SQL =
+            "UPDATE cluster_tasks SET finished_at = LOCALTIMESTAMP, last_duration_ms = ?, last_status = ?, last_error = ?, " +
+            "runs = runs + 1 WHERE task_name = ? AND fence_token = ?";
+    // FOR SHARE: a newer run's START_SQL waits until the caller's transaction has committed
+    private static final String FENCE_SQL = "SELECT fence_token FROM cluster_tasks WHERE task_name = ? FOR SHARE";
+
+    public enum Outcome {
+        SUCCEEDED,
+        FAILED,
+        // A newer run took over while this one was running
+        FENCED,
+        // Running on another node (or already on this one)
+        BUSY,
+        // Ran less than minIntervalMs ago
+        NOT_DUE
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        void run(TaskRun run) throws Exception;
+    }
+
+    /**
+     * One run of a task, identified by its fencing token
+     */
+    public static final class TaskRun {
+        private final String taskName;
+        private final long fenceToken;
+        private volatile boolean fenced;
+
+        private TaskRun(String taskName, long fenceToken) {
+            this.taskName = taskName;
+            this.fenceToken = fenceToken;
+        }
+
+        public String getTaskName() {
+            return taskName;
+        }
+
+        public long getFenceToken() {
+            return fenceToken;
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClusterTaskRepository clusterTaskRepository;
+
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final Map<String, TaskStats> statsByTask = new ConcurrentHashMap<>();
+
+    /**
+     * Run a task unless another node (or another thread of this node) is running it, or it ran
+     * less than minIntervalMs ago. Failures are logged and reported in the outcome, never thrown.
+     */
+    public Outcome runExclusive(String taskName, long minIntervalMs, Task task) {
+        TaskStats stats = statsByTask.computeIfAbsent(taskName, name -> new TaskStats());
+        if (!stats.running.compareAndSet(false, true)) {
+            stats.skippedBusy.incrementAndGet();
+            return Outcome.BUSY;
+        }
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!tryLock(lockConnection, taskName)) {
+                stats.skippedBusy.incrementAndGet();
+                return Outcome.BUSY;
+            }
+            try {
+                return runLocked(taskName, minIntervalMs, task, stats);
+            } finally {
+                if (!unlock(lockConnection, taskName)) {
+                    // Never hand a connection that may still hold the lock back to the pool: the task
+                    // would stay locked for every other node, and its next borrower would re-take it
+                    discard(lockConnection, taskName);
+                }
+            }
+        } catch (Exception e) {
+            // Could not get a connection or the lock - the next timer tick tries again
+            stats.failures.incrementAndGet();
+            stats.lastError = e.getMessage();
+            logger.error("Cluster task {} could not be started: {}", taskName, e.getMessage());
+            return Outcome.FAILED;
+        } finally {
+            stats.running.set(false);
+        }
+    }
+
+    /**
+     * Fail unless run is still the latest run of its task. Call inside each write transaction of
+     * the task; the fence row stays share-locked until that transaction ends.
+     */
+    public void assertFence(TaskRun run) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new RuntimeException("assertFence must be called inside the transaction it protects");
+        }
+        List<Long> tokens = jdbcTemplate.queryForList(FENCE_SQL, Long.class, run.taskName);
+        if (tokens.isEmpty() || tokens.get(0) != run.fenceToken) {
+            run.fenced = true;
+            throw new RuntimeException("Run " + run.fenceToken + " of task " + run.taskName
+                    + " was superseded by run " + (tokens.isEmpty() ? "?" : tokens.get(0)));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("owner", owner);
+        Map<String, Object> local = new LinkedHashMap<>();
+        statsByTask.forEach((taskName, taskStats) -> local.put(taskName, taskStats.toMap()));
+        stats.put("localRuns", local);
+        stats.put("tasks", clusterTaskRepository.findAllByOrderByTaskNameAsc());
+        return stats;
+    }
+
+    private Outcome runLocked(String taskName, long minIntervalMs, Task task, TaskStats stats) {
+        jdbcTemplate.update(INSERT_SQL, taskName);
+        List<Long> tokens = jdbcTemplate.queryForList(START_SQL, Long.class, owner, taskName, Math.max(0, minIntervalMs));
+        if (tokens.isEmpty()) {
+            stats.skippedNotDue.incrementAndGet();
+            return Outcome.NOT_DUE;
+        }
+        TaskRun run = new TaskRun(taskName, tokens.get(0));
+
+        long startNanos = System.nanoTime();
+        Outcome outcome;
+        String error = null;
+        try {
+            task.run(run);
+            outcome = Outcome.SUCCEEDED;
+        } catch (Exception e) {
+            outcome = run.fenced ? Outcome.FENCED : Outcome.FAILED;
+            error = e.getMessage();
+        }
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        stats.record(outcome, durationMs, error);
+
+        if (outcome == Outcome.FENCED) {
+            logger.warn("⚠️ Cluster task {} run {} stopped after {}ms: {}", taskName, run.fenceToken, durationMs, error);
+        } else if (outcome == Outcome.FAILED) {
+            logger.error("❌ Cluster task {} run {} failed after {}ms: {}", taskName, run.fenceToken, durationMs, error);
+        } else {
+            logger.debug("Cluster task {} run {} done in {}ms", taskName, run.fenceToken, durationMs);
+        }
+        try {
+            // Only the current run may record its result
+            jdbcTemplate.update(FINISH_SQL, durationMs, outcome.name(),
+                    error != null && error.length() > 500 ? error.substring(0, 500) : error, taskName, run.fenceToken);
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to record result of cluster task {}: {}", taskName, e.getMessage());
+        }
+        return outcome;
+    }
+
+    private boolean tryLock(Connection connection, String taskName) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(TRY_LOCK_SQL)) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, taskName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean unlock(Connection connection, String taskName) {
+        try (PreparedStatement statement = connection.prepareStatement(UNLOCK_SQL)) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, taskName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next() && resultSet.getBoolean(1)) {
+                    return true;
+                }
+            }
+            logger.warn("⚠️ Lock of cluster task {} was not held at release", taskName);
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to release the lock of cluster task {}: {}", taskName, e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Close the physical connection instead of returning it to the pool; ending the session
+     * releases every advisory lock it holds
+     */
+    private void discard(Connection connection, String taskName) {
+        try {
+            Connection target = connection instanceof ConnectionProxy proxy ? proxy.getTargetConnection() : connection;
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                dataSource.unwrap(HikariDataSource.class).evictConnection(target);
+            } else {
+                target.abort(Runnable::run);
+            }
+            logger.warn("⚠️ Evicted the lock connection of cluster task {} from the pool", taskName);
+        } catch (Exception e) {
+            logger.error("Failed to evict the lock connection of cluster task {}: {}", taskName, e.getMessage());
+        }
+    }
+
+    private static final class TaskStats {
+        private final AtomicBoolean running = new AtomicBoolean(false);
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong fenced = new AtomicLong();
+        private final AtomicLong skippedBusy = new AtomicLong();
+        private final AtomicLong skippedNotDue = new AtomicLong();
+        private final AtomicLong totalDurationMs = new AtomicLong();
+        private volatile long lastDurationMs = -1;
+        private volatile long maxDurationMs;
+        private volatile String lastError;
+
+        private synchronized void record(Outcome outcome, long durationMs, String error) {
+            switch (outcome) {
+                case SUCCEEDED -> succeeded.incrementAndGet();
+                case FENCED -> fenced.incrementAndGet();
+                default -> failures.incrementAndGet();
+            }
+            totalDurationMs.addAndGet(durationMs);
+            lastDurationMs = durationMs;
+            maxDurationMs = Math.max(maxDurationMs, durationMs);
+            lastError = error;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            long runs = succeeded.get() + failures.get() + fenced.get();
+            map.put("running", running.get());
+            map.put("succeeded", succeeded.get());
+            map.put("failed", failures.get());
+            map.put("fenced", fenced.get());
+            map.put("skippedBusy", skippedBusy.get());
+            map.put("skippedNotDue", skippedNotDue.get());
+            map.put("lastDurationMs", lastDurationMs >= 0 ? lastDurationMs : null);
+            map.put("maxDurationMs", maxDurationMs);
+            map.put("avgDurationMs", runs > 0 ? totalDurationMs.get() / runs : null);
+            map.put("lastError", lastError);
+            return map;
+        }
+    }
+}
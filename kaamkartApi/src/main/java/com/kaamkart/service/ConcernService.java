@@ -1,5 +1,6 @@
 package com.kaamkart.service;
 
+import com.kaamkart.dto.ConcernMessageDto;
 import com.kaamkart.dto.CreateConcernDto;
 import com.kaamkart.model.Concern;
 import com.kaamkart.model.ConcernMessage;
@@ -11,13 +12,23 @@ import com.kaamkart.repository.ConcernRepository;
 import com.kaamkart.repository.RequestRepository;
 import com.kaamkart.repository.SystemUserRepository;
 import com.kaamkart.repository.UserRepository;
+import com.kaamkart.util.StompSubscriptionRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +51,16 @@ public class ConcernService {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private StompSubscriptionRegistry stompSubscriptionRegistry;
+
+    public static final String TOPIC_PREFIX = "/topic/concern/";
+
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
+
     @Transactional
     public Concern createConcern(Long raisedById, CreateConcernDto dto) {
         User raisedBy = userRepository.findById(raisedById)
@@ -190,45 +211,144 @@ public class ConcernService {
     }
 
     @Transactional
-    public ConcernMessage addMessageToConcern(Long concernId, Long userId, String message) {
-        Concern concern = concernRepository.findById(concernId)
-                .orElseThrow(() -> new RuntimeException("Concern not found"));
+    public ConcernMessageDto addMessageToConcern(Long concernId, Long userId, String message) {
+        return addMessageToConcern(concernId, userId, null, null, message);
+    }
 
+    /**
+     * Add a message to a concern thread and push it to /topic/concern/{concernId} after commit.
+     * When the caller passes the sender's name and role from the authenticated principal,
+     * no user or concern entity is loaded.
+     */
+    @Transactional
+    public ConcernMessageDto addMessageToConcern(Long concernId, Long userId, String senderName, String senderRole, String message) {
         if (message == null || message.trim().isEmpty()) {
             throw new RuntimeException("Message cannot be empty");
         }
+        if (!concernRepository.existsById(concernId)) {
+            throw new RuntimeException("Concern not found");
+        }
 
         ConcernMessage concernMessage = new ConcernMessage();
-        concernMessage.setConcern(concern);
+        concernMessage.setConcern(concernRepository.getReferenceById(concernId));
         concernMessage.setMessage(message);
 
         // Handle system users (negative IDs) - they are stored in SystemUser table, not User table
         if (userId < 0) {
-            // System user - get from SystemUser table
-            Long systemUserId = Math.abs(userId);
-            SystemUser systemUser = systemUserRepository.findById(systemUserId)
-                    .orElseThrow(() -> new RuntimeException("System user not found"));
-            
+            if (senderName == null || senderName.isEmpty()) {
+                Long systemUserId = Math.abs(userId);
+                SystemUser systemUser = systemUserRepository.findById(systemUserId)
+                        .orElseThrow(() -> new RuntimeException("System user not found"));
+                senderName = systemUser.getName();
+            }
+            senderRole = "ADMIN";
             concernMessage.setSentBy(null); // No User reference for system users
             concernMessage.setSentBySystemUserId(userId); // Store negative ID to identify as system user
-            concernMessage.setSentByName(systemUser.getName());
+            concernMessage.setSentByName(senderName);
         } else {
-            // Regular user - get from User table
-            User sentBy = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            concernMessage.setSentBy(sentBy);
+            if (senderName == null || senderName.isEmpty() || senderRole == null) {
+                User sentBy = userRepository.findById(userId)
+                        .orElseThrow(() -> new RuntimeException("User not found"));
+                senderName = sentBy.getName();
+                senderRole = sentBy.getRole().name();
+            }
+            concernMessage.setSentBy(userRepository.getReferenceById(userId));
             concernMessage.setSentBySystemUserId(null);
-            concernMessage.setSentByName(sentBy.getName());
+            concernMessage.setSentByName(senderName);
         }
 
-        return concernMessageRepository.save(concernMessage);
+        ConcernMessage saved = concernMessageRepository.save(concernMessage);
+
+        ConcernMessageDto dto = new ConcernMessageDto(saved.getId(), concernId, saved.getMessage(), saved.getCreatedAt(),
+                new ConcernMessageDto.Sender(userId, senderName, senderRole),
+                saved.getSentBySystemUserId(), senderName);
+        publishAfterCommit(concernId, dto);
+        return dto;
     }
 
-    public List<ConcernMessage> getConcernMessages(Long concernId) {
-        Concern concern = concernRepository.findById(concernId)
-                .orElseThrow(() -> new RuntimeException("Concern not found"));
-        return concernMessageRepository.findByConcernOrderByCreatedAtAsc(concern);
+    /**
+     * Whole thread, oldest first (kept for clients that do not page yet)
+     */
+    @Transactional(readOnly = true)
+    public List<ConcernMessageDto> getConcernMessages(Long concernId) {
+        if (!concernRepository.existsById(concernId)) {
+            throw new RuntimeException("Concern not found");
+        }
+        return concernMessageRepository.findThreadByConcernId(concernId);
+    }
+
+    /**
+     * Latest limit messages older than beforeId (latest messages when beforeId is null), oldest first.
+     * The next page is requested with before = the id of the first (oldest) message returned.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getConcernMessagesPage(Long concernId, Long beforeId, int limit) {
+        if (!concernRepository.existsById(concernId)) {
+            throw new RuntimeException("Concern not found");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_MESSAGE_PAGE_SIZE));
+        List<ConcernMessageDto> newestFirst = concernMessageRepository.findThreadPageBefore(concernId,
+                beforeId != null ? beforeId : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = newestFirst.size() > pageSize;
+        List<ConcernMessageDto> page = new ArrayList<>(hasMore ? newestFirst.subList(0, pageSize) : newestFirst);
+        Collections.reverse(page);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("items", page);
+        result.put("hasMore", hasMore);
+        result.put("nextBefore", hasMore && !page.isEmpty() ? page.get(0).getId() : null);
+        return result;
+    }
+
+    /**
+     * Who may follow a concern thread live: admins, the user who raised it and the user it is about
+     */
+    @Transactional(readOnly = true)
+    public boolean canViewConcern(Authentication authentication, Long concernId) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof Long)) {
+            return false;
+        }
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (isAdmin) {
+            return true;
+        }
+        Long userId = (Long) authentication.getPrincipal();
+        return concernRepository.findById(concernId)
+                .map(concern -> (concern.getRaisedBy() != null && userId.equals(concern.getRaisedBy().getId()))
+                        || (concern.getRelatedTo() != null && userId.equals(concern.getRelatedTo().getId())))
+                .orElse(false);
     }
-}
 
+    /**
+     * Parse the concern id from a thread destination, or null if it is not one
+     */
+    public static Long parseConcernId(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(destination.substring(TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void publishAfterCommit(Long concernId, ConcernMessageDto dto) {
+        String destination = TOPIC_PREFIX + concernId;
+        if (!stompSubscriptionRegistry.hasSubscribers(destination)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    messagingTemplate.convertAndSend(destination, dto);
+                }
+            });
+        } else {
+            messagingTemplate.convertAndSend(destination, dto);
+        }
+    }
+}
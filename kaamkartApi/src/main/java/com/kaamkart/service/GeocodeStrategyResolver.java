@@ -0,0 +1,172 @@
+package com.kaamkart.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runs geocoding query strategies concurrently and picks the best-ranked successful answer.
+ *
+ * Precise strategies (the ones that include the pin code) always rank before coarse ones (city or
+ * state only), and a coarse strategy is only started once every precise one has failed, so a
+ * town-level answer never beats a pin-level one. Within each group, strategies are ranked by their
+ * observed success rate (ties keep the caller's specificity order). At most maxParallel strategies
+ * are in flight at once to stay within the upstream's politeness limits; the rest only run if the
+ * current batch fails. Once an answer is chosen, every other in-flight lookup is cancelled, and
+ * launchers must return futures whose cancellation stops the underlying call.
+ */
+@Service
+public class GeocodeStrategyResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodeStrategyResolver.class);
+
+    @Value("${outbound.nominatim.max-parallel-strategies:2}")
+    private int maxParallel;
+
+    private final Map<String, StrategyStats> stats = new ConcurrentHashMap<>();
+
+    public static class Strategy {
+        private final String name;
+        private final String query;
+        private final boolean coarse;
+
+        public Strategy(String name, String query) {
+            this(name, query, false);
+        }
+
+        public Strategy(String name, String query, boolean coarse) {
+            this.name = name;
+            this.query = query;
+            this.coarse = coarse;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public boolean isCoarse() {
+            return coarse;
+        }
+    }
+
+    /**
+     * @param strategies candidates in specificity order (most specific first)
+     * @param inFlight lookups the caller already started speculatively, keyed by strategy name
+     * @param launcher starts one lookup; completes with {lat, lon} or null when nothing was found
+     * @param timeoutMs how long to wait for a single lookup
+     * @return {lat, lon} of the best-ranked success, or null when every strategy missed
+     */
+    public double[] resolve(List<Strategy> strategies, Map<String, CompletableFuture<double[]>> inFlight,
+                            Function<Strategy, CompletableFuture<double[]>> launcher, long timeoutMs) {
+        Map<String, CompletableFuture<double[]>> running = new HashMap<>(inFlight);
+        List<Strategy> ranked = rank(strategies);
+        int nextToLaunch = 0;
+
+        try {
+            for (int i = 0; i < ranked.size(); i++) {
+                // Keep up to maxParallel lookups running, in rank order, without starting a coarse
+                // lookup while a precise one may still answer
+                Strategy awaited = ranked.get(i);
+                while (nextToLaunch < ranked.size() && countPending(running) < Math.max(1, maxParallel)
+                        && (!ranked.get(nextToLaunch).isCoarse() || awaited.isCoarse())) {
+                    Strategy candidate = ranked.get(nextToLaunch++);
+                    running.computeIfAbsent(candidate.getName(), name -> launcher.apply(candidate));
+                }
+                if (nextToLaunch <= i) {
+                    Strategy candidate = ranked.get(nextToLaunch++);
+                    running.computeIfAbsent(candidate.getName(), name -> launcher.apply(candidate));
+                }
+
+                Strategy strategy = awaited;
+                double[] coordinates = await(running.get(strategy.getName()), timeoutMs);
+                record(strategy.getName(), coordinates != null);
+                if (coordinates != null) {
+                    stats.get(strategy.getName()).wins.increment();
+                    logger.debug("Geocode strategy {} won (rank {} of {})", strategy.getName(), i + 1, ranked.size());
+                    return coordinates;
+                }
+            }
+            return null;
+        } finally {
+            running.values().forEach(future -> future.cancel(true));
+        }
+    }
+
+    public Map<String, Object> getStrategyStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("attempts", entry.getValue().attempts.sum());
+                    row.put("successes", entry.getValue().successes.sum());
+                    row.put("wins", entry.getValue().wins.sum());
+                    row.put("score", Math.round(entry.getValue().score() * 1000.0) / 1000.0);
+                    result.put(entry.getKey(), row);
+                });
+        return result;
+    }
+
+    private List<Strategy> rank(List<Strategy> strategies) {
+        List<Strategy> ranked = new ArrayList<>(strategies);
+        // Precise before coarse, then by score; List.sort is stable, so equal scores keep the caller's specificity order
+        ranked.sort(Comparator.comparing(Strategy::isCoarse)
+                .thenComparing(Comparator.comparingDouble((Strategy s) -> statsFor(s.getName()).score()).reversed()));
+        return ranked;
+    }
+
+    private double[] await(CompletableFuture<double[]> future, long timeoutMs) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private long countPending(Map<String, CompletableFuture<double[]>> running) {
+        return running.values().stream().filter(future -> !future.isDone()).count();
+    }
+
+    private void record(String strategyName, boolean success) {
+        StrategyStats strategyStats = statsFor(strategyName);
+        strategyStats.attempts.increment();
+        if (success) {
+            strategyStats.successes.increment();
+        }
+    }
+
+    private StrategyStats statsFor(String strategyName) {
+        return stats.computeIfAbsent(strategyName, name -> new StrategyStats());
+    }
+
+    private static class StrategyStats {
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+
+        // Laplace-smoothed success rate so new strategies start at 0.5
+        double score() {
+            return (successes.sum() + 1.0) / (attempts.sum() + 2.0);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.Location;
+import com.kaamkart.repository.RequestRepository;
+import com.kaamkart.repository.SystemUserRepository;
+import com.kaamkart.repository.UserRepository;
+import com.kaamkart.repository.WorkerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One-off backfill of lat/lon for rows that only have an address or "Pin Code: XXXXXX" string
+ * (requests, workers, users, system users). Once filled, admin radius filters take the fast
+ * lat/lon path instead of the pin code prefix heuristic.
+ *
+ * Each table is scanned in keyset-paginated chunks (id > cursor ORDER BY id). Rows in a chunk are
+ * grouped by pin code so every distinct pin is geocoded once per run (the upstream rate limits are
+ * enforced per HTTP call by OutboundHttpClient), and coordinates are written back with one
+ * bulk UPDATE per pin. Only rows still missing coordinates are touched, so re-running is safe;
+ * a stopped run can be resumed from its last cursor.
+ */
+@Service
+public class GeocodingBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodingBackfillService.class);
+
+    private static final List<String> TABLES = List.of("REQUEST", "WORKER", "USER", "SYSTEM_USER");
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SystemUserRepository systemUserRepository;
+
+    @Autowired
+    private PinCodeGeocodingService pinCodeGeocodingService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${geocode.backfill.chunk-size:500}")
+    private int chunkSize;
+
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "geocode-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean stopRequested = new AtomicBoolean(false);
+
+    // Last processed id per table, kept so a stopped run can resume where it left off
+    private final Map<String, Long> cursors = new HashMap<>();
+
+    private volatile Map<String, Object> progress = Map.of("status", "IDLE");
+
+    /**
+     * Start the backfill in the background.
+     *
+     * @param resume continue from the cursors of the previous run instead of rescanning from the start
+     */
+    public Map<String, Object> start(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A geocoding backfill is already running");
+        }
+        stopRequested.set(false);
+        if (!resume) {
+            synchronized (cursors) {
+                cursors.clear();
+            }
+        }
+
+        // Concurrent maps: the background thread updates progress while admins poll it
+        Map<String, Object> report = new ConcurrentHashMap<>();
+        report.put("status", "RUNNING");
+        report.put("resumed", resume);
+        report.put("startedAt", LocalDateTime.now());
+        report.put("tables", new ConcurrentHashMap<String, Object>());
+        progress = report;
+
+        logger.info("🗺️ Geocoding backfill started | Resume: {} | Chunk size: {}", resume, chunkSize);
+
+        backfillExecutor.submit(() -> {
+            try {
+                runBackfill(report);
+            } catch (Exception e) {
+                logger.error("Geocoding backfill failed: {}", e.getMessage(), e);
+                report.put("status", "FAILED");
+                report.put("error", String.valueOf(e.getMessage()));
+            } finally {
+                report.put("finishedAt", LocalDateTime.now());
+                running.set(false);
+            }
+        });
+        return snapshot(report);
+    }
+
+    /**
+     * Ask the running backfill to stop after the current pin code; it can be resumed later
+     */
+    public Map<String, Object> stop() {
+        if (!running.get()) {
+            throw new RuntimeException("No geocoding backfill is running");
+        }
+        stopRequested.set(true);
+        return getProgress();
+    }
+
+    public Map<String, Object> getProgress() {
+        return snapshot(progress);
+    }
+
+    private void runBackfill(Map<String, Object> report) {
+        // Pin codes resolved (or failed) in this run - each distinct pin hits the upstream once
+        Map<String, double[]> resolvedPins = new HashMap<>();
+        Set<String> failedPins = new HashSet<>();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> tableReports = (Map<String, Object>) report.get("tables");
+
+        for (String table : TABLES) {
+            Map<String, Object> tableReport = new ConcurrentHashMap<>();
+            tableReport.put("scanned", 0L);
+            tableReport.put("updated", 0L);
+            tableReport.put("withoutPinCode", 0L);
+            tableReport.put("unresolved", 0L);
+            tableReports.put(table, tableReport);
+
+            long cursor;
+            synchronized (cursors) {
+                cursor = cursors.getOrDefault(table, 0L);
+            }
+
+            while (!stopRequested.get()) {
+                List<Object[]> rows = findMissingCoordinatesAfter(table, cursor, PageRequest.of(0, chunkSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                // Group the chunk by pin code so each distinct pin is geocoded once
+                Map<String, List<Long>> idsByPin = new LinkedHashMap<>();
+                for (Object[] row : rows) {
+                    Long id = (Long) row[0];
+                    String pinCode = adminService.extractPinCode(new Location(null, null, (String) row[1], null));
+                    if (pinCode == null) {
+                        increment(tableReport, "withoutPinCode", 1);
+                    } else {
+                        idsByPin.computeIfAbsent(pinCode, pin -> new ArrayList<>()).add(id);
+                    }
+                }
+                long chunkLastId = (Long) rows.get(rows.size() - 1)[0];
+
+                for (Map.Entry<String, List<Long>> entry : idsByPin.entrySet()) {
+                    if (stopRequested.get()) {
+                        break;
+                    }
+                    String pinCode = entry.getKey();
+                    double[] coordinates = resolvePin(pinCode, resolvedPins, failedPins);
+                    if (coordinates == null) {
+                        increment(tableReport, "unresolved", entry.getValue().size());
+                        continue;
+                    }
+                    Integer updated = transactionTemplate.execute(status ->
+                            fillMissingCoordinates(table, entry.getValue(), coordinates[0], coordinates[1]));
+                    increment(tableReport, "updated", updated != null ? updated : 0);
+                }
+
+                if (stopRequested.get()) {
+                    // Chunk was not finished - resume will rescan it; already filled rows no longer match
+                    break;
+                }
+                increment(tableReport, "scanned", rows.size());
+                cursor = chunkLastId;
+                synchronized (cursors) {
+                    cursors.put(table, cursor);
+                }
+                tableReport.put("cursor", cursor);
+                report.put("pinsResolved", resolvedPins.size());
+                report.put("pinsFailed", failedPins.size());
+                logger.info("🗺️ Geocoding backfill progress | {} | Cursor: {} | Scanned: {} | Updated: {}",
+                        table, cursor, tableReport.get("scanned"), tableReport.get("updated"));
+            }
+
+            if (stopRequested.get()) {
+                break;
+            }
+        }
+
+        report.put("pinsResolved", resolvedPins.size());
+        report.put("pinsFailed", failedPins.size());
+        report.put("status", stopRequested.get() ? "STOPPED" : "COMPLETED");
+        logger.info("✅ Geocoding backfill {} | Pins resolved: {} | Pins failed: {} | Tables: {}",
+                report.get("status"), resolvedPins.size(), failedPins.size(), tableReports);
+    }
+
+    private double[] resolvePin(String pinCode, Map<String, double[]> resolvedPins, Set<String> failedPins) {
+        if (resolvedPins.containsKey(pinCode)) {
+            return resolvedPins.get(pinCode);
+        }
+        if (failedPins.contains(pinCode)) {
+            return null;
+        }
+
+        // No spacing here: a pin fans out to several upstream queries, and each one waits for
+        // its upstream's rate limit token in OutboundHttpClient
+        Location geocoded = pinCodeGeocodingService.getLocationFromPinCode(pinCode);
+        if (geocoded == null || geocoded.getLatitude() == null || geocoded.getLongitude() == null) {
+            logger.warn("⚠️ Geocoding backfill could not resolve pin code {}", pinCode);
+            failedPins.add(pinCode);
+            return null;
+        }
+        double[] coordinates = {geocoded.getLatitude(), geocoded.getLongitude()};
+        resolvedPins.put(pinCode, coordinates);
+        return coordinates;
+    }
+
+    private List<Object[]> findMissingCoordinatesAfter(String table, long afterId, Pageable pageable) {
+        switch (table) {
+            case "REQUEST":
+                return requestRepository.findMissingCoordinatesAfter(afterId, pageable);
+            case "WORKER":
+                return workerRepository.findMissingCoordinatesAfter(afterId, pageable);
+            case "USER":
+                return userRepository.findMissingCoordinatesAfter(afterId, pageable);
+            case "SYSTEM_USER":
+                return systemUserRepository.findMissingCoordinatesAfter(afterId, pageable);
+            default:
+                throw new RuntimeException("Unknown backfill table: " + table);
+        }
+    }
+
+    private int fillMissingCoordinates(String table, List<Long> ids, double latitude, double longitude) {
+        switch (table) {
+            case "REQUEST":
+                return requestRepository.fillMissingCoordinates(ids, latitude, longitude);
+            case "WORKER":
+                return workerRepository.fillMissingCoordinates(ids, latitude, longitude);
+            case "USER":
+                return userRepository.fillMissingCoordinates(ids, latitude, longitude);
+            case "SYSTEM_USER":
+                return systemUserRepository.fillMissingCoordinates(ids, latitude, longitude);
+            default:
+                throw new RuntimeException("Unknown backfill table: " + table);
+        }
+    }
+
+    private void increment(Map<String, Object> tableReport, String key, long delta) {
+        tableReport.put(key, (Long) tableReport.get(key) + delta);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> snapshot(Map<String, Object> report) {
+        Map<String, Object> copy = new LinkedHashMap<>(report);
+        Object tables = copy.get("tables");
+        if (tables instanceof Map) {
+            Map<String, Object> tablesCopy = new LinkedHashMap<>();
+            ((Map<String, Object>) tables).forEach((table, tableReport) ->
+                    tablesCopy.put(table, new LinkedHashMap<>((Map<String, Object>) tableReport)));
+            copy.put("tables", tablesCopy);
+        }
+        return copy;
+    }
+}
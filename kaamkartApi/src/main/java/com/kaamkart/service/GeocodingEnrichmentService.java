@@ -0,0 +1,221 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.GeocodeTask;
+import com.kaamkart.model.Location;
+import com.kaamkart.model.Request;
+import com.kaamkart.model.SystemUser;
+import com.kaamkart.model.User;
+import com.kaamkart.model.Worker;
+import com.kaamkart.repository.GeocodeTaskRepository;
+import com.kaamkart.repository.RequestRepository;
+import com.kaamkart.repository.SystemUserRepository;
+import com.kaamkart.repository.UserRepository;
+import com.kaamkart.repository.WorkerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queue of pin codes that still need coordinates. Callers enqueue instead of geocoding inline;
+ * GeocodingEnrichmentWorker drains the queue and writes the results back here.
+ */
+@Service
+public class GeocodingEnrichmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodingEnrichmentService.class);
+
+    @Autowired
+    private GeocodeTaskRepository geocodeTaskRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private SystemUserRepository systemUserRepository;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Value("${geocode.enrichment.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${geocode.enrichment.base-backoff-seconds:30}")
+    private long baseBackoffSeconds;
+
+    @Value("${geocode.enrichment.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    /**
+     * Queue (or re-queue) a geocode for the target. Safe to call repeatedly for the same target.
+     */
+    @Transactional
+    public GeocodeTask enqueue(GeocodeTask.TargetType targetType, Long targetId, String pinCode) {
+        GeocodeTask task = geocodeTaskRepository.findByTargetTypeAndTargetId(targetType, targetId)
+                .orElseGet(GeocodeTask::new);
+        boolean alreadyQueued = task.getId() != null && task.getStatus() == GeocodeTask.TaskStatus.PENDING
+                && pinCode.equals(task.getPinCode());
+        if (alreadyQueued) {
+            return task;
+        }
+        task.setTargetType(targetType);
+        task.setTargetId(targetId);
+        task.setPinCode(pinCode);
+        task.setStatus(GeocodeTask.TaskStatus.PENDING);
+        task.setAttempts(0);
+        task.setNextAttemptAt(LocalDateTime.now());
+        task.setLastError(null);
+        logger.info("⏳ Geocode queued | {} {} | Pin code: {}", targetType, targetId, pinCode);
+        return geocodeTaskRepository.save(task);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GeocodeTask> findDueTasks(int batchSize) {
+        return geocodeTaskRepository.findDueTasks(GeocodeTask.TaskStatus.PENDING, LocalDateTime.now(),
+                PageRequest.of(0, batchSize));
+    }
+
+    /**
+     * Write geocoded coordinates to the target and close the task.
+     * An approved request whose worker matching was deferred gets its matching job enqueued in the same transaction.
+     * @return true when the target is an approved request whose worker matching was deferred
+     */
+    @Transactional
+    public boolean applyResult(Long taskId, Location geocoded) {
+        GeocodeTask task = geocodeTaskRepository.findById(taskId)
+                .orElseThrow(() -> new RuntimeException("Geocode task not found"));
+        boolean matchingDeferred = false;
+
+        switch (task.getTargetType()) {
+            case REQUEST:
+                Request request = requestRepository.findById(task.getTargetId()).orElse(null);
+                if (request != null) {
+                    if (request.getLocation() == null) {
+                        request.setLocation(new Location());
+                    }
+                    request.getLocation().setLatitude(geocoded.getLatitude());
+                    request.getLocation().setLongitude(geocoded.getLongitude());
+                    if (geocoded.getAddress() != null && !geocoded.getAddress().startsWith("Pin Code:")) {
+                        request.getLocation().setAddress(geocoded.getAddress());
+                    }
+                    request.setLocationPending(false);
+                    request.setLocationError(null);
+                    requestRepository.save(request);
+                    matchingDeferred = request.getStatus() == Request.RequestStatus.ADMIN_APPROVED;
+                    if (matchingDeferred) {
+                        jobQueueService.enqueue(JobQueueService.MATCHING_QUEUE, WorkerMatchingJobHandler.TYPE, request.getId());
+                    }
+                }
+                break;
+            case USER:
+                User user = userRepository.findById(task.getTargetId()).orElse(null);
+                if (user != null) {
+                    user.setLocation(mergeIfMissing(user.getLocation(), geocoded));
+                    userRepository.save(user);
+                }
+                break;
+            case WORKER:
+                Worker worker = workerRepository.findById(task.getTargetId()).orElse(null);
+                if (worker != null) {
+                    worker.setCurrentLocation(mergeIfMissing(worker.getCurrentLocation(), geocoded));
+                    workerRepository.save(worker);
+                }
+                break;
+            case SYSTEM_USER:
+                SystemUser systemUser = systemUserRepository.findById(task.getTargetId()).orElse(null);
+                if (systemUser != null) {
+                    systemUser.setLocation(mergeIfMissing(systemUser.getLocation(), geocoded));
+                    systemUserRepository.save(systemUser);
+                }
+                break;
+        }
+
+        task.setStatus(GeocodeTask.TaskStatus.DONE);
+        task.setAttempts(task.getAttempts() + 1);
+        task.setLastError(null);
+        geocodeTaskRepository.save(task);
+        logger.info("✅ Geocode enriched | {} {} | Pin code: {} | Lat: {} | Lon: {}",
+                task.getTargetType(), task.getTargetId(), task.getPinCode(),
+                geocoded.getLatitude(), geocoded.getLongitude());
+        return matchingDeferred;
+    }
+
+    /**
+     * Record a failed attempt and schedule the next one with exponential backoff
+     */
+    @Transactional
+    public void recordFailure(Long taskId, String error) {
+        GeocodeTask task = geocodeTaskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return;
+        }
+        int attempts = task.getAttempts() + 1;
+        task.setAttempts(attempts);
+        task.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+
+        if (attempts >= maxAttempts) {
+            task.setStatus(GeocodeTask.TaskStatus.FAILED);
+            if (task.getTargetType() == GeocodeTask.TargetType.REQUEST) {
+                requestRepository.findById(task.getTargetId()).ifPresent(request -> {
+                    request.setLocationPending(false);
+                    // Without coordinates the request can never be matched: hand it back to the admins
+                    // (pending approval list, with the reason) instead of leaving it approved and silent
+                    if (request.getStatus() == Request.RequestStatus.ADMIN_APPROVED) {
+                        request.setStatus(Request.RequestStatus.PENDING_ADMIN_APPROVAL);
+                        request.setLocationError("Location could not be geocoded from pin code " + task.getPinCode()
+                                + " - approve again to retry, or reject");
+                        logger.warn("↩️ Request {} returned to pending admin approval: pin code {} could not be geocoded",
+                                request.getId(), task.getPinCode());
+                    }
+                    requestRepository.save(request);
+                });
+            }
+            logger.error("❌ Geocode gave up after {} attempts | {} {} | Pin code: {} | Last error: {}",
+                    attempts, task.getTargetType(), task.getTargetId(), task.getPinCode(), error);
+        } else {
+            long backoffSeconds = Math.min(maxBackoffSeconds, baseBackoffSeconds * (1L << Math.min(attempts - 1, 20)));
+            task.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds));
+            logger.warn("⚠️ Geocode attempt {} failed | {} {} | Pin code: {} | Retry in {}s",
+                    attempts, task.getTargetType(), task.getTargetId(), task.getPinCode(), backoffSeconds);
+        }
+        geocodeTaskRepository.save(task);
+    }
+
+    public Map<String, Object> getQueueStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pending", geocodeTaskRepository.countByStatus(GeocodeTask.TaskStatus.PENDING));
+        stats.put("done", geocodeTaskRepository.countByStatus(GeocodeTask.TaskStatus.DONE));
+        stats.put("failed", geocodeTaskRepository.countByStatus(GeocodeTask.TaskStatus.FAILED));
+        return stats;
+    }
+
+    /**
+     * Users and workers may have moved or shared live coordinates since the task was queued;
+     * only fill in coordinates that are still missing.
+     */
+    private Location mergeIfMissing(Location current, Location geocoded) {
+        Location location = current != null ? current : new Location();
+        if (location.getLatitude() == null || location.getLongitude() == null) {
+            location.setLatitude(geocoded.getLatitude());
+            location.setLongitude(geocoded.getLongitude());
+            if (geocoded.getAddress() != null && !geocoded.getAddress().startsWith("Pin Code:")) {
+                location.setAddress(geocoded.getAddress());
+            }
+        }
+        return location;
+    }
+}
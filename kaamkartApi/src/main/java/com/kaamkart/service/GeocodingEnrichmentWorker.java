@@ -0,0 +1,111 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.GeocodeTask;
+import com.kaamkart.model.Location;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background worker that drains the geocode queue.
+ * External geo calls happen outside any DB transaction; results are written back through
+ * GeocodingEnrichmentService, and approved requests waiting on coordinates get their
+ * worker matching job enqueued as soon as the coordinates arrive.
+ *
+ * A batch makes blocking upstream calls, so it runs on its own thread; the shared scheduler
+ * pool only hands it over and stays free for the other scheduled jobs.
+ */
+@Component
+public class GeocodingEnrichmentWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodingEnrichmentWorker.class);
+
+    private static final String TASK_NAME = "geocode-enrichment";
+
+    @Autowired
+    private GeocodingEnrichmentService geocodingEnrichmentService;
+
+    @Autowired
+    private PinCodeGeocodingService pinCodeGeocodingService;
+
+    @Autowired
+    private ClusterTaskService clusterTaskService;
+
+    @Value("${geocode.enrichment.batch-size:20}")
+    private int batchSize;
+
+    private final ExecutorService batchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "geocode-enrichment");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean batchRunning = new AtomicBoolean(false);
+
+    @Scheduled(fixedDelayString = "${geocode.enrichment.poll-interval-ms:5000}")
+    public void processDueTasks() {
+        if (!batchRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            batchExecutor.execute(() -> {
+                try {
+                    // One node at a time: tasks are not claimed, and the upstream rate limits apply to the whole fleet
+                    clusterTaskService.runExclusive(TASK_NAME, 0, run -> processBatch());
+                } finally {
+                    batchRunning.set(false);
+                }
+            });
+        } catch (Exception e) {
+            batchRunning.set(false);
+            logger.error("Failed to start geocode batch: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    private void processBatch() {
+        List<GeocodeTask> tasks;
+        try {
+            tasks = geocodingEnrichmentService.findDueTasks(batchSize);
+        } catch (Exception e) {
+            logger.error("Failed to load geocode tasks: {}", e.getMessage());
+            return;
+        }
+
+        for (GeocodeTask task : tasks) {
+            try {
+                Location geocoded = pinCodeGeocodingService.getLocationFromPinCode(task.getPinCode());
+                if (geocoded == null || geocoded.getLatitude() == null || geocoded.getLongitude() == null) {
+                    geocodingEnrichmentService.recordFailure(task.getId(), "No coordinates for pin code " + task.getPinCode());
+                    continue;
+                }
+
+                boolean matchingDeferred = geocodingEnrichmentService.applyResult(task.getId(), geocoded);
+                if (matchingDeferred) {
+                    logger.info("📍 Coordinates arrived for approved request {} - worker matching job enqueued", task.getTargetId());
+                }
+            } catch (Exception e) {
+                logger.error("Error processing geocode task {} ({} {}): {}",
+                        task.getId(), task.getTargetType(), task.getTargetId(), e.getMessage(), e);
+                try {
+                    geocodingEnrichmentService.recordFailure(task.getId(), e.getMessage());
+                } catch (Exception recordError) {
+                    logger.error("Failed to record geocode task failure {}: {}", task.getId(), recordError.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -1,15 +1,14 @@
 package com.kaamkart.service;
 
 import com.kaamkart.model.Location;
+import com.kaamkart.util.OutboundHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 /**
  * Service to get location from IP address using free IP geolocation API
@@ -19,8 +18,14 @@ public class IpGeolocationService {
     
     private static final Logger logger = LoggerFactory.getLogger(IpGeolocationService.class);
     
+    private static final Map<String, String> IP_API_HEADERS = Map.of("User-Agent", "KaamKart-App");
+    
     // Using ip-api.com (free, no API key required, 45 requests/minute limit)
-    private static final String IP_GEOLOCATION_URL = "http://ip-api.com/json/";
+    @Value("${outbound.ip-api.base-url:http://ip-api.com/json/}")
+    private String ipGeolocationUrl;
+    
+    @Autowired
+    private OutboundHttpClient outboundHttpClient;
     
     /**
      * Get location from IP address
@@ -36,30 +41,14 @@ public class IpGeolocationService {
         }
         
         try {
-            String url = IP_GEOLOCATION_URL + ipAddress;
-            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(5000); // 5 seconds timeout
-            connection.setReadTimeout(5000);
-            connection.setRequestProperty("User-Agent", "KaamKart-App");
-            
-            int responseCode = connection.getResponseCode();
-            if (responseCode != 200) {
-                logger.warn("IP geolocation API returned status code: {} for IP: {}", responseCode, ipAddress);
+            String url = ipGeolocationUrl + ipAddress;
+            String jsonResponse = outboundHttpClient.getBody("ip-api", url, IP_API_HEADERS);
+            if (jsonResponse == null) {
+                logger.warn("IP geolocation API unavailable or returned an error for IP: {}", ipAddress);
                 return null;
             }
             
-            BufferedReader reader = new BufferedReader(
-                new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
-            }
-            reader.close();
-            
             // Parse JSON response
-            String jsonResponse = response.toString();
             logger.debug("IP geolocation response for {}: {}", ipAddress, jsonResponse);
             
             // Simple JSON parsing (ip-api.com format)
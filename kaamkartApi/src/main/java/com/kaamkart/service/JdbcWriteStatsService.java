@@ -0,0 +1,61 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.ApiLog;
+import com.kaamkart.model.ConcernMessage;
+import com.kaamkart.model.ConfirmedWorker;
+import com.kaamkart.model.DeployedWorker;
+import com.kaamkart.model.Rating;
+import com.kaamkart.model.RequestWorkerTypeRequirement;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write round-trip counters from Hibernate statistics, used to compare JDBC batching before and after.
+ * writesPerStatement well above 1 means inserts/updates share batched statements; with IDENTITY ids
+ * every insert is its own statement. Counters are cumulative since startup, so compare two snapshots.
+ */
+@Service
+public class JdbcWriteStatsService {
+
+    private static final List<Class<?>> BATCHED_ENTITIES = List.of(
+            ApiLog.class, DeployedWorker.class, ConfirmedWorker.class,
+            RequestWorkerTypeRequirement.class, ConcernMessage.class, Rating.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApiLogWriter apiLogWriter;
+
+    public Map<String, Object> getStats() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        stats.put("batchSize", sessionFactory.getSessionFactoryOptions().getJdbcBatchSize());
+        stats.put("entityInserts", statistics.getEntityInsertCount());
+        stats.put("entityUpdates", statistics.getEntityUpdateCount());
+        stats.put("preparedStatements", statistics.getPrepareStatementCount());
+        stats.put("flushes", statistics.getFlushCount());
+        stats.put("transactions", statistics.getTransactionCount());
+        long writes = statistics.getEntityInsertCount() + statistics.getEntityUpdateCount();
+        stats.put("writesPerStatement", statistics.getPrepareStatementCount() > 0
+                ? Math.round(writes * 100.0 / statistics.getPrepareStatementCount()) / 100.0 : null);
+
+        Map<String, Object> inserts = new LinkedHashMap<>();
+        for (Class<?> entity : BATCHED_ENTITIES) {
+            inserts.put(entity.getSimpleName(), statistics.getEntityStatistics(entity.getName()).getInsertCount());
+        }
+        stats.put("insertsByEntity", inserts);
+        stats.put("apiLogWriter", apiLogWriter.getStats());
+        return stats;
+    }
+}
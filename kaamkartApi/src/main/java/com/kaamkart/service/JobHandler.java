@@ -0,0 +1,21 @@
+package com.kaamkart.service;
+
+/**
+ * Runs one type of background job (see JobQueueService / JobWorker).
+ * Every Spring bean implementing this is registered with JobWorker under its type().
+ *
+ * Jobs are delivered at least once: a job whose node dies or whose lease runs out is run again,
+ * so handle() must be safe to repeat. Throwing marks the attempt failed and the job is retried
+ * with backoff until it is dead-lettered.
+ */
+public interface JobHandler<P> {
+
+    String type();
+
+    /**
+     * Class the JSON payload is read into
+     */
+    Class<P> payloadType();
+
+    void handle(P payload);
+}
@@ -0,0 +1,238 @@
+package com.kaamkart.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaamkart.model.BackgroundJob;
+import com.kaamkart.repository.BackgroundJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable background job queue in the background_jobs table.
+ *
+ * enqueue() joins the caller's transaction, so a job exists exactly when the change that needs it
+ * commits, and the caller returns without waiting for the work itself. JobWorker claims due jobs
+ * with FOR UPDATE SKIP LOCKED on every node, runs them through their JobHandler and reports back here.
+ * A failed attempt is retried with exponential backoff (jobs.queue.<name>.base-backoff-seconds,
+ * max-backoff-seconds); after max-attempts the job stays in the table as DEAD until an admin retries it.
+ * A claimed job holds a lease of lease-timeout-ms: if its node dies, the job is released and run again.
+ */
+@Service
+public class JobQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobQueueService.class);
+
+    public static final String MATCHING_QUEUE = "matching";
+    public static final String RATINGS_QUEUE = "ratings";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private BackgroundJobRepository backgroundJobRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${jobs.lease-timeout-ms:300000}")
+    private long leaseTimeoutMs;
+
+    @Value("${jobs.done-retention-hours:72}")
+    private long doneRetentionHours;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong leasesExpired = new AtomicLong();
+    private final AtomicLong fencedResults = new AtomicLong();
+    private final AtomicLong purged = new AtomicLong();
+
+    /**
+     * Add a job to a queue as part of the current transaction
+     */
+    @Transactional
+    public BackgroundJob enqueue(String queue, String jobType, Object payload) {
+        BackgroundJob job = new BackgroundJob();
+        job.setQueue(queue);
+        job.setJobType(jobType);
+        try {
+            job.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Job payload for " + jobType + " cannot be serialized: " + e.getMessage());
+        }
+        job.setMaxAttempts(queueSetting(queue, "max-attempts", Integer.class, 8));
+        BackgroundJob saved = backgroundJobRepository.save(job);
+        enqueued.incrementAndGet();
+        logger.debug("Job enqueued | {} {} | Queue: {} | Payload: {}", jobType, saved.getId(), queue, saved.getPayload());
+        return saved;
+    }
+
+    /**
+     * Claim up to limit due jobs of a queue for this node. The row locks are held only for this
+     * short transaction; afterwards the RUNNING status and locked_at lease keep other nodes off the jobs.
+     */
+    @Transactional
+    public List<BackgroundJob> claim(String queue, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BackgroundJob> jobs = backgroundJobRepository.lockDueJobs(queue, now, limit);
+        for (BackgroundJob job : jobs) {
+            job.setStatus(BackgroundJob.JobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLockedBy(nodeId);
+            job.setLockedAt(now);
+        }
+        claimed.addAndGet(jobs.size());
+        return jobs;
+    }
+
+    @Transactional
+    public void complete(BackgroundJob job) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = backgroundJobRepository.finishAttempt(job.getId(), job.getAttempts(),
+                BackgroundJob.JobStatus.RUNNING, BackgroundJob.JobStatus.DONE, null, job.getRunAt(), now, now);
+        if (updated == 0) {
+            fenced(job);
+            return;
+        }
+        completed.incrementAndGet();
+    }
+
+    /**
+     * Record a failed attempt: retry later with exponential backoff, or dead-letter the job
+     * once its attempts are used up
+     */
+    @Transactional
+    public void fail(BackgroundJob job, String error) {
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        LocalDateTime now = LocalDateTime.now();
+        int attempts = job.getAttempts();
+
+        if (attempts >= job.getMaxAttempts()) {
+            int updated = backgroundJobRepository.finishAttempt(job.getId(), attempts,
+                    BackgroundJob.JobStatus.RUNNING, BackgroundJob.JobStatus.DEAD, lastError, job.getRunAt(), now, now);
+            if (updated == 0) {
+                fenced(job);
+                return;
+            }
+            deadLettered.incrementAndGet();
+            logger.error("💀 Job dead-lettered after {} attempts | {} {} | Queue: {} | Last error: {}",
+                    attempts, job.getJobType(), job.getId(), job.getQueue(), error);
+            return;
+        }
+
+        long baseBackoffSeconds = queueSetting(job.getQueue(), "base-backoff-seconds", Long.class, 10L);
+        long maxBackoffSeconds = queueSetting(job.getQueue(), "max-backoff-seconds", Long.class, 3600L);
+        long backoffSeconds = Math.min(maxBackoffSeconds, baseBackoffSeconds * (1L << Math.min(attempts - 1, 20)));
+        int updated = backgroundJobRepository.finishAttempt(job.getId(), attempts,
+                BackgroundJob.JobStatus.RUNNING, BackgroundJob.JobStatus.PENDING, lastError,
+                now.plusSeconds(backoffSeconds), null, now);
+        if (updated == 0) {
+            fenced(job);
+            return;
+        }
+        retried.incrementAndGet();
+        logger.warn("⚠️ Job attempt {} of {} failed | {} {} | Queue: {} | Retry in {}s | Error: {}",
+                attempts, job.getMaxAttempts(), job.getJobType(), job.getId(), job.getQueue(), backoffSeconds, error);
+    }
+
+    /**
+     * Release jobs whose lease ran out (their node died or a handler hung) so another node runs them,
+     * and delete DONE jobs older than the retention
+     */
+    @Transactional
+    public void maintain() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedBefore = now.minusNanos(leaseTimeoutMs * 1_000_000L);
+        int released = backgroundJobRepository.releaseExpiredLeases(BackgroundJob.JobStatus.RUNNING,
+                BackgroundJob.JobStatus.PENDING, lockedBefore, now);
+        int dead = backgroundJobRepository.deadLetterExpiredLeases(BackgroundJob.JobStatus.RUNNING,
+                BackgroundJob.JobStatus.DEAD, lockedBefore, now);
+        int deleted = backgroundJobRepository.deleteFinishedBefore(BackgroundJob.JobStatus.DONE,
+                now.minusHours(doneRetentionHours));
+
+        leasesExpired.addAndGet(released + dead);
+        deadLettered.addAndGet(dead);
+        purged.addAndGet(deleted);
+        if (released > 0 || dead > 0) {
+            logger.warn("⚠️ Job leases expired | Released for retry: {} | Dead-lettered: {}", released, dead);
+        }
+        if (deleted > 0) {
+            logger.info("🧹 Deleted {} finished jobs older than {}h", deleted, doneRetentionHours);
+        }
+    }
+
+    /**
+     * Put a dead-lettered job back on its queue with a fresh set of attempts
+     */
+    @Transactional
+    public void retryDead(Long jobId) {
+        if (backgroundJobRepository.requeueDead(jobId, BackgroundJob.JobStatus.DEAD,
+                BackgroundJob.JobStatus.PENDING, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Job not found or not dead-lettered");
+        }
+        logger.info("🔁 Dead-lettered job {} requeued", jobId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BackgroundJob> getDeadJobs(int limit) {
+        return backgroundJobRepository.findByStatusOrderByFinishedAtDesc(BackgroundJob.JobStatus.DEAD,
+                PageRequest.of(0, limit));
+    }
+
+    public <T> T queueSetting(String queue, String name, Class<T> type, T defaultValue) {
+        T value = environment.getProperty("jobs.queue." + queue + "." + name, type);
+        return value != null ? value : environment.getProperty("jobs." + name, type, defaultValue);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodeId", nodeId);
+        stats.put("leaseTimeoutMs", leaseTimeoutMs);
+        stats.put("enqueued", enqueued.get());
+        stats.put("claimed", claimed.get());
+        stats.put("completed", completed.get());
+        stats.put("retried", retried.get());
+        stats.put("deadLettered", deadLettered.get());
+        stats.put("leasesExpired", leasesExpired.get());
+        stats.put("fencedResults", fencedResults.get());
+        stats.put("purged", purged.get());
+
+        Map<String, Map<String, Object>> byQueue = new LinkedHashMap<>();
+        for (Object[] row : backgroundJobRepository.countByQueueAndStatus()) {
+            byQueue.computeIfAbsent((String) row[0], queue -> new LinkedHashMap<>())
+                    .put(String.valueOf(row[1]), row[2]);
+        }
+        stats.put("jobsByQueue", byQueue);
+        return stats;
+    }
+
+    private void fenced(BackgroundJob job) {
+        // The lease expired and the job was released (and possibly claimed again) in the meantime
+        fencedResults.incrementAndGet();
+        logger.warn("⚠️ Result of job {} ({}) attempt {} discarded - the job is no longer held by this node",
+                job.getId(), job.getJobType(), job.getAttempts());
+    }
+}
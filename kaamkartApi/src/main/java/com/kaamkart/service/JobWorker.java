@@ -0,0 +1,225 @@
+package com.kaamkart.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaamkart.model.BackgroundJob;
+import com.kaamkart.util.VirtualThreads;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs background jobs from the queues in jobs.queues on this node.
+ *
+ * Each queue has its own pool of jobs.queue.<name>.concurrency threads and is polled every
+ * poll-interval-ms for as many due jobs as it has idle threads, so a slow or backed-up queue
+ * never holds up another one. Every node runs the same worker; SKIP LOCKED claiming spreads
+ * the jobs across nodes, and the cluster-wide concurrency of a queue is concurrency x nodes.
+ */
+@Component
+public class JobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobWorker.class);
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ClusterTaskService clusterTaskService;
+
+    @Autowired(required = false)
+    private List<JobHandler<?>> jobHandlers = new ArrayList<>();
+
+    @Value("${jobs.worker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jobs.queues:matching,ratings}")
+    private String queueNames;
+
+    @Value("${jobs.maintenance-interval-ms:60000}")
+    private long maintenanceIntervalMs;
+
+    private final Map<String, JobHandler<?>> handlersByType = new HashMap<>();
+    private final Map<String, QueueRunner> runners = new LinkedHashMap<>();
+
+    private volatile boolean stopping;
+
+    @PostConstruct
+    public void init() {
+        for (JobHandler<?> handler : jobHandlers) {
+            if (handlersByType.put(handler.type(), handler) != null) {
+                throw new RuntimeException("Two job handlers registered for job type " + handler.type());
+            }
+        }
+        if (!enabled) {
+            logger.info("⏸️ Background job worker disabled on this node - jobs are enqueued but run by other nodes");
+            return;
+        }
+
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && VirtualThreads.isSupported();
+        for (String queue : Arrays.stream(queueNames.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList()) {
+            int concurrency = jobQueueService.queueSetting(queue, "concurrency", Integer.class, 2);
+            AtomicInteger threadCounter = new AtomicInteger();
+            ThreadFactory platformThreads = r -> {
+                Thread thread = new Thread(r, "job-" + queue + "-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            // Jobs are only claimed for idle threads, so the work queue never holds more than a poll's worth
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    concurrency, concurrency, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    virtualThreads ? VirtualThreads.factory("job-" + queue + "-", platformThreads) : platformThreads);
+            executor.allowCoreThreadTimeOut(true);
+            runners.put(queue, new QueueRunner(queue, concurrency, executor));
+        }
+        logger.info("⚙️ Background job worker | Queues: {} | Handlers: {} | Node: {}",
+                runners.values().stream().map(runner -> runner.queue + ":" + runner.concurrency).toList(),
+                handlersByType.keySet(), jobQueueService.getNodeId());
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.poll-interval-ms:1000}")
+    public void poll() {
+        if (stopping) {
+            return;
+        }
+        for (QueueRunner runner : runners.values()) {
+            int idle = runner.concurrency - runner.inFlight.get();
+            if (idle <= 0) {
+                continue;
+            }
+            List<BackgroundJob> jobs;
+            try {
+                jobs = jobQueueService.claim(runner.queue, idle);
+            } catch (Exception e) {
+                logger.error("Failed to claim jobs from queue {}: {}", runner.queue, e.getMessage());
+                continue;
+            }
+            for (BackgroundJob job : jobs) {
+                runner.inFlight.incrementAndGet();
+                runner.executor.execute(() -> run(runner, job));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.maintenance-interval-ms:60000}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        // Lease expiry and cleanup are table-wide, so one node per interval is enough
+        clusterTaskService.runExclusive("job-queue-maintenance", maintenanceIntervalMs * 9 / 10,
+                run -> jobQueueService.maintain());
+    }
+
+    /**
+     * Stop claiming and give running jobs a moment to finish; jobs still running after that
+     * keep their lease and are picked up again once it expires
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        for (QueueRunner runner : runners.values()) {
+            runner.executor.shutdown();
+        }
+        for (QueueRunner runner : runners.values()) {
+            try {
+                if (!runner.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    logger.warn("⚠️ {} job(s) of queue {} still running at shutdown - they are retried after their lease expires",
+                            runner.inFlight.get(), runner.queue);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = jobQueueService.getStats();
+        stats.put("workerEnabled", enabled);
+        stats.put("handlers", handlersByType.keySet().stream().sorted().toList());
+        Map<String, Object> queueStats = new LinkedHashMap<>();
+        for (QueueRunner runner : runners.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("concurrency", runner.concurrency);
+            entry.put("inFlight", runner.inFlight.get());
+            entry.put("succeeded", runner.succeeded.get());
+            entry.put("failed", runner.failed.get());
+            queueStats.put(runner.queue, entry);
+        }
+        stats.put("localQueues", queueStats);
+        return stats;
+    }
+
+    private void run(QueueRunner runner, BackgroundJob job) {
+        long startNanos = System.nanoTime();
+        try {
+            JobHandler<?> handler = handlersByType.get(job.getJobType());
+            if (handler == null) {
+                // Possibly enqueued by a newer build during a rolling deploy; retried with backoff
+                throw new RuntimeException("No handler for job type " + job.getJobType() + " on this node");
+            }
+            invoke(handler, job.getPayload());
+            jobQueueService.complete(job);
+            runner.succeeded.incrementAndGet();
+            logger.debug("Job done | {} {} | Attempt {} | {}ms", job.getJobType(), job.getId(), job.getAttempts(),
+                    (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (Exception e) {
+            runner.failed.incrementAndGet();
+            try {
+                jobQueueService.fail(job, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+            } catch (Exception recordError) {
+                // The lease expires and the job is retried
+                logger.error("Failed to record failure of job {}: {}", job.getId(), recordError.getMessage());
+            }
+        } finally {
+            runner.inFlight.decrementAndGet();
+        }
+    }
+
+    private <P> void invoke(JobHandler<P> handler, String payload) throws Exception {
+        P value = payload != null ? objectMapper.readValue(payload, handler.payloadType()) : null;
+        handler.handle(value);
+    }
+
+    private static final class QueueRunner {
+        private final String queue;
+        private final int concurrency;
+        private final ExecutorService executor;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private QueueRunner(String queue, int concurrency, ExecutorService executor) {
+            this.queue = queue;
+            this.concurrency = concurrency;
+            this.executor = executor;
+        }
+    }
+}
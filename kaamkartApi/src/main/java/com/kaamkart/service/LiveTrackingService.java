@@ -0,0 +1,218 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.Location;
+import com.kaamkart.repository.DeployedWorkerRepository;
+import com.kaamkart.repository.RequestRepository;
+import com.kaamkart.repository.WorkerRepository;
+import com.kaamkart.util.StompSubscriptionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live tracking of deployed workers for the customer of a request.
+ *
+ * The customer subscribes to /topic/request-tracking/{requestId}. Every push-interval-ms the
+ * positions of that request's deployed workers that changed since the last push are sent as a
+ * single batch, so each subscriber receives at most one message per interval no matter how often
+ * workers ping. Nothing is built or sent for requests without an active subscriber.
+ * Pings only reach the node the worker is connected to; for workers without a live position on this
+ * node the flushed location in the workers table is used instead.
+ */
+@Service
+public class LiveTrackingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveTrackingService.class);
+
+    public static final String TOPIC_PREFIX = "/topic/request-tracking/";
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private DeployedWorkerRepository deployedWorkerRepository;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private WorkerLocationIngestionService workerLocationIngestionService;
+
+    @Autowired
+    private StompSubscriptionRegistry stompSubscriptionRegistry;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${live-tracking.roster-ttl-ms:60000}")
+    private long rosterTtlMs;
+
+    // requestId -> deployed worker user ids (refreshed every roster-ttl-ms while tracked)
+    private final Map<Long, Roster> rosters = new ConcurrentHashMap<>();
+
+    // requestId -> (worker user id -> last position sent to the topic)
+    private final Map<Long, Map<Long, String>> lastSent = new ConcurrentHashMap<>();
+
+    private final AtomicLong batchesSent = new AtomicLong();
+
+    /**
+     * Only the request's customer (or an admin) may follow its deployed workers
+     */
+    public boolean canTrack(Authentication authentication, Long requestId) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof Long)) {
+            return false;
+        }
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (isAdmin) {
+            return true;
+        }
+        Long userId = (Long) authentication.getPrincipal();
+        return requestRepository.findCustomerIdById(requestId)
+                .map(userId::equals)
+                .orElse(false);
+    }
+
+    /**
+     * Parse the request id from a tracking destination, or null if it is not one
+     */
+    public static Long parseRequestId(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(destination.substring(TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A new viewer gets a full snapshot on the next push instead of only subsequent changes
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        Long requestId = parseRequestId(StompHeaderAccessor.wrap(event.getMessage()).getDestination());
+        if (requestId != null) {
+            lastSent.remove(requestId);
+            rosters.remove(requestId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${live-tracking.push-interval-ms:2000}")
+    public void pushUpdates() {
+        Set<Long> activeRequestIds = new HashSet<>();
+        for (String destination : stompSubscriptionRegistry.getActiveDestinations(TOPIC_PREFIX)) {
+            Long requestId = parseRequestId(destination);
+            if (requestId == null) {
+                continue;
+            }
+            activeRequestIds.add(requestId);
+            try {
+                pushRequest(requestId, destination);
+            } catch (Exception e) {
+                logger.error("Error pushing live tracking for request {}: {}", requestId, e.getMessage());
+            }
+        }
+        // Forget state of requests nobody is watching anymore
+        rosters.keySet().retainAll(activeRequestIds);
+        lastSent.keySet().retainAll(activeRequestIds);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedRequests", rosters.size());
+        stats.put("batchesSent", batchesSent.get());
+        return stats;
+    }
+
+    private void pushRequest(Long requestId, String destination) {
+        List<Long> workerUserIds = roster(requestId);
+        if (workerUserIds.isEmpty()) {
+            return;
+        }
+        Map<Long, String> sent = lastSent.computeIfAbsent(requestId, id -> new ConcurrentHashMap<>());
+
+        Map<Long, Location> positions = new HashMap<>();
+        List<Long> withoutLivePosition = new ArrayList<>();
+        for (Long workerUserId : workerUserIds) {
+            Location live = workerLocationIngestionService.getLiveLocation(workerUserId);
+            if (live != null) {
+                positions.put(workerUserId, live);
+            } else {
+                withoutLivePosition.add(workerUserId);
+            }
+        }
+        // No ping on this node (the worker may be connected to another node, which flushes its pings to the
+        // workers table): re-read the stored location every tick, it is only sent when it has changed
+        if (!withoutLivePosition.isEmpty()) {
+            for (Object[] row : workerRepository.findCurrentLocationsByUserIds(withoutLivePosition)) {
+                if (row[1] != null && row[2] != null) {
+                    positions.put((Long) row[0], new Location((Double) row[1], (Double) row[2], (String) row[3], null));
+                }
+            }
+        }
+
+        List<Map<String, Object>> changed = new ArrayList<>();
+        positions.forEach((workerUserId, location) -> {
+            String key = location.getLatitude() + "," + location.getLongitude();
+            if (!key.equals(sent.get(workerUserId))) {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("workerId", workerUserId);
+                entry.put("latitude", location.getLatitude());
+                entry.put("longitude", location.getLongitude());
+                entry.put("address", location.getAddress());
+                changed.add(entry);
+                sent.put(workerUserId, key);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> batch = new HashMap<>();
+        batch.put("requestId", requestId);
+        batch.put("workers", changed);
+        batch.put("sentAt", LocalDateTime.now().toString());
+        messagingTemplate.convertAndSend(destination, batch);
+        batchesSent.incrementAndGet();
+    }
+
+    private List<Long> roster(Long requestId) {
+        Roster roster = rosters.get(requestId);
+        if (roster == null || System.currentTimeMillis() - roster.loadedAt > rosterTtlMs) {
+            roster = new Roster(deployedWorkerRepository.findWorkerUserIdsByRequestId(requestId), System.currentTimeMillis());
+            rosters.put(requestId, roster);
+        }
+        return roster.workerUserIds;
+    }
+
+    private static class Roster {
+        private final List<Long> workerUserIds;
+        private final long loadedAt;
+
+        Roster(List<Long> workerUserIds, long loadedAt) {
+            this.workerUserIds = workerUserIds;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
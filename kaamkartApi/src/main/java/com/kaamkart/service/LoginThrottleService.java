@@ -0,0 +1,239 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.LoginAttempt;
+import com.kaamkart.repository.LoginAttemptRepository;
+import com.kaamkart.util.SlidingWindowCounter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Brute-force protection for /api/auth/login and /api/auth/admin/login.
+ *
+ * Two sliding windows are checked before any user lookup or BCrypt work:
+ * - per IP: every login attempt from the address counts
+ * - per account: only failed attempts for the email count, and a successful login clears them
+ * Attempts over either limit are rejected with LoginThrottledException (HTTP 429 with Retry-After).
+ *
+ * Each check counts the attempt in the same step (tryAcquire), and the account slot is taken before
+ * the password is hashed and only given back by a successful login. A concurrent burst therefore
+ * cannot have every request pass the check before any of them is counted.
+ *
+ * Counters live in memory by default. With login-throttle.store=database they are kept in the
+ * login_attempts table instead, so several API instances share the same limits; each key is then
+ * serialized with a transaction-scoped advisory lock while it is checked and counted.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+
+    private static final String IP_PREFIX = "ip:";
+    private static final String ACCOUNT_PREFIX = "account:";
+
+    // First key of the two-int advisory lock, distinct from the cluster task locks
+    private static final int LOCK_NAMESPACE = 0x4C54;
+    private static final String LOCK_KEY_SQL = "SELECT pg_advisory_xact_lock(?, hashtext(?))";
+
+    @Autowired
+    private LoginAttemptRepository loginAttemptRepository;
+
+    @Autowired
+    private ClusterTaskService clusterTaskService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${login-throttle.store:memory}")
+    private String store;
+
+    @Value("${login-throttle.ip.max-attempts:20}")
+    private int ipMaxAttempts;
+
+    @Value("${login-throttle.ip.window-ms:60000}")
+    private long ipWindowMs;
+
+    @Value("${login-throttle.account.max-failures:5}")
+    private int accountMaxFailures;
+
+    @Value("${login-throttle.account.window-ms:900000}")
+    private long accountWindowMs;
+
+    @Value("${login-throttle.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+
+    @Value("${login-throttle.purge-interval-ms:300000}")
+    private long purgeIntervalMs;
+
+    private SlidingWindowCounter ipCounter;
+    private SlidingWindowCounter accountCounter;
+
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong blockedByIp = new AtomicLong();
+    private final AtomicLong blockedByAccount = new AtomicLong();
+    private final AtomicLong failuresRecorded = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        ipCounter = new SlidingWindowCounter(ipWindowMs, ipMaxAttempts, maxTrackedKeys);
+        accountCounter = new SlidingWindowCounter(accountWindowMs, accountMaxFailures, maxTrackedKeys);
+        logger.info("🛡️ Login throttling {} | store: {} | IP: {} attempts/{}ms | account: {} failures/{}ms",
+                enabled ? "enabled" : "disabled", store, ipMaxAttempts, ipWindowMs, accountMaxFailures, accountWindowMs);
+    }
+
+    /**
+     * Lower-cased, trimmed email used both for throttle keys and for the account lookup
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Reject the attempt if the IP or the account is over its limit; otherwise count it against the
+     * IP and reserve an account failure slot, which recordSuccess gives back
+     */
+    @Transactional
+    public void checkAllowed(String clientIp, String normalizedEmail) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String ipKey = IP_PREFIX + (clientIp != null ? clientIp : "unknown");
+
+        long ipRetryMs = tryAcquire(ipKey, ipCounter, ipMaxAttempts, ipWindowMs, now);
+        if (ipRetryMs > 0) {
+            blockedByIp.incrementAndGet();
+            logger.warn("🚫 LOGIN THROTTLED | IP: {} | retry in {}ms", clientIp, ipRetryMs);
+            throw new LoginThrottledException("Too many login attempts. Please try again later.", ipRetryMs);
+        }
+        if (normalizedEmail != null) {
+            String accountKey = ACCOUNT_PREFIX + normalizedEmail;
+            long accountRetryMs = tryAcquire(accountKey, accountCounter, accountMaxFailures, accountWindowMs, now);
+            if (accountRetryMs > 0) {
+                blockedByAccount.incrementAndGet();
+                logger.warn("🚫 LOGIN THROTTLED | Account: {} | retry in {}ms", normalizedEmail, accountRetryMs);
+                throw new LoginThrottledException("Too many failed login attempts for this account. Please try again later.",
+                        accountRetryMs);
+            }
+        }
+        allowed.incrementAndGet();
+    }
+
+    /**
+     * The failure was already counted by checkAllowed's reservation; only the statistic is kept here
+     */
+    public void recordFailure(String normalizedEmail) {
+        if (!enabled || normalizedEmail == null) {
+            return;
+        }
+        failuresRecorded.incrementAndGet();
+    }
+
+    @Transactional
+    public void recordSuccess(String normalizedEmail) {
+        if (!enabled || normalizedEmail == null) {
+            return;
+        }
+        String accountKey = ACCOUNT_PREFIX + normalizedEmail;
+        if (isDatabaseStore()) {
+            loginAttemptRepository.deleteByKey(accountKey);
+        } else {
+            accountCounter.clear(accountKey);
+        }
+    }
+
+    /**
+     * Drop counters whose window has passed (the shared login_attempts table by one node per interval)
+     */
+    @Scheduled(fixedDelayString = "${login-throttle.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        if (isDatabaseStore()) {
+            clusterTaskService.runExclusive("login-attempt-purge", purgeIntervalMs * 9 / 10, run -> {
+                long longestWindowMs = Math.max(ipWindowMs, accountWindowMs);
+                Integer deleted = transactionTemplate.execute(status ->
+                        loginAttemptRepository.deleteOlderThan(LocalDateTime.now().minus(Duration.ofMillis(longestWindowMs))));
+                if (deleted != null && deleted > 0) {
+                    logger.debug("Purged {} expired login attempts", deleted);
+                }
+            });
+        } else {
+            ipCounter.purgeExpired(now);
+            accountCounter.purgeExpired(now);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("store", store);
+        stats.put("allowed", allowed.get());
+        stats.put("blockedByIp", blockedByIp.get());
+        stats.put("blockedByAccount", blockedByAccount.get());
+        stats.put("failuresRecorded", failuresRecorded.get());
+        if (!isDatabaseStore()) {
+            stats.put("trackedIps", ipCounter.size());
+            stats.put("trackedAccounts", accountCounter.size());
+        }
+        return stats;
+    }
+
+    private boolean isDatabaseStore() {
+        return "database".equalsIgnoreCase(store);
+    }
+
+    private long tryAcquire(String key, SlidingWindowCounter counter, int limit, long windowMs, long now) {
+        if (!isDatabaseStore()) {
+            return counter.tryAcquire(key, now);
+        }
+        // Held until checkAllowed's transaction ends, so the count and the insert below are one step per key
+        jdbcTemplate.query(LOCK_KEY_SQL, resultSet -> null, LOCK_NAMESPACE, key);
+        LocalDateTime windowStart = LocalDateTime.now().minus(Duration.ofMillis(windowMs));
+        List<LocalDateTime> recent = loginAttemptRepository.findRecentAttemptTimes(key, windowStart, PageRequest.of(0, limit));
+        if (recent.size() >= limit) {
+            // The limit-th newest attempt has to leave the window before the key is under the limit again
+            LocalDateTime releasesAt = recent.get(limit - 1).plus(Duration.ofMillis(windowMs));
+            return Math.max(1, Duration.between(LocalDateTime.now(), releasesAt).toMillis());
+        }
+        loginAttemptRepository.save(new LoginAttempt(null, key, LocalDateTime.now()));
+        return 0;
+    }
+
+    /**
+     * Login rejected before any password check; mapped to HTTP 429 by AuthController
+     */
+    public static class LoginThrottledException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public LoginThrottledException(String message, long retryAfterMs) {
+            super(message);
+            this.retryAfterSeconds = Math.max(1, (retryAfterMs + 999) / 1000);
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.kaamkart.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs BCrypt password checks for logins on a small dedicated pool with a bounded queue,
+ * so a burst of login attempts can use at most auth.hashing.threads cores instead of every
+ * request thread. When the queue is full the attempt is rejected straight away with a 429
+ * rather than waiting behind hashes it would time out on anyway.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    // 0 = half of the available processors (at least 1)
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${auth.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor hashingExecutor;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalHashMs = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        hashingExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        logger.info("🔑 Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    /**
+     * passwordEncoder.matches on the hashing pool
+     * @throws LoginThrottleService.LoginThrottledException when the pool is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = hashingExecutor.submit(() -> {
+                long started = System.currentTimeMillis();
+                boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
+                totalHashMs.addAndGet(System.currentTimeMillis() - started);
+                completed.incrementAndGet();
+                return matches;
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            logger.warn("🚫 Password hashing queue full ({} queued) - rejecting login attempt", hashingExecutor.getQueue().size());
+            throw new LoginThrottleService.LoginThrottledException("Too many login attempts in progress. Please try again shortly.", 1000);
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            timedOut.incrementAndGet();
+            throw new LoginThrottleService.LoginThrottledException("Login is taking longer than usual. Please try again shortly.", 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Login interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password check failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long done = completed.get();
+        stats.put("poolSize", hashingExecutor.getCorePoolSize());
+        stats.put("active", hashingExecutor.getActiveCount());
+        stats.put("queued", hashingExecutor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completed", done);
+        stats.put("rejected", rejected.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("avgHashMs", done > 0 ? totalHashMs.get() / done : 0);
+        return stats;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kaamkart.service;
+
+import com.kaamkart.repository.PasswordResetTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes password reset tokens that expired more than retention-hours ago, once per interval
+ * across all API nodes (see ClusterTaskService). Expired tokens can no longer reset a password;
+ * the retention only keeps recent ones around for support questions.
+ */
+@Component
+public class PasswordResetTokenCleaner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetTokenCleaner.class);
+
+    private static final String TASK_NAME = "password-reset-token-cleanup";
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private ClusterTaskService clusterTaskService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${password-reset.cleanup.interval-ms:3600000}")
+    private long intervalMs;
+
+    @Value("${password-reset.cleanup.retention-hours:24}")
+    private long retentionHours;
+
+    @Scheduled(initialDelayString = "${password-reset.cleanup.initial-delay-ms:120000}",
+            fixedDelayString = "${password-reset.cleanup.interval-ms:3600000}")
+    public void deleteExpiredTokens() {
+        clusterTaskService.runExclusive(TASK_NAME, intervalMs * 9 / 10, run -> {
+            Integer deleted = transactionTemplate.execute(status -> {
+                clusterTaskService.assertFence(run);
+                return passwordResetTokenRepository.deleteExpiredTokens(LocalDateTime.now().minusHours(retentionHours));
+            });
+            if (deleted != null && deleted > 0) {
+                logger.info("🧹 Deleted {} password reset tokens expired more than {}h ago", deleted, retentionHours);
+            }
+        });
+    }
+}
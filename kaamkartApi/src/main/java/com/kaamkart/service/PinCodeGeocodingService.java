@@ -1,15 +1,18 @@
 package com.kaamkart.service;
 
 import com.kaamkart.model.Location;
+import com.kaamkart.util.OutboundHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service to get location (latitude, longitude, address) from Indian pin code
@@ -20,8 +23,22 @@ public class PinCodeGeocodingService {
     
     private static final Logger logger = LoggerFactory.getLogger(PinCodeGeocodingService.class);
     
-    private static final String INDIA_POST_API_URL = "https://api.postalpincode.in/pincode/";
-    private static final String NOMINATIM_API_URL = "https://nominatim.openstreetmap.org/search";
+    private static final Map<String, String> INDIA_POST_HEADERS = Map.of("User-Agent", "KaamKart-App");
+    private static final Map<String, String> NOMINATIM_HEADERS = Map.of(
+            "User-Agent", "KaamKart-App/1.0 (Contact: support@kaamkart.com)",
+            "Accept-Language", "en");
+    
+    @Value("${outbound.india-post.base-url:https://api.postalpincode.in/pincode/}")
+    private String indiaPostApiUrl;
+    
+    @Value("${outbound.nominatim.base-url:https://nominatim.openstreetmap.org/search}")
+    private String nominatimApiUrl;
+    
+    @Autowired
+    private OutboundHttpClient outboundHttpClient;
+    
+    @Autowired
+    private GeocodeStrategyResolver geocodeStrategyResolver;
     
     /**
      * Get location from pin code (latitude, longitude, and address)
@@ -38,31 +55,22 @@ public class PinCodeGeocodingService {
         logger.info("📍 Geocoding pin code: {}", pinCodeClean);
         
         try {
-            // Step 1: Get address details from India Post API
+            // Step 1: Get address details from India Post API.
+            // The pin-only Nominatim query does not depend on it, so start that one speculatively alongside.
             String address = null;
             String state = null;
             String city = null;
             
+            String postApiUrl = indiaPostApiUrl + pinCodeClean;
+            CompletableFuture<OutboundHttpClient.Response> postCall =
+                    outboundHttpClient.getAsync("india-post", postApiUrl, INDIA_POST_HEADERS);
+            GeocodeStrategyResolver.Strategy pinOnlyStrategy =
+                    new GeocodeStrategyResolver.Strategy("PIN", pinCodeClean + ", India");
+            CompletableFuture<double[]> pinOnlyLookup = nominatimLookup(pinCodeClean, pinOnlyStrategy);
+            
             try {
-                String postApiUrl = INDIA_POST_API_URL + pinCodeClean;
-                HttpURLConnection connection = (HttpURLConnection) new URL(postApiUrl).openConnection();
-                connection.setRequestMethod("GET");
-                connection.setConnectTimeout(5000);
-                connection.setReadTimeout(5000);
-                connection.setRequestProperty("User-Agent", "KaamKart-App");
-                
-                int responseCode = connection.getResponseCode();
-                if (responseCode == 200) {
-                    BufferedReader reader = new BufferedReader(
-                        new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    String jsonResponse = response.toString();
+                String jsonResponse = outboundHttpClient.awaitBody("india-post", postApiUrl, postCall);
+                if (jsonResponse != null) {
                     logger.debug("India Post API response for pin code {}: {}", pinCodeClean, jsonResponse);
                     
                     // Parse India Post API response
@@ -114,97 +122,35 @@ public class PinCodeGeocodingService {
             }
             
             // Step 2: Get latitude and longitude using Nominatim (OpenStreetMap)
-            Double latitude = null;
-            Double longitude = null;
-            
-            // Try multiple search strategies
-            String[] searchQueries = new String[0];
+            // Query strategies run concurrently (bounded by the nominatim bulkhead), best-ranked success wins
+            List<GeocodeStrategyResolver.Strategy> strategies = new ArrayList<>();
             if (city != null && !city.isEmpty() && state != null && !state.isEmpty()) {
-                searchQueries = new String[]{
-                    city + ", " + state + ", India " + pinCodeClean,  // City, State, India PIN
-                    pinCodeClean + ", " + city + ", " + state + ", India",  // PIN, City, State, India
-                    city + ", " + state + ", India",  // City, State, India
-                    pinCodeClean + ", India"  // PIN, India
-                };
+                strategies.add(new GeocodeStrategyResolver.Strategy("CITY_STATE_PIN", city + ", " + state + ", India " + pinCodeClean));
+                strategies.add(new GeocodeStrategyResolver.Strategy("PIN_CITY_STATE", pinCodeClean + ", " + city + ", " + state + ", India"));
+                strategies.add(new GeocodeStrategyResolver.Strategy("CITY_STATE", city + ", " + state + ", India", true));
             } else if (city != null && !city.isEmpty()) {
-                searchQueries = new String[]{
-                    city + ", India " + pinCodeClean,
-                    pinCodeClean + ", " + city + ", India",
-                    city + ", India"
-                };
+                strategies.add(new GeocodeStrategyResolver.Strategy("CITY_PIN", city + ", India " + pinCodeClean));
+                strategies.add(new GeocodeStrategyResolver.Strategy("PIN_CITY", pinCodeClean + ", " + city + ", India"));
+                strategies.add(new GeocodeStrategyResolver.Strategy("CITY", city + ", India", true));
             } else if (state != null && !state.isEmpty()) {
-                searchQueries = new String[]{
-                    state + ", India " + pinCodeClean,
-                    pinCodeClean + ", " + state + ", India",
-                    state + ", India"
-                };
-            } else {
-                searchQueries = new String[]{
-                    pinCodeClean + ", India"
-                };
+                strategies.add(new GeocodeStrategyResolver.Strategy("STATE_PIN", state + ", India " + pinCodeClean));
+                strategies.add(new GeocodeStrategyResolver.Strategy("PIN_STATE", pinCodeClean + ", " + state + ", India"));
+                strategies.add(new GeocodeStrategyResolver.Strategy("STATE", state + ", India", true));
             }
+            strategies.add(pinOnlyStrategy);
             
-            for (String searchQuery : searchQueries) {
-                if (latitude != null && longitude != null) {
-                    break; // Already got coordinates
-                }
-                
-                try {
-                    String nominatimUrl = NOMINATIM_API_URL + "?q=" + 
-                        java.net.URLEncoder.encode(searchQuery, StandardCharsets.UTF_8) + 
-                        "&format=json&limit=1&countrycodes=in";
-                    
-                    HttpURLConnection connection = (HttpURLConnection) new URL(nominatimUrl).openConnection();
-                    connection.setRequestMethod("GET");
-                    connection.setConnectTimeout(8000); // Increased timeout
-                    connection.setReadTimeout(8000);
-                    connection.setRequestProperty("User-Agent", "KaamKart-App/1.0 (Contact: support@kaamkart.com)");
-                    connection.setRequestProperty("Accept-Language", "en");
-                    
-                    int responseCode = connection.getResponseCode();
-                    if (responseCode == 200) {
-                        BufferedReader reader = new BufferedReader(
-                            new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
-                        StringBuilder response = new StringBuilder();
-                        String line;
-                        while ((line = reader.readLine()) != null) {
-                            response.append(line);
-                        }
-                        reader.close();
-                        
-                        String jsonResponse = response.toString();
-                        logger.debug("Nominatim API response for pin code {} (query: {}): {}", pinCodeClean, searchQuery, jsonResponse);
-                        
-                        // Parse Nominatim response: [{"place_id":...,"lat":"28.6139","lon":"77.2090",...}]
-                        if (jsonResponse.startsWith("[") && jsonResponse.length() > 2 && jsonResponse.contains("\"lat\"") && jsonResponse.contains("\"lon\"")) {
-                            String latStr = extractJsonValue(jsonResponse, "lat");
-                            String lonStr = extractJsonValue(jsonResponse, "lon");
-                            
-                            if (latStr != null && lonStr != null) {
-                                try {
-                                    latitude = Double.parseDouble(latStr);
-                                    longitude = Double.parseDouble(lonStr);
-                                    logger.info("✅ Geocoded pin code {} using query '{}': lat={}, lon={}", 
-                                            pinCodeClean, searchQuery, latitude, longitude);
-                                    break; // Success, no need to try other queries
-                                } catch (NumberFormatException e) {
-                                    logger.warn("Failed to parse coordinates: lat={}, lon={}", latStr, lonStr);
-                                }
-                            }
-                        }
-                    } else {
-                        logger.debug("Nominatim API returned status code: {} for pin code: {} (query: {})", 
-                                responseCode, pinCodeClean, searchQuery);
-                    }
-                } catch (Exception e) {
-                    logger.debug("Failed to geocode pin code {} using Nominatim with query '{}': {}", 
-                            pinCodeClean, searchQuery, e.getMessage());
-                }
-            }
+            double[] coordinates = geocodeStrategyResolver.resolve(
+                    strategies,
+                    Map.of(pinOnlyStrategy.getName(), pinOnlyLookup),
+                    strategy -> nominatimLookup(pinCodeClean, strategy),
+                    outboundHttpClient.getTimeoutMs("nominatim") + 500);
+            
+            Double latitude = coordinates != null ? coordinates[0] : null;
+            Double longitude = coordinates != null ? coordinates[1] : null;
             
             if (latitude == null || longitude == null) {
                 logger.warn("⚠️ Could not geocode pin code {} to get coordinates after trying {} queries", 
-                        pinCodeClean, searchQueries.length);
+                        pinCodeClean, strategies.size());
             }
             
             // Create location object
@@ -235,6 +181,47 @@ public class PinCodeGeocodingService {
         }
     }
     
+    /**
+     * Start one Nominatim search; completes with {lat, lon}, or null when the query found nothing
+     */
+    private CompletableFuture<double[]> nominatimLookup(String pinCode, GeocodeStrategyResolver.Strategy strategy) {
+        String nominatimUrl = nominatimApiUrl + "?q=" + 
+            java.net.URLEncoder.encode(strategy.getQuery(), StandardCharsets.UTF_8) + 
+            "&format=json&limit=1&countrycodes=in";
+        
+        CompletableFuture<OutboundHttpClient.Response> call = outboundHttpClient.getAsync("nominatim", nominatimUrl, NOMINATIM_HEADERS);
+        CompletableFuture<double[]> lookup = call.thenApply(response -> {
+            String jsonResponse = response.getStatusCode() == 200 ? response.getBody() : null;
+            if (jsonResponse == null) {
+                logger.debug("Nominatim API returned status code: {} for pin code: {} (query: {})", 
+                        response.getStatusCode(), pinCode, strategy.getQuery());
+                return null;
+            }
+            logger.debug("Nominatim API response for pin code {} (query: {}): {}", pinCode, strategy.getQuery(), jsonResponse);
+            
+            // Parse Nominatim response: [{"place_id":...,"lat":"28.6139","lon":"77.2090",...}]
+            if (jsonResponse.startsWith("[") && jsonResponse.length() > 2 && jsonResponse.contains("\"lat\"") && jsonResponse.contains("\"lon\"")) {
+                String latStr = extractJsonValue(jsonResponse, "lat");
+                String lonStr = extractJsonValue(jsonResponse, "lon");
+                
+                if (latStr != null && lonStr != null) {
+                    try {
+                        double[] coordinates = {Double.parseDouble(latStr), Double.parseDouble(lonStr)};
+                        logger.info("✅ Geocoded pin code {} using {} query '{}': lat={}, lon={}", 
+                                pinCode, strategy.getName(), strategy.getQuery(), coordinates[0], coordinates[1]);
+                        return coordinates;
+                    } catch (NumberFormatException e) {
+                        logger.warn("Failed to parse coordinates: lat={}, lon={}", latStr, lonStr);
+                    }
+                }
+            }
+            return null;
+        });
+        // Cancelling the lookup (another strategy won) stops the HTTP call and frees its bulkhead slot
+        lookup.whenComplete((coordinates, error) -> call.cancel(true));
+        return lookup;
+    }
+    
     /**
      * Extract JSON value by key (simple parsing)
      */
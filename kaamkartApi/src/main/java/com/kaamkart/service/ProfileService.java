@@ -16,6 +16,9 @@ public class ProfileService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ClusterCacheService clusterCacheService;
+
     public User getUserProfile(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -44,7 +47,10 @@ public class ProfileService {
             user.setLocation(location);
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // The display name is cached per principal on every node
+        clusterCacheService.invalidate(ClusterCacheService.PRINCIPALS, userId);
+        return savedUser;
     }
 
     public Map<String, Object> getProfileResponse(User user) {
@@ -0,0 +1,250 @@
+package com.kaamkart.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaamkart.model.Advertisement;
+import com.kaamkart.model.SuccessStory;
+import com.kaamkart.model.WorkerType;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory, pre-serialized snapshots of the public landing-page catalog
+ * (worker types, active advertisements, success stories).
+ *
+ * Snapshots are built lazily and reused until they are invalidated by admin CRUD (on any node, through
+ * ClusterCacheService), or, for advertisements, until the next start/end boundary of an active ad passes.
+ */
+@Service
+public class PublicCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicCatalogService.class);
+
+    static final String WORKER_TYPES = "worker-types";
+    static final String ADVERTISEMENTS = "advertisements";
+    static final String SUCCESS_STORIES = "success-stories";
+
+    @Autowired
+    private WorkerTypeService workerTypeService;
+
+    @Autowired
+    private AdvertisementService advertisementService;
+
+    @Autowired
+    private SuccessStoryService successStoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClusterCacheService clusterCacheService;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @Autowired
+    private WorkerTypeRegistry workerTypeRegistry;
+
+    // A lock rather than synchronized: snapshots are built from the database while holding it,
+    // and a virtual thread blocked inside synchronized would pin its carrier thread
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private volatile CatalogSnapshot workerTypesSnapshot;
+    private volatile CatalogSnapshot advertisementsSnapshot;
+    private volatile CatalogSnapshot successStoriesSnapshot;
+
+    @PostConstruct
+    public void registerInvalidationListener() {
+        // Admin changes on any node drop the snapshots on every node
+        clusterCacheService.addInvalidationListener(ClusterCacheService.CATALOG, this::onCatalogInvalidated);
+    }
+
+    public CatalogSnapshot getWorkerTypes() {
+        CatalogSnapshot snapshot = workerTypesSnapshot;
+        if (snapshot == null) {
+            snapshotLock.lock();
+            try {
+                if (workerTypesSnapshot == null) {
+                    workerTypesSnapshot = buildSnapshot(WORKER_TYPES, workerTypeService.getActiveWorkerTypes(), null);
+                }
+                snapshot = workerTypesSnapshot;
+            } finally {
+                snapshotLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    public CatalogSnapshot getAdvertisements() {
+        CatalogSnapshot snapshot = advertisementsSnapshot;
+        if (snapshot == null || snapshot.isExpired(LocalDateTime.now())) {
+            snapshotLock.lock();
+            try {
+                if (advertisementsSnapshot == null || advertisementsSnapshot.isExpired(LocalDateTime.now())) {
+                    LocalDateTime now = LocalDateTime.now();
+                    List<Advertisement> allAds = advertisementService.getAllAdvertisements();
+                    advertisementsSnapshot = buildSnapshot(ADVERTISEMENTS,
+                            advertisementService.getActiveAdvertisements(), findNextAdvertisementBoundary(allAds, now));
+                }
+                snapshot = advertisementsSnapshot;
+            } finally {
+                snapshotLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    public CatalogSnapshot getSuccessStories() {
+        CatalogSnapshot snapshot = successStoriesSnapshot;
+        if (snapshot == null) {
+            snapshotLock.lock();
+            try {
+                if (successStoriesSnapshot == null) {
+                    successStoriesSnapshot = buildSnapshot(SUCCESS_STORIES, successStoryService.getActiveStories(), null);
+                }
+                snapshot = successStoriesSnapshot;
+            } finally {
+                snapshotLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    public void invalidateWorkerTypes() {
+        clusterCacheService.invalidate(ClusterCacheService.CATALOG, WORKER_TYPES);
+    }
+
+    public void invalidateAdvertisements() {
+        clusterCacheService.invalidate(ClusterCacheService.CATALOG, ADVERTISEMENTS);
+    }
+
+    public void invalidateSuccessStories() {
+        clusterCacheService.invalidate(ClusterCacheService.CATALOG, SUCCESS_STORIES);
+    }
+
+    /**
+     * Drop the snapshot on this node, for a local admin change or one made on another node.
+     * For a remote change this node's second-level cache (and worker type bits) still hold the old rows,
+     * so they are refreshed before the snapshot is rebuilt.
+     */
+    private void onCatalogInvalidated(String key, boolean remote) {
+        if (key == null || WORKER_TYPES.equals(key)) {
+            if (remote) {
+                secondLevelCacheService.evictEntity(WorkerType.class, null);
+                workerTypeRegistry.refresh(false);
+            }
+            dropSnapshot(WORKER_TYPES);
+        }
+        if (key == null || ADVERTISEMENTS.equals(key)) {
+            if (remote) {
+                secondLevelCacheService.evictEntity(Advertisement.class, null);
+            }
+            dropSnapshot(ADVERTISEMENTS);
+        }
+        if (key == null || SUCCESS_STORIES.equals(key)) {
+            if (remote) {
+                secondLevelCacheService.evictEntity(SuccessStory.class, null);
+            }
+            dropSnapshot(SUCCESS_STORIES);
+        }
+    }
+
+    private void dropSnapshot(String name) {
+        snapshotLock.lock();
+        try {
+            switch (name) {
+                case WORKER_TYPES -> workerTypesSnapshot = null;
+                case ADVERTISEMENTS -> advertisementsSnapshot = null;
+                default -> successStoriesSnapshot = null;
+            }
+        } finally {
+            snapshotLock.unlock();
+        }
+        logger.debug("Public catalog snapshot invalidated: {}", name);
+    }
+
+    /**
+     * Earliest moment after now at which the active-advertisement set can change on its own:
+     * an active ad starting, or an active ad passing its end date (end date is inclusive).
+     */
+    private LocalDateTime findNextAdvertisementBoundary(List<Advertisement> ads, LocalDateTime now) {
+        LocalDateTime next = null;
+        for (Advertisement ad : ads) {
+            if (ad.getIsActive() == null || !ad.getIsActive()) {
+                continue;
+            }
+            if (ad.getStartDate() != null && ad.getStartDate().isAfter(now)) {
+                next = earliest(next, ad.getStartDate());
+            }
+            if (ad.getEndDate() != null && !ad.getEndDate().isBefore(now)) {
+                next = earliest(next, ad.getEndDate().plusNanos(1));
+            }
+        }
+        return next;
+    }
+
+    private LocalDateTime earliest(LocalDateTime current, LocalDateTime candidate) {
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    private CatalogSnapshot buildSnapshot(String name, Object payload, LocalDateTime validUntil) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(payload);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            logger.info("📦 Public catalog snapshot built | {} | {} bytes | ETag: {} | Valid until: {}",
+                    name, body.length, etag, validUntil != null ? validUntil : "next admin change");
+            return new CatalogSnapshot(body, etag, validUntil);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to build public catalog snapshot for " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    public static final class CatalogSnapshot {
+        private final byte[] body;
+        private final String etag;
+        private final LocalDateTime validUntil;
+
+        CatalogSnapshot(byte[] body, String etag, LocalDateTime validUntil) {
+            this.body = body;
+            this.etag = etag;
+            this.validUntil = validUntil;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public boolean isExpired(LocalDateTime now) {
+            return validUntil != null && !now.isBefore(validUntil);
+        }
+
+        /**
+         * Strong comparison against an If-None-Match header (comma-separated list or "*")
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import com.kaamkart.repository.RatingRepository;
 import com.kaamkart.repository.RequestRepository;
 import com.kaamkart.repository.UserRepository;
 import com.kaamkart.repository.WorkerRepository;
+import com.kaamkart.util.BoundedCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +33,20 @@ public class RatingService {
     @Autowired
     private WorkerRepository workerRepository;
 
+    @Autowired
+    private ClusterCacheService clusterCacheService;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    // Rated user id -> average rating and count
+    private BoundedCache<String, Map<String, Object>> ratingStats;
+
+    @PostConstruct
+    public void initCaches() {
+        ratingStats = clusterCacheService.region(ClusterCacheService.RATING_STATS, 5000, 600000);
+    }
+
     @Transactional
     public Rating createRating(Long raterId, CreateRatingDto dto) {
         User rater = userRepository.findById(raterId)
@@ -80,18 +96,22 @@ public class RatingService {
             savedRating = ratingRepository.save(rating);
         }
 
-        // Update worker's average rating if the rated user is a worker
+        // Update worker's average rating if the rated user is a worker (background job, committed with the rating)
         if (rated.getRole() == User.UserRole.WORKER) {
-            updateWorkerRating(rated.getId());
+            jobQueueService.enqueue(JobQueueService.RATINGS_QUEUE, WorkerRatingJobHandler.TYPE, rated.getId());
         }
         // Note: Customer ratings are calculated dynamically from ratings table
         // No need to update a separate field for customers
+        clusterCacheService.invalidate(ClusterCacheService.RATING_STATS, rated.getId());
 
         return savedRating;
     }
 
+    /**
+     * Recompute a worker's average rating from all their ratings (see WorkerRatingJobHandler)
+     */
     @Transactional
-    private void updateWorkerRating(Long workerUserId) {
+    public void recomputeWorkerRating(Long workerUserId) {
         Optional<Worker> workerOpt = workerRepository.findByUserId(workerUserId);
         if (workerOpt.isPresent()) {
             Worker worker = workerOpt.get();
@@ -119,6 +139,10 @@ public class RatingService {
     }
 
     public Map<String, Object> getUserRatingStats(Long userId) {
+        return ratingStats.getOrLoad(String.valueOf(userId), () -> loadUserRatingStats(userId));
+    }
+
+    private Map<String, Object> loadUserRatingStats(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
@@ -0,0 +1,83 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.Advertisement;
+import com.kaamkart.model.SuccessStory;
+import com.kaamkart.model.SystemUser;
+import com.kaamkart.model.WorkerType;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a cluster invalidation for every JPA write of a second-level cached entity
+ * (SystemUser, WorkerType, Advertisement, SuccessStory), whichever code path saved it.
+ *
+ * Each node's second-level cache and reference query cache only see the writes made on that node;
+ * the invalidation makes the other nodes evict their copy (see the ADMIN_CONTEXT and CATALOG
+ * listeners), so e.g. a reset admin password is not accepted with the old hash elsewhere.
+ * Inside a transaction the NOTIFY is only delivered if that transaction commits.
+ */
+@Component
+public class ReferenceDataChangeListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClusterCacheService clusterCacheService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void changed(Object entity, Object id) {
+        if (entity instanceof SystemUser && id instanceof Long systemUserId) {
+            // Principals and admin context of system users carry negative ids
+            clusterCacheService.invalidate(ClusterCacheService.ADMIN_CONTEXT, -systemUserId);
+            clusterCacheService.invalidate(ClusterCacheService.PRINCIPALS, -systemUserId);
+        } else if (entity instanceof WorkerType) {
+            clusterCacheService.invalidate(ClusterCacheService.CATALOG, PublicCatalogService.WORKER_TYPES);
+        } else if (entity instanceof Advertisement) {
+            clusterCacheService.invalidate(ClusterCacheService.CATALOG, PublicCatalogService.ADVERTISEMENTS);
+        } else if (entity instanceof SuccessStory) {
+            clusterCacheService.invalidate(ClusterCacheService.CATALOG, PublicCatalogService.SUCCESS_STORIES);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.kaamkart.service;
+
+import com.kaamkart.dto.RequestLifecycleEvent;
+import com.kaamkart.model.Request;
+import com.kaamkart.repository.DeployedWorkerRepository;
+import com.kaamkart.repository.RequestRepository;
+import com.kaamkart.repository.WorkerRepository;
+import com.kaamkart.util.StompSubscriptionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically moves requests whose work period is over out of the active statuses, so feeds and
+ * worker matching (findByStatusIn) stop re-scanning them and nothing has to be evaluated on read.
+ *
+ * - Open requests (not yet deployed) whose end date passed are CANCELLED.
+ * - Workers deployed on a request whose end date passed are made available again, unless they are
+ *   still deployed on another running request. The request itself stays DEPLOYED until the
+ *   customer completes and rates it; workersReleasedAt keeps the release from running twice.
+ *
+ * Every change is a set-based UPDATE over a chunk of ids, one transaction per chunk.
+ * Sweeps run on one node at a time through ClusterTaskService, and every chunk transaction checks
+ * the run's fencing token.
+ */
+@Component
+public class RequestLifecycleSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestLifecycleSweeper.class);
+
+    public static final String ADMIN_TOPIC = "/topic/admin/request-lifecycle";
+
+    private static final String TASK_NAME = "request-lifecycle-sweep";
+
+    private static final List<Request.RequestStatus> OPEN_STATUSES = List.of(
+            Request.RequestStatus.PENDING,
+            Request.RequestStatus.PENDING_ADMIN_APPROVAL,
+            Request.RequestStatus.ADMIN_APPROVED,
+            Request.RequestStatus.NOTIFIED,
+            Request.RequestStatus.CONFIRMED
+    );
+
+    private static final List<String> OPEN_STATUS_NAMES = OPEN_STATUSES.stream().map(Enum::name).toList();
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private DeployedWorkerRepository deployedWorkerRepository;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private StompSubscriptionRegistry stompSubscriptionRegistry;
+
+    @Autowired
+    private ClusterTaskService clusterTaskService;
+
+    @Value("${lifecycle.sweep.enabled:true}")
+    private boolean enabled;
+
+    @Value("${lifecycle.sweep.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${lifecycle.sweep.interval-ms:900000}")
+    private long intervalMs;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong sweeps = new AtomicLong();
+    private final AtomicLong requestsExpired = new AtomicLong();
+    private final AtomicLong workersReleased = new AtomicLong();
+    private volatile LocalDateTime lastSweepAt;
+    private volatile long lastSweepMs;
+    private volatile String lastError;
+
+    @Scheduled(initialDelayString = "${lifecycle.sweep.initial-delay-ms:60000}",
+            fixedDelayString = "${lifecycle.sweep.interval-ms:900000}")
+    public void scheduledSweep() {
+        if (enabled) {
+            // Another node may have swept within this interval already; allow for timer jitter
+            runSweep(intervalMs * 9 / 10);
+        }
+    }
+
+    /**
+     * Run one sweep now (skipped if one is already running on any node)
+     * @return counts changed by this sweep
+     */
+    public Map<String, Object> sweep() {
+        return runSweep(0);
+    }
+
+    private Map<String, Object> runSweep(long minIntervalMs) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!running.compareAndSet(false, true)) {
+            result.put("skipped", "A sweep is already running");
+            return result;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            ClusterTaskService.Outcome outcome = clusterTaskService.runExclusive(TASK_NAME, minIntervalMs, run -> {
+                LocalDate today = LocalDate.now();
+                int expired = expireOpenRequests(run, today);
+                result.put("requestsExpired", expired);
+                int released = releaseEndedDeployments(run, today);
+                result.put("workersReleased", released);
+                if (expired > 0 || released > 0) {
+                    logger.info("🧹 Lifecycle sweep: {} open requests expired, {} workers released", expired, released);
+                }
+            });
+            switch (outcome) {
+                case SUCCEEDED -> lastError = null;
+                case BUSY -> result.put("skipped", "A sweep is already running on another node");
+                case NOT_DUE -> result.put("skipped", "Another node swept less than an interval ago");
+                default -> {
+                    lastError = "Sweep " + outcome.name().toLowerCase() + " - see cluster-tasks metrics";
+                    result.put("error", lastError);
+                }
+            }
+            result.put("outcome", outcome.name());
+        } finally {
+            sweeps.incrementAndGet();
+            lastSweepAt = LocalDateTime.now();
+            lastSweepMs = System.currentTimeMillis() - started;
+            running.set(false);
+        }
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running.get());
+        stats.put("sweeps", sweeps.get());
+        stats.put("requestsExpired", requestsExpired.get());
+        stats.put("workersReleased", workersReleased.get());
+        stats.put("lastSweepAt", lastSweepAt);
+        stats.put("lastSweepMs", lastSweepMs);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    private int expireOpenRequests(ClusterTaskService.TaskRun run, LocalDate today) {
+        int total = 0;
+        while (true) {
+            List<Long> ids = requestRepository.findIdsByStatusInAndEndDateBefore(OPEN_STATUSES, today,
+                    PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            // Only the rows still open when locked are cancelled and published; the others changed meanwhile
+            List<Long> expiredIds = transactionTemplate.execute(status -> {
+                clusterTaskService.assertFence(run);
+                List<Long> lockedIds = requestRepository.lockIdsInStatuses(ids, OPEN_STATUS_NAMES);
+                if (!lockedIds.isEmpty()) {
+                    requestRepository.updateStatusForIds(lockedIds, OPEN_STATUSES, Request.RequestStatus.CANCELLED);
+                }
+                return lockedIds;
+            });
+            if (expiredIds != null && !expiredIds.isEmpty()) {
+                total += expiredIds.size();
+                requestsExpired.addAndGet(expiredIds.size());
+                publish(new RequestLifecycleEvent(RequestLifecycleEvent.Type.REQUESTS_EXPIRED, expiredIds,
+                        new ArrayList<>(), LocalDateTime.now()));
+            }
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int releaseEndedDeployments(ClusterTaskService.TaskRun run, LocalDate today) {
+        int total = 0;
+        while (true) {
+            List<Long> requestIds = requestRepository.findIdsPendingWorkerRelease(Request.RequestStatus.DEPLOYED, today,
+                    PageRequest.of(0, chunkSize));
+            if (requestIds.isEmpty()) {
+                break;
+            }
+            List<Long> releasedUserIds = transactionTemplate.execute(status -> {
+                clusterTaskService.assertFence(run);
+                List<Long> userIds = deployedWorkerRepository.findWorkerUserIdsByRequestIds(requestIds);
+                List<Long> releasable = userIds.isEmpty() ? new ArrayList<>()
+                        : workerRepository.findReleasableUserIds(userIds, Request.RequestStatus.DEPLOYED, today);
+                if (!releasable.isEmpty()) {
+                    workerRepository.markAvailableByUserIds(releasable);
+                }
+                requestRepository.markWorkersReleased(requestIds, LocalDateTime.now());
+                return releasable;
+            });
+            if (releasedUserIds != null && !releasedUserIds.isEmpty()) {
+                total += releasedUserIds.size();
+                workersReleased.addAndGet(releasedUserIds.size());
+                notifyAvailability(releasedUserIds);
+                publish(new RequestLifecycleEvent(RequestLifecycleEvent.Type.WORKERS_RELEASED, requestIds,
+                        releasedUserIds, LocalDateTime.now()));
+            }
+            if (requestIds.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Same payload WorkerService sends when a worker changes availability themselves
+    private void notifyAvailability(List<Long> userIds) {
+        for (Long userId : userIds) {
+            String destination = "/topic/worker-availability/" + userId;
+            if (!stompSubscriptionRegistry.hasSubscribers(destination)) {
+                continue;
+            }
+            Map<String, Object> availabilityUpdate = new HashMap<>();
+            availabilityUpdate.put("workerId", userId);
+            availabilityUpdate.put("available", true);
+            messagingTemplate.convertAndSend(destination, availabilityUpdate);
+        }
+    }
+
+    private void publish(RequestLifecycleEvent event) {
+        eventPublisher.publishEvent(event);
+        if (stompSubscriptionRegistry.hasSubscribers(ADMIN_TOPIC)) {
+            messagingTemplate.convertAndSend(ADMIN_TOPIC, event);
+        }
+    }
+}
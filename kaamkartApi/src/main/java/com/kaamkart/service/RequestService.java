@@ -41,7 +41,7 @@ public class RequestService {
     private RatingRepository ratingRepository;
 
     @Autowired
-    private PinCodeGeocodingService pinCodeGeocodingService;
+    private GeocodingEnrichmentService geocodingEnrichmentService;
 
     @Autowired
     private ConfirmedWorkerRepository confirmedWorkerRepository;
@@ -49,6 +49,9 @@ public class RequestService {
     @Autowired
     private DeployedWorkerRepository deployedWorkerRepository;
 
+    @Autowired
+    private WorkerTypeRegistry workerTypeRegistry;
+
     private static final double EARTH_RADIUS_KM = 6371.0;
 
     @Transactional
@@ -122,10 +125,12 @@ public class RequestService {
             }
             
             request.setWorkerTypes(allWorkerTypes); // Keep for backward compatibility
+            request.setWorkerTypesMask(workerTypeRegistry.maskOf(allWorkerTypes));
             request.setWorkerTypeRequirements(requirements);
             request.setNumberOfWorkers(totalWorkers);
 
             Location location = new Location();
+            String geocodePinCode = null;
             
             // Priority 1: Use current location (latitude/longitude) if provided
             if (dto.getLocation().getLatitude() != null && dto.getLocation().getLongitude() != null 
@@ -134,52 +139,24 @@ public class RequestService {
                 location.setLongitude(dto.getLocation().getLongitude());
                 location.setAddress(dto.getLocation().getAddress());
             } else {
-                // Priority 2: Try to geocode pin code if provided
+                // Priority 2: Valid pin code - geocoded in the background so request creation never waits on external APIs
                 String pinCode = dto.getLocation().getPinCode();
                 if (pinCode != null && !pinCode.trim().isEmpty() && pinCode.matches("\\d{6}")) {
-                    logger.info("📍 Geocoding pin code for request: {}", pinCode);
-                    Location geocodedLocation = pinCodeGeocodingService.getLocationFromPinCode(pinCode);
-                    if (geocodedLocation != null && geocodedLocation.getLatitude() != null && geocodedLocation.getLongitude() != null) {
-                        location.setLatitude(geocodedLocation.getLatitude());
-                        location.setLongitude(geocodedLocation.getLongitude());
-                        // Use geocoded address if available, otherwise build from components
-                        if (geocodedLocation.getAddress() != null && !geocodedLocation.getAddress().startsWith("Pin Code:")) {
-                            location.setAddress(geocodedLocation.getAddress());
-                        } else {
-                            // Build address string from components
-                            StringBuilder addressBuilder = new StringBuilder();
-                            if (dto.getLocation().getArea() != null && !dto.getLocation().getArea().trim().isEmpty()) {
-                                addressBuilder.append(dto.getLocation().getArea()).append(", ");
-                            }
-                            if (dto.getLocation().getCity() != null && !dto.getLocation().getCity().trim().isEmpty()) {
-                                addressBuilder.append(dto.getLocation().getCity()).append(", ");
-                            }
-                            if (dto.getLocation().getState() != null && !dto.getLocation().getState().trim().isEmpty()) {
-                                addressBuilder.append(dto.getLocation().getState()).append(" ");
-                            }
-                            addressBuilder.append(pinCode);
-                            location.setAddress(addressBuilder.toString().trim());
+                    if (dto.getLocation().getState() != null && !dto.getLocation().getState().trim().isEmpty()
+                            && dto.getLocation().getCity() != null && !dto.getLocation().getCity().trim().isEmpty()) {
+                        StringBuilder addressBuilder = new StringBuilder();
+                        if (dto.getLocation().getArea() != null && !dto.getLocation().getArea().trim().isEmpty()) {
+                            addressBuilder.append(dto.getLocation().getArea()).append(", ");
                         }
-                        logger.info("✅ Geocoded request pin code {}: lat={}, lon={}, address={}", 
-                                pinCode, geocodedLocation.getLatitude(), geocodedLocation.getLongitude(), location.getAddress());
+                        addressBuilder.append(dto.getLocation().getCity()).append(", ");
+                        addressBuilder.append(dto.getLocation().getState()).append(" ").append(pinCode);
+                        location.setAddress(addressBuilder.toString().trim());
+                    } else if (dto.getLocation().getAddress() != null && !dto.getLocation().getAddress().trim().isEmpty()) {
+                        location.setAddress(dto.getLocation().getAddress());
                     } else {
-                        // Geocoding failed, use address fields
-                        logger.warn("⚠️ Failed to geocode pin code {} for request, using address only", pinCode);
-                        if (dto.getLocation().getState() != null && !dto.getLocation().getState().trim().isEmpty()
-                                && dto.getLocation().getCity() != null && !dto.getLocation().getCity().trim().isEmpty()) {
-                            StringBuilder addressBuilder = new StringBuilder();
-                            if (dto.getLocation().getArea() != null && !dto.getLocation().getArea().trim().isEmpty()) {
-                                addressBuilder.append(dto.getLocation().getArea()).append(", ");
-                            }
-                            addressBuilder.append(dto.getLocation().getCity()).append(", ");
-                            addressBuilder.append(dto.getLocation().getState()).append(" ").append(pinCode);
-                            location.setAddress(addressBuilder.toString().trim());
-                        } else if (dto.getLocation().getAddress() != null && !dto.getLocation().getAddress().trim().isEmpty()) {
-                            location.setAddress(dto.getLocation().getAddress());
-                        } else {
-                            location.setAddress("Pin Code: " + pinCode);
-                        }
+                        location.setAddress("Pin Code: " + pinCode);
                     }
+                    geocodePinCode = pinCode;
                 } else if (dto.getLocation().getState() != null && !dto.getLocation().getState().trim().isEmpty()
                         && dto.getLocation().getCity() != null && !dto.getLocation().getCity().trim().isEmpty()
                         && pinCode != null && !pinCode.trim().isEmpty()) {
@@ -210,7 +187,13 @@ public class RequestService {
 
             // Set status to pending admin approval instead of notifying workers directly
             request.setStatus(Request.RequestStatus.PENDING_ADMIN_APPROVAL);
-            return requestRepository.save(request);
+            request.setLocationPending(geocodePinCode != null);
+            Request savedRequest = requestRepository.save(request);
+
+            if (geocodePinCode != null) {
+                geocodingEnrichmentService.enqueue(GeocodeTask.TargetType.REQUEST, savedRequest.getId(), geocodePinCode);
+            }
+            return savedRequest;
         } catch (Exception e) {
             logger.error("Error creating request for customer {}: {}", customerId, e.getMessage(), e);
             throw new RuntimeException("Failed to create request: " + e.getMessage(), e);
@@ -257,59 +240,21 @@ public class RequestService {
         Worker worker = workerRepository.findByUserId(workerId)
                 .orElseThrow(() -> new RuntimeException("Worker profile not found"));
 
-        // Check and update worker availability based on deployment end dates
-        // If worker's deployment end date has passed and request is not completed, make them available
-        User workerUser = worker.getUser();
-        if (workerUser != null) {
-            List<DeployedWorker> deployments = deployedWorkerRepository.findByWorkerOrderByDeployedAtDesc(workerUser);
-            java.time.LocalDate today = java.time.LocalDate.now();
-            boolean hasActiveDeployment = false;
-            
-            for (DeployedWorker dw : deployments) {
-                Request req = dw.getRequest();
-                if (req != null && req.getEndDate() != null) {
-                    // Check if deployment end date has passed and request is not completed
-                    boolean endDatePassed = req.getEndDate().isBefore(today);
-                    boolean notCompleted = req.getStatus() != Request.RequestStatus.COMPLETED;
-                    
-                    if (endDatePassed && notCompleted) {
-                        // Worker's deployment has ended but request is not completed
-                        // They should be available for new requests
-                        logger.info("Worker {} (ID: {}) deployment end date ({}) has passed for request {} (status: {}). Worker should be available.",
-                                workerUser.getName(), workerId, req.getEndDate(), req.getId(), req.getStatus());
-                    } else if (!endDatePassed && notCompleted) {
-                        // Worker still has active deployment
-                        hasActiveDeployment = true;
-                    }
-                }
-            }
-            
-            // Also check confirmed workers
-            List<ConfirmedWorker> confirmations = confirmedWorkerRepository.findByWorkerOrderByConfirmedAtDesc(workerUser);
-            for (ConfirmedWorker cw : confirmations) {
-                Request req = cw.getRequest();
-                if (req != null && req.getEndDate() != null) {
-                    boolean endDatePassed = req.getEndDate().isBefore(today);
-                    boolean notCompleted = req.getStatus() != Request.RequestStatus.COMPLETED;
-                    
-                    if (!endDatePassed && notCompleted) {
-                        hasActiveDeployment = true;
-                    }
-                }
-            }
-            
-            // Update worker availability if they don't have active deployments
-            // Note: We don't automatically set them to available here, as the availability
-            // is managed by the worker themselves. However, the notification system will
-            // check end dates and allow notifications if end date has passed.
-        }
-
+        // Expired requests and ended deployments are handled by RequestLifecycleSweeper,
+        // so only live ADMIN_APPROVED/NOTIFIED requests are scanned here
         List<Request.RequestStatus> statuses = Arrays.asList(
                 Request.RequestStatus.ADMIN_APPROVED,
                 Request.RequestStatus.NOTIFIED
         );
 
-        List<Request> requests = requestRepository.findByStatusIn(statuses).stream()
+        // With an interned type mask the database only returns requests sharing a worker type with this worker
+        Long workerMask = worker.getWorkerTypesMask();
+        List<Request> candidates = workerMask != null && (workerMask & WorkerTypeRegistry.UNINTERNED_FLAG) == 0
+                ? requestRepository.findByStatusInAndTypeMask(
+                        statuses.stream().map(Enum::name).collect(Collectors.toList()), workerMask)
+                : requestRepository.findByStatusIn(statuses);
+
+        List<Request> requests = candidates.stream()
                 .filter(request -> {
                     // Force load workerTypeRequirements and confirmedWorkers to avoid lazy loading issues
                     if (request.getWorkerTypeRequirements() != null) {
@@ -359,8 +304,8 @@ public class RequestService {
                     if (request.getWorkerTypes() == null || request.getWorkerTypes().isEmpty()) {
                         return false;
                     }
-                    return request.getWorkerTypes().stream()
-                            .anyMatch(workerType -> worker.getWorkerTypes().contains(workerType));
+                    return workerTypeRegistry.hasAnyType(worker.getWorkerTypesMask(), worker.getWorkerTypes(),
+                            request.getWorkerTypesMask(), request.getWorkerTypes());
                 })
                 .collect(Collectors.toList());
 
@@ -0,0 +1,109 @@
+package com.kaamkart.service;
+
+import com.kaamkart.config.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hit/miss statistics and manual eviction for the Hibernate second-level cache.
+ * Writes through JPA keep this node's cache consistent by themselves, other nodes evict on the
+ * ClusterCacheService events of the same write; manual eviction is only needed after reference data
+ * was changed directly in the database.
+ */
+@Service
+public class SecondLevelCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheService.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Object> getStats() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        stats.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        stats.put("hits", statistics.getSecondLevelCacheHitCount());
+        stats.put("misses", statistics.getSecondLevelCacheMissCount());
+        stats.put("puts", statistics.getSecondLevelCachePutCount());
+        stats.put("hitRatio", ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        stats.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        stats.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        stats.put("queryCacheHitRatio", ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : CacheRegions.ENTITY_REGIONS) {
+            regions.put(region, regionStats(statistics.getDomainDataRegionStatistics(region)));
+        }
+        regions.put(CacheRegions.REFERENCE_QUERIES, regionStats(statistics.getQueryRegionStatistics(CacheRegions.REFERENCE_QUERIES)));
+        stats.put("regions", regions);
+        return stats;
+    }
+
+    /**
+     * Evict one region, or every region (including cached query results) when region is null
+     */
+    public Map<String, Object> evict(String region) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        List<String> evicted;
+        if (region == null || region.isBlank()) {
+            sessionFactory.getCache().evictAllRegions();
+            evicted = List.of("all");
+        } else if (CacheRegions.ENTITY_REGIONS.contains(region) || CacheRegions.REFERENCE_QUERIES.equals(region)) {
+            sessionFactory.getCache().evictRegion(region);
+            evicted = List.of(region);
+        } else {
+            throw new RuntimeException("Unknown cache region: " + region);
+        }
+        logger.info("🧹 Second-level cache evicted: {}", evicted);
+        return Map.of("evicted", evicted);
+    }
+
+    /**
+     * Evict one cached entity (all entities of the type when id is null) and the cached query results
+     * that may reference it; used when another node changed the row
+     */
+    public void evictEntity(Class<?> entityClass, Object id) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (id != null) {
+            cache.evictEntityData(entityClass, id);
+        } else {
+            cache.evictEntityData(entityClass);
+        }
+        cache.evictQueryRegion(CacheRegions.REFERENCE_QUERIES);
+        logger.debug("Second-level cache entry evicted: {}#{}", entityClass.getSimpleName(), id != null ? id : "*");
+    }
+
+    private Map<String, Object> regionStats(CacheRegionStatistics regionStatistics) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (regionStatistics == null) {
+            stats.put("active", false);
+            return stats;
+        }
+        stats.put("hits", regionStatistics.getHitCount());
+        stats.put("misses", regionStatistics.getMissCount());
+        stats.put("puts", regionStatistics.getPutCount());
+        stats.put("hitRatio", ratio(regionStatistics.getHitCount(), regionStatistics.getMissCount()));
+        long inMemory = regionStatistics.getElementCountInMemory();
+        stats.put("entriesInMemory", inMemory >= 0 ? inMemory : null);
+        return stats;
+    }
+
+    private Double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total > 0 ? Math.round(hits * 1000.0 / total) / 1000.0 : null;
+    }
+}
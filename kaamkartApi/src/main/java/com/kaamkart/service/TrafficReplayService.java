@@ -0,0 +1,386 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.ApiLog;
+import com.kaamkart.repository.ApiLogRepository;
+import com.kaamkart.repository.UserRepository;
+import com.kaamkart.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Replays a time window of logged API traffic (api_logs) against a target instance.
+ * Calls are re-issued with the original inter-arrival gaps divided by the speed factor,
+ * and the replayed response times are compared with the logged responseTimeMs per endpoint.
+ *
+ * Only GET calls are replayed by default. Writes are replayed only when explicitly requested
+ * and only when the full request body was captured by RequestLoggingInterceptor.
+ * Query strings are not logged, so GET calls are replayed without them.
+ *
+ * Calls only go to replay.target-base-url or a URL listed in replay.allowed-targets. Callers are
+ * authenticated with short-lived tokens signed with replay.token-secret, which only instances
+ * started with replay.accept-tokens=true accept - never production JWTs.
+ */
+@Service
+public class TrafficReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficReplayService.class);
+
+    private static final String TRUNCATED_MARKER = "... [truncated]";
+
+    // Endpoints that must never be replayed (side effects outside the request itself)
+    private static final List<String> EXCLUDED_PREFIXES = List.of(
+            "/api/admin/metrics/replay",
+            "/api/auth/forgot-password",
+            "/api/auth/reset-password"
+    );
+
+    @Autowired
+    private ApiLogRepository apiLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${replay.enabled:false}")
+    private boolean replayEnabled;
+
+    @Value("${replay.target-base-url:http://localhost:8585}")
+    private String defaultTargetBaseUrl;
+
+    @Value("${replay.allowed-targets:}")
+    private String allowedTargets;
+
+    @Value("${replay.max-calls:5000}")
+    private int maxCalls;
+
+    @Value("${replay.token-ttl-ms:300000}")
+    private long tokenTtlMs;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ExecutorService replayExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "traffic-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private volatile Map<String, Object> lastReport = Map.of("status", "IDLE");
+
+    /**
+     * Start replaying logged traffic between start and end in the background.
+     *
+     * @param speedFactor 1.0 keeps original timing, 10.0 replays ten times faster, 0 fires back-to-back
+     */
+    public Map<String, Object> startReplay(LocalDateTime start, LocalDateTime end, double speedFactor,
+                                           boolean includeWrites, String targetBaseUrl) {
+        if (!replayEnabled) {
+            throw new RuntimeException("Traffic replay is disabled. Set replay.enabled=true to use it.");
+        }
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new RuntimeException("A valid time window (start before end) is required");
+        }
+        if (speedFactor < 0) {
+            throw new RuntimeException("Speed factor cannot be negative");
+        }
+        String baseUrl = resolveTarget(targetBaseUrl);
+
+        // Method and body filters run in the query and each page holds at most maxCalls rows, so a busy
+        // window is never loaded whole; only the rare excluded endpoints can need a further page
+        List<ApiLog> logs = new ArrayList<>();
+        for (int page = 0; logs.size() < maxCalls; page++) {
+            List<ApiLog> candidates = apiLogRepository.findReplayCandidates(start, end, includeWrites,
+                    "%" + TRUNCATED_MARKER, PageRequest.of(page, maxCalls));
+            candidates.stream()
+                    .filter(log -> isReplayable(log, includeWrites))
+                    .limit(maxCalls - logs.size())
+                    .forEach(logs::add);
+            if (candidates.size() < maxCalls) {
+                break;
+            }
+        }
+
+        if (logs.isEmpty()) {
+            throw new RuntimeException("No replayable API calls found in the selected window");
+        }
+        if (!jwtUtil.canMintReplayTokens() && logs.stream().anyMatch(log -> log.getUserId() != null)) {
+            throw new RuntimeException("Authenticated calls need replay.token-secret (different from jwt.secret)");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A traffic replay is already running");
+        }
+
+        Map<String, Object> runningReport = new LinkedHashMap<>();
+        runningReport.put("status", "RUNNING");
+        runningReport.put("targetBaseUrl", baseUrl);
+        runningReport.put("windowStart", start);
+        runningReport.put("windowEnd", end);
+        runningReport.put("speedFactor", speedFactor);
+        runningReport.put("scheduledCalls", logs.size());
+        runningReport.put("startedAt", LocalDateTime.now());
+        lastReport = runningReport;
+
+        logger.info("🔁 Traffic replay started | Calls: {} | Window: {} - {} | Speed: {}x | Target: {}",
+                logs.size(), start, end, speedFactor, baseUrl);
+
+        final String target = baseUrl;
+        replayExecutor.submit(() -> {
+            try {
+                lastReport = runReplay(logs, speedFactor, target, runningReport);
+            } catch (Exception e) {
+                logger.error("Traffic replay failed: {}", e.getMessage(), e);
+                Map<String, Object> failed = new LinkedHashMap<>(runningReport);
+                failed.put("status", "FAILED");
+                failed.put("error", e.getMessage());
+                lastReport = failed;
+            } finally {
+                running.set(false);
+            }
+        });
+
+        return runningReport;
+    }
+
+    public Map<String, Object> getLastReport() {
+        return lastReport;
+    }
+
+    private Map<String, Object> runReplay(List<ApiLog> logs, double speedFactor, String baseUrl,
+                                          Map<String, Object> runningReport) throws InterruptedException {
+        Map<Long, ReplayToken> tokenCache = new HashMap<>();
+        List<CompletableFuture<ReplayResult>> futures = new ArrayList<>();
+
+        LocalDateTime firstCallAt = logs.get(0).getCreatedAt();
+        long replayStartNanos = System.nanoTime();
+
+        for (ApiLog log : logs) {
+            // Preserve the original inter-arrival shape, compressed by the speed factor
+            if (speedFactor > 0) {
+                long originalOffsetMs = Duration.between(firstCallAt, log.getCreatedAt()).toMillis();
+                long targetOffsetNanos = (long) (originalOffsetMs * 1_000_000L / speedFactor);
+                long sleepNanos = targetOffsetNanos - (System.nanoTime() - replayStartNanos);
+                if (sleepNanos > 0) {
+                    Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+                }
+            }
+            futures.add(issueCall(log, baseUrl, tokenCache));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        List<ReplayResult> results = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+        Map<String, Object> report = new LinkedHashMap<>(runningReport);
+        report.put("status", "COMPLETED");
+        report.put("completedAt", LocalDateTime.now());
+        report.put("wallClockMs", (System.nanoTime() - replayStartNanos) / 1_000_000L);
+        report.put("failedCalls", results.stream().filter(r -> r.replayedStatus < 0).count());
+        report.put("statusMismatches", results.stream()
+                .filter(r -> r.replayedStatus >= 0 && r.replayedStatus != r.loggedStatus).count());
+        report.put("endpoints", buildEndpointComparison(results));
+
+        logger.info("✅ Traffic replay completed | Calls: {} | Wall clock: {}ms | Status mismatches: {}",
+                results.size(), report.get("wallClockMs"), report.get("statusMismatches"));
+        return report;
+    }
+
+    private CompletableFuture<ReplayResult> issueCall(ApiLog log, String baseUrl, Map<Long, ReplayToken> tokenCache) {
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + log.getEndpoint()))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("X-Replay-Source", "api_logs:" + log.getId());
+
+            String token = resolveToken(log.getUserId(), tokenCache);
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+
+            if (log.getRequestBody() != null && !"GET".equals(log.getMethod())) {
+                builder.header("Content-Type", "application/json")
+                        .method(log.getMethod(), HttpRequest.BodyPublishers.ofString(log.getRequestBody()));
+            } else {
+                builder.method(log.getMethod(), HttpRequest.BodyPublishers.noBody());
+            }
+
+            long sentAt = System.nanoTime();
+            return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        long elapsedMs = (System.nanoTime() - sentAt) / 1_000_000L;
+                        if (error != null) {
+                            logger.debug("Replay call failed: {} {} | {}", log.getMethod(), log.getEndpoint(), error.getMessage());
+                            return new ReplayResult(log, -1, elapsedMs);
+                        }
+                        return new ReplayResult(log, response.statusCode(), elapsedMs);
+                    });
+        } catch (Exception e) {
+            logger.debug("Could not build replay call for log {}: {}", log.getId(), e.getMessage());
+            return CompletableFuture.completedFuture(new ReplayResult(log, -1, 0));
+        }
+    }
+
+    /**
+     * The configured target, or a requested one if it is in replay.allowed-targets
+     */
+    private String resolveTarget(String requestedBaseUrl) {
+        String baseUrl = stripTrailingSlash(defaultTargetBaseUrl.trim());
+        if (requestedBaseUrl == null || requestedBaseUrl.trim().isEmpty()) {
+            return baseUrl;
+        }
+        String requested = stripTrailingSlash(requestedBaseUrl.trim());
+        if (requested.equals(baseUrl)) {
+            return baseUrl;
+        }
+        for (String allowed : allowedTargets.split(",")) {
+            if (!allowed.trim().isEmpty() && requested.equals(stripTrailingSlash(allowed.trim()))) {
+                return requested;
+            }
+        }
+        throw new RuntimeException("Replay target " + requested + " is not in replay.allowed-targets");
+    }
+
+    private String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * Mint a replay token for the original caller so the call takes the same authorization path.
+     * Negative IDs are system users (admins), matching AuthService.adminLogin.
+     * Tokens are re-minted after half their lifetime, so long replays keep valid ones.
+     */
+    private String resolveToken(Long userId, Map<Long, ReplayToken> tokenCache) {
+        if (userId == null) {
+            return null;
+        }
+        ReplayToken cached = tokenCache.get(userId);
+        if (cached != null && System.currentTimeMillis() - cached.mintedAt < tokenTtlMs / 2) {
+            return cached.token;
+        }
+        String role = userId < 0 ? "SYSTEM_ADMIN" : userRepository.findById(userId)
+                .map(user -> user.getRole().name())
+                .orElse(null);
+        if (role == null) {
+            return null;
+        }
+        String token = jwtUtil.generateReplayToken(userId, role, tokenTtlMs);
+        tokenCache.put(userId, new ReplayToken(token, System.currentTimeMillis()));
+        return token;
+    }
+
+    private boolean isReplayable(ApiLog log, boolean includeWrites) {
+        String endpoint = log.getEndpoint();
+        if (endpoint == null || log.getCreatedAt() == null) {
+            return false;
+        }
+        for (String prefix : EXCLUDED_PREFIXES) {
+            if (endpoint.startsWith(prefix)) {
+                return false;
+            }
+        }
+        if ("GET".equals(log.getMethod())) {
+            return true;
+        }
+        if (!includeWrites) {
+            return false;
+        }
+        // Writes need their captured body, and a truncated body would not be a faithful replay
+        String body = log.getRequestBody();
+        return body != null && !body.endsWith(TRUNCATED_MARKER);
+    }
+
+    private List<Map<String, Object>> buildEndpointComparison(List<ReplayResult> results) {
+        Map<String, List<ReplayResult>> byEndpoint = results.stream()
+                .filter(r -> r.replayedStatus >= 0)
+                .collect(Collectors.groupingBy(r -> r.method + " " + r.endpoint, LinkedHashMap::new, Collectors.toList()));
+
+        List<Map<String, Object>> comparison = new ArrayList<>();
+        for (Map.Entry<String, List<ReplayResult>> entry : byEndpoint.entrySet()) {
+            List<Long> logged = entry.getValue().stream()
+                    .map(r -> r.loggedMs).filter(ms -> ms != null).sorted().collect(Collectors.toList());
+            List<Long> replayed = entry.getValue().stream()
+                    .map(r -> r.replayedMs).sorted().collect(Collectors.toList());
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", entry.getKey());
+            row.put("calls", entry.getValue().size());
+            row.put("loggedAvgMs", average(logged));
+            row.put("replayedAvgMs", average(replayed));
+            row.put("loggedP50Ms", percentile(logged, 0.50));
+            row.put("replayedP50Ms", percentile(replayed, 0.50));
+            row.put("loggedP95Ms", percentile(logged, 0.95));
+            row.put("replayedP95Ms", percentile(replayed, 0.95));
+            comparison.add(row);
+        }
+        comparison.sort((a, b) -> Integer.compare((Integer) b.get("calls"), (Integer) a.get("calls")));
+        return comparison;
+    }
+
+    private double average(List<Long> sortedValues) {
+        if (sortedValues.isEmpty()) {
+            return 0.0;
+        }
+        double avg = sortedValues.stream().mapToLong(Long::longValue).average().orElse(0.0);
+        return Math.round(avg * 10.0) / 10.0;
+    }
+
+    private long percentile(List<Long> sortedValues, double percentile) {
+        if (sortedValues.isEmpty()) {
+            return 0L;
+        }
+        int index = (int) Math.ceil(percentile * sortedValues.size()) - 1;
+        return sortedValues.get(Math.max(0, Math.min(index, sortedValues.size() - 1)));
+    }
+
+    private static class ReplayToken {
+        private final String token;
+        private final long mintedAt;
+
+        ReplayToken(String token, long mintedAt) {
+            this.token = token;
+            this.mintedAt = mintedAt;
+        }
+    }
+
+    private static class ReplayResult {
+        private final String method;
+        private final String endpoint;
+        private final int loggedStatus;
+        private final Long loggedMs;
+        private final int replayedStatus;
+        private final long replayedMs;
+
+        ReplayResult(ApiLog log, int replayedStatus, long replayedMs) {
+            this.method = log.getMethod();
+            this.endpoint = log.getEndpoint();
+            this.loggedStatus = log.getStatusCode() != null ? log.getStatusCode() : 0;
+            this.loggedMs = log.getResponseTimeMs();
+            this.replayedStatus = replayedStatus;
+            this.replayedMs = replayedMs;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.kaamkart.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaamkart.config.StartupTimings;
+import com.kaamkart.model.Request;
+import com.kaamkart.model.RequestWorkerTypeRequirement;
+import com.kaamkart.model.SystemUser;
+import com.kaamkart.model.User;
+import com.kaamkart.model.Worker;
+import com.kaamkart.repository.SystemUserRepository;
+import com.kaamkart.repository.UserRepository;
+import com.kaamkart.repository.WorkerRepository;
+import com.kaamkart.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Warm-up stage run right after startup, before /api/health reports the instance as ready.
+ *
+ * It repeats a synthetic read-only workload through the real beans - worker matching and ranking,
+ * the worker request feed, the admin pending list, JSON serialization of the results, JWT
+ * creation/parsing and the login lookup - so the JIT has compiled the hot paths and Hibernate has
+ * cached its query plans before the load balancer sends real traffic.
+ *
+ * Every round runs in its own read-only transaction that is always rolled back, so nothing is written.
+ * The first and last round times per workload are logged and exposed at /api/admin/metrics/warmup.
+ */
+@Service
+public class WarmupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+    private static final List<String> SYNTHETIC_WORKER_TYPES = List.of("ELECTRICIAN", "PLUMBER", "PAINTER", "DRIVER");
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED, DISABLED }
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private WorkerRankingService workerRankingService;
+
+    @Autowired
+    private WorkerTypeRegistry workerTypeRegistry;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SystemUserRepository systemUserRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private StartupTimings startupTimings;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.rounds:200}")
+    private int rounds;
+
+    @Value("${warmup.max-duration-ms:30000}")
+    private long maxDurationMs;
+
+    // BCrypt is deliberately slow, so only the first few rounds include a password check
+    @Value("${warmup.password-checks:3}")
+    private int passwordChecks;
+
+    @Value("${warmup.synthetic-workers:200}")
+    private int syntheticWorkers;
+
+    private volatile Status status = Status.PENDING;
+    private volatile Map<String, Object> report = Map.of();
+
+    /**
+     * True once warm-up has finished (or is disabled / failed) and the instance can take traffic
+     */
+    public boolean isReady() {
+        return status != Status.PENDING && status != Status.RUNNING;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Map<String, Object> getReport() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", status);
+        result.putAll(report);
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            status = Status.DISABLED;
+            return;
+        }
+        status = Status.RUNNING;
+        Thread thread = new Thread(this::runWarmup, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void runWarmup() {
+        long started = System.currentTimeMillis();
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            Map<String, Callable<Object>> workloads = readOnly.execute(tx -> buildWorkloads());
+            Map<String, long[]> firstAndLastMicros = new LinkedHashMap<>();
+
+            int completedRounds = 0;
+            for (int round = 0; round < rounds && System.currentTimeMillis() - started < maxDurationMs; round++) {
+                final int currentRound = round;
+                readOnly.executeWithoutResult(tx -> {
+                    tx.setRollbackOnly();
+                    for (Map.Entry<String, Callable<Object>> workload : workloads.entrySet()) {
+                        long elapsed = timeMicros(workload.getValue());
+                        long[] times = firstAndLastMicros.computeIfAbsent(workload.getKey(), k -> new long[2]);
+                        if (currentRound == 0) {
+                            times[0] = elapsed;
+                        }
+                        times[1] = elapsed;
+                    }
+                    if (currentRound < passwordChecks) {
+                        warmPasswordCheck();
+                    }
+                });
+                completedRounds++;
+            }
+
+            long elapsedMs = System.currentTimeMillis() - started;
+            report = buildReport(completedRounds, elapsedMs, firstAndLastMicros);
+            status = Status.COMPLETED;
+            if (startupTimings != null) {
+                startupTimings.recordPhase("warmup", elapsedMs);
+            }
+            logger.info("🔥 Warm-up completed: {} rounds in {}ms | {}", completedRounds, elapsedMs, report.get("workloads"));
+        } catch (Exception e) {
+            report = Map.of("durationMs", System.currentTimeMillis() - started, "error", String.valueOf(e.getMessage()));
+            status = Status.FAILED;
+            logger.warn("⚠️ Warm-up failed, taking traffic without it: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Callable<Object>> buildWorkloads() {
+        Map<String, Callable<Object>> workloads = new LinkedHashMap<>();
+
+        List<WorkerRankingService.RankedWorker> candidates = syntheticCandidates();
+        Request syntheticRequest = syntheticRequest();
+        workloads.put("matching", () -> {
+            long requestMask = workerTypeRegistry.maskOf(syntheticRequest.getWorkerTypes());
+            List<WorkerRankingService.RankedWorker> matching = new ArrayList<>();
+            for (WorkerRankingService.RankedWorker candidate : candidates) {
+                Worker worker = candidate.getWorker();
+                if (workerTypeRegistry.hasAnyType(workerTypeRegistry.maskOf(worker.getWorkerTypes()), worker.getWorkerTypes(),
+                        requestMask, syntheticRequest.getWorkerTypes())) {
+                    matching.add(new WorkerRankingService.RankedWorker(worker, candidate.getDistance()));
+                }
+            }
+            return workerRankingService.selectWorkersToNotify(syntheticRequest, matching, 20.0).size();
+        });
+
+        // Feed and admin list only run when there is a real worker / system user to run them as
+        Long workerUserId = workerRepository.findAll(PageRequest.of(0, 1)).stream()
+                .findFirst().map(worker -> worker.getUser().getId()).orElse(null);
+        if (workerUserId != null) {
+            workloads.put("worker-feed", () -> objectMapper.writeValueAsString(requestService.getAvailableRequests(workerUserId)));
+        }
+        Long adminId = systemUserRepository.findAll(PageRequest.of(0, 1)).stream()
+                .findFirst().map(SystemUser::getId).map(id -> -id).orElse(null);
+        if (adminId != null) {
+            workloads.put("admin-pending", () -> objectMapper.writeValueAsString(
+                    adminService.getPendingApprovalRequests(adminId, null, "date", "desc", false)));
+        }
+
+        workloads.put("jwt", () -> {
+            String token = jwtUtil.generateToken(1L, "WORKER");
+            return jwtUtil.validateToken(token, jwtUtil.getUserIdFromToken(token));
+        });
+        workloads.put("login-lookup", () -> userRepository.findByEmail("warmup@kaamkart.invalid").isPresent());
+        return workloads;
+    }
+
+    private void warmPasswordCheck() {
+        passwordEncoder.matches("warmup-password", passwordEncoder.encode("warmup-other"));
+    }
+
+    private long timeMicros(Callable<Object> workload) {
+        long started = System.nanoTime();
+        try {
+            workload.call();
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        return (System.nanoTime() - started) / 1000;
+    }
+
+    private Map<String, Object> buildReport(int completedRounds, long elapsedMs, Map<String, long[]> firstAndLastMicros) {
+        Map<String, Object> workloadReport = new LinkedHashMap<>();
+        firstAndLastMicros.forEach((name, times) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("firstRoundMicros", times[0]);
+            entry.put("lastRoundMicros", times[1]);
+            entry.put("speedup", times[1] > 0 ? Math.round(times[0] * 10.0 / times[1]) / 10.0 : null);
+            workloadReport.put(name, entry);
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rounds", completedRounds);
+        result.put("durationMs", elapsedMs);
+        result.put("workloads", workloadReport);
+        return result;
+    }
+
+    private Request syntheticRequest() {
+        Request request = new Request();
+        request.setWorkerTypes(new ArrayList<>(SYNTHETIC_WORKER_TYPES.subList(0, 2)));
+        List<RequestWorkerTypeRequirement> requirements = new ArrayList<>();
+        for (String type : request.getWorkerTypes()) {
+            RequestWorkerTypeRequirement requirement = new RequestWorkerTypeRequirement();
+            requirement.setWorkerType(type);
+            requirement.setNumberOfWorkers(3);
+            requirements.add(requirement);
+        }
+        request.setWorkerTypeRequirements(requirements);
+        request.setNumberOfWorkers(6);
+        return request;
+    }
+
+    private List<WorkerRankingService.RankedWorker> syntheticCandidates() {
+        List<WorkerRankingService.RankedWorker> candidates = new ArrayList<>();
+        for (int i = 0; i < syntheticWorkers; i++) {
+            User user = new User();
+            // Negative ids never match a real user, so the responsiveness lookup finds nothing
+            user.setId(-1_000_000L - i);
+            Worker worker = new Worker();
+            worker.setUser(user);
+            worker.setWorkerTypes(new ArrayList<>(List.of(SYNTHETIC_WORKER_TYPES.get(i % SYNTHETIC_WORKER_TYPES.size()))));
+            worker.setRating((i % 50) / 10.0);
+            worker.setExperience(i % 15);
+            worker.setTotalJobs(i % 60);
+            candidates.add(new WorkerRankingService.RankedWorker(worker, (i % 200) / 10.0));
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,373 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.Location;
+import com.kaamkart.model.Request;
+import com.kaamkart.model.Worker;
+import com.kaamkart.repository.WorkerRepository;
+import com.kaamkart.util.StompSubscriptionRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Geocell delivery of new-request notifications (worker-notifications.delivery=geocell).
+ *
+ * The map is split into square cells of geocell.size-deg degrees. A worker subscribes to
+ * /topic/worker-cell/{workerType}/{cell} for each of their worker types in the cell they are in
+ * (GET /api/workers/notification-topics). An approved request is published once per required
+ * worker type and cell within the notification radius, instead of once per matching worker, and
+ * the client drops requests farther away than radiusLimitKm from its own position.
+ *
+ * Everyone subscribed to a cell receives the message, so it only carries what a worker needs to
+ * decide whether to open the request: no customer details and no address, only coordinates.
+ *
+ * Eligibility is checked at SUBSCRIBE time. A worker who is blocked, unverified or set unavailable
+ * afterwards has their STOMP sessions holding cell subscriptions closed on every node (revokeSubscriptions),
+ * and their SUBSCRIBE frames are checked again when the client reconnects.
+ */
+@Service
+public class WorkerCellNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerCellNotificationService.class);
+
+    public static final String TOPIC_PREFIX = "/topic/worker-cell/";
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    // Covers the difference between the flat cell-corner approximation and the great-circle distance
+    private static final double CELL_MATCH_SLACK_KM = 0.5;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private WorkerLocationIngestionService workerLocationIngestionService;
+
+    @Autowired
+    private StompSubscriptionRegistry stompSubscriptionRegistry;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ClusterCacheService clusterCacheService;
+
+    @Value("${worker-notifications.delivery:direct}")
+    private String delivery;
+
+    @Value("${worker-notifications.geocell.size-deg:0.2}")
+    private double cellSizeDeg;
+
+    private final AtomicLong requestsPublished = new AtomicLong();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong cellsWithoutSubscribers = new AtomicLong();
+    private final AtomicLong requestsWithoutLocation = new AtomicLong();
+    private final AtomicLong subscriptionsRejected = new AtomicLong();
+    private final AtomicLong sessionsRevoked = new AtomicLong();
+
+    @PostConstruct
+    public void registerRevocationListener() {
+        // A null key is a full-region clear after a listener reconnect, not a revocation: nothing to close
+        clusterCacheService.addInvalidationListener(ClusterCacheService.WORKER_CELL_ACCESS, (key, remote) -> {
+            if (key != null) {
+                closeCellSessions(key);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return "geocell".equalsIgnoreCase(delivery);
+    }
+
+    /**
+     * Publish a newly approved request to every (worker type, cell) topic within radiusKm of it.
+     * Returns the number of messages sent.
+     */
+    public int publish(Request request, double radiusKm) {
+        Location location = request.getLocation();
+        if (location == null || !isValidCoordinate(location.getLatitude(), location.getLongitude())) {
+            requestsWithoutLocation.incrementAndGet();
+            logger.error("❌ Request {} has no valid location (lat/long). Skipping geocell notifications.", request.getId());
+            return 0;
+        }
+        double requestLat = location.getLatitude();
+        double requestLon = location.getLongitude();
+
+        Map<String, Object> payload = buildPayload(request, requestLat, requestLon, radiusKm);
+        List<String> cells = cellsWithinRadius(requestLat, requestLon, radiusKm);
+        int sent = 0;
+        int skipped = 0;
+        for (String typeSlug : typeSlugs(request.getWorkerTypes())) {
+            for (String cell : cells) {
+                String destination = TOPIC_PREFIX + typeSlug + "/" + cell;
+                if (!stompSubscriptionRegistry.hasSubscribers(destination)) {
+                    skipped++;
+                    continue;
+                }
+                sendAfterCommit(destination, payload);
+                sent++;
+            }
+        }
+        requestsPublished.incrementAndGet();
+        messagesSent.addAndGet(sent);
+        cellsWithoutSubscribers.addAndGet(skipped);
+        logger.info("📡 Request {} published to {} geocell topic(s) ({} cells within {} km, {} without subscribers)",
+                request.getId(), sent, cells.size(), radiusKm, skipped);
+        return sent;
+    }
+
+    // Delivered only if the approval matching transaction commits
+    private void sendAfterCommit(String destination, Object payload) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    messagingTemplate.convertAndSend(destination, payload);
+                }
+            });
+        } else {
+            messagingTemplate.convertAndSend(destination, payload);
+        }
+    }
+
+    /**
+     * Topics a worker should subscribe to for new requests near them. Empty while the worker is
+     * not verified, blocked, unavailable or has no known location.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTopics(Long userId) {
+        Worker worker = workerRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Worker profile not found"));
+        Location location = currentLocation(worker);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("delivery", isEnabled() ? "geocell" : "direct");
+        response.put("userTopic", "/topic/worker/" + userId);
+        response.put("cellSizeDeg", cellSizeDeg);
+        response.put("cell", location != null ? cellOf(location.getLatitude(), location.getLongitude()) : null);
+        List<String> topics = new ArrayList<>();
+        if (isEnabled() && location != null && isEligible(worker)) {
+            String cell = cellOf(location.getLatitude(), location.getLongitude());
+            for (String typeSlug : typeSlugs(worker.getWorkerTypes())) {
+                topics.add(TOPIC_PREFIX + typeSlug + "/" + cell);
+            }
+        }
+        response.put("topics", topics);
+        return response;
+    }
+
+    /**
+     * Only eligible workers may subscribe to cell topics, and only for their own worker types in
+     * their cell or a neighbouring one (a worker near a cell edge may have moved since fetching topics)
+     */
+    @Transactional(readOnly = true)
+    public boolean canSubscribe(Authentication authentication, String destination) {
+        boolean allowed = checkSubscription(authentication, destination);
+        if (!allowed) {
+            subscriptionsRejected.incrementAndGet();
+        }
+        return allowed;
+    }
+
+    /**
+     * Drop the worker's cell subscriptions on every node once they are no longer eligible.
+     * Inside a transaction this applies after commit, so the re-check on reconnect sees the new state.
+     */
+    public void revokeSubscriptions(Long userId) {
+        clusterCacheService.invalidate(ClusterCacheService.WORKER_CELL_ACCESS, userId);
+    }
+
+    public static boolean isCellTopic(String destination) {
+        return destination != null && destination.startsWith(TOPIC_PREFIX);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("delivery", isEnabled() ? "geocell" : "direct");
+        stats.put("cellSizeDeg", cellSizeDeg);
+        stats.put("requestsPublished", requestsPublished.get());
+        stats.put("messagesSent", messagesSent.get());
+        stats.put("cellsWithoutSubscribers", cellsWithoutSubscribers.get());
+        stats.put("requestsWithoutLocation", requestsWithoutLocation.get());
+        stats.put("subscriptionsRejected", subscriptionsRejected.get());
+        stats.put("sessionsRevoked", sessionsRevoked.get());
+        stats.put("activeCellTopics", stompSubscriptionRegistry.getActiveDestinations(TOPIC_PREFIX).size());
+        return stats;
+    }
+
+    private void closeCellSessions(String userName) {
+        int closed = stompSubscriptionRegistry.closeSessionsSubscribedTo(userName, TOPIC_PREFIX,
+                "Worker no longer eligible for request notifications");
+        if (closed > 0) {
+            sessionsRevoked.addAndGet(closed);
+            logger.info("📡 Closed {} STOMP session(s) of user {} holding geocell subscriptions", closed, userName);
+        }
+    }
+
+    private boolean checkSubscription(Authentication authentication, String destination) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof Long)) {
+            return false;
+        }
+        boolean isWorker = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_WORKER".equals(authority.getAuthority()));
+        if (!isWorker) {
+            return false;
+        }
+        String[] parts = destination.substring(TOPIC_PREFIX.length()).split("/");
+        if (parts.length != 2) {
+            return false;
+        }
+        int[] cell = parseCell(parts[1]);
+        if (cell == null) {
+            return false;
+        }
+        Worker worker = workerRepository.findByUserId((Long) authentication.getPrincipal()).orElse(null);
+        if (worker == null || !isEligible(worker) || !typeSlugs(worker.getWorkerTypes()).contains(parts[0])) {
+            return false;
+        }
+        Location location = currentLocation(worker);
+        if (location == null) {
+            return false;
+        }
+        int[] ownCell = parseCell(cellOf(location.getLatitude(), location.getLongitude()));
+        return Math.abs(ownCell[0] - cell[0]) <= 1 && Math.abs(ownCell[1] - cell[1]) <= 1;
+    }
+
+    private boolean isEligible(Worker worker) {
+        return Boolean.TRUE.equals(worker.getVerified())
+                && Boolean.TRUE.equals(worker.getAvailable())
+                && (worker.getUser() == null || !Boolean.TRUE.equals(worker.getUser().getBlocked()));
+    }
+
+    private Location currentLocation(Worker worker) {
+        Location live = worker.getUser() != null ? workerLocationIngestionService.getLiveLocation(worker.getUser().getId()) : null;
+        Location location = live != null ? live : worker.getCurrentLocation();
+        if (location == null || !isValidCoordinate(location.getLatitude(), location.getLongitude())) {
+            return null;
+        }
+        return location;
+    }
+
+    /**
+     * Only fields a worker needs before opening the request; customer details and the address
+     * are loaded from the request endpoints once the worker is matched against it
+     */
+    private Map<String, Object> buildPayload(Request request, double requestLat, double requestLon, double radiusKm) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("requestId", request.getId());
+        payload.put("workerTypes", request.getWorkerTypes());
+        if (request.getWorkerTypeRequirements() != null && !request.getWorkerTypeRequirements().isEmpty()) {
+            payload.put("workerTypeRequirements", request.getWorkerTypeRequirements().stream()
+                    .map(req -> {
+                        Map<String, Object> reqData = new HashMap<>();
+                        reqData.put("workerType", req.getWorkerType());
+                        reqData.put("numberOfWorkers", req.getNumberOfWorkers());
+                        return reqData;
+                    })
+                    .collect(Collectors.toList()));
+        }
+        payload.put("workType", request.getWorkType());
+        payload.put("numberOfWorkers", request.getNumberOfWorkers());
+        payload.put("startDate", request.getStartDate() != null ? request.getStartDate().toString() : null);
+        payload.put("endDate", request.getEndDate() != null ? request.getEndDate().toString() : null);
+        payload.put("requestLatitude", requestLat);
+        payload.put("requestLongitude", requestLon);
+        payload.put("radiusLimitKm", radiusKm);
+        payload.put("message", "New work request available in your area!");
+        return payload;
+    }
+
+    private String cellOf(double lat, double lon) {
+        int latIndex = (int) Math.floor((lat + 90.0) / cellSizeDeg);
+        int lonIndex = (int) Math.floor((lon + 180.0) / cellSizeDeg);
+        return latIndex + "_" + lonIndex;
+    }
+
+    private static int[] parseCell(String cell) {
+        String[] indexes = cell.split("_");
+        if (indexes.length != 2) {
+            return null;
+        }
+        try {
+            return new int[] {Integer.parseInt(indexes[0]), Integer.parseInt(indexes[1])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Cells of the bounding box around the point whose nearest point lies within radiusKm
+     */
+    private List<String> cellsWithinRadius(double lat, double lon, double radiusKm) {
+        double latSpan = radiusKm / KM_PER_DEGREE_LAT;
+        double lonSpan = radiusKm / (KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+        int minLat = (int) Math.floor((Math.max(lat - latSpan, -90.0) + 90.0) / cellSizeDeg);
+        int maxLat = (int) Math.floor((Math.min(lat + latSpan, 90.0) + 90.0) / cellSizeDeg);
+        int minLon = (int) Math.floor((Math.max(lon - lonSpan, -180.0) + 180.0) / cellSizeDeg);
+        int maxLon = (int) Math.floor((Math.min(lon + lonSpan, 180.0) + 180.0) / cellSizeDeg);
+
+        List<String> cells = new ArrayList<>();
+        for (int latIndex = minLat; latIndex <= maxLat; latIndex++) {
+            double cellMinLat = latIndex * cellSizeDeg - 90.0;
+            double nearestLat = Math.min(Math.max(lat, cellMinLat), cellMinLat + cellSizeDeg);
+            for (int lonIndex = minLon; lonIndex <= maxLon; lonIndex++) {
+                double cellMinLon = lonIndex * cellSizeDeg - 180.0;
+                double nearestLon = Math.min(Math.max(lon, cellMinLon), cellMinLon + cellSizeDeg);
+                if (distanceKm(lat, lon, nearestLat, nearestLon) <= radiusKm + CELL_MATCH_SLACK_KM) {
+                    cells.add(latIndex + "_" + lonIndex);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static Set<String> typeSlugs(List<String> workerTypes) {
+        Set<String> slugs = new LinkedHashSet<>();
+        if (workerTypes != null) {
+            for (String workerType : workerTypes) {
+                if (workerType == null) {
+                    continue;
+                }
+                String slug = workerType.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-")
+                        .replaceAll("^-|-$", "");
+                if (!slug.isEmpty()) {
+                    slugs.add(slug);
+                }
+            }
+        }
+        return slugs;
+    }
+
+    private static boolean isValidCoordinate(Double lat, Double lon) {
+        return lat != null && lon != null && !(lat == 0.0 && lon == 0.0)
+                && Math.abs(lat) <= 90 && Math.abs(lon) <= 180;
+    }
+
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
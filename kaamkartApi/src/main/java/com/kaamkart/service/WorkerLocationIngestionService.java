@@ -0,0 +1,254 @@
+package com.kaamkart.service;
+
+import com.kaamkart.dto.LocationDto;
+import com.kaamkart.model.Location;
+import com.kaamkart.model.Worker;
+import com.kaamkart.repository.WorkerRepository;
+import com.kaamkart.util.StompSubscriptionRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingestion path for worker GPS pings (REST PUT /api/workers/location and STOMP /app/worker/location).
+ *
+ * The latest accepted position per worker is kept in memory and broadcast immediately
+ * (only when /topic/worker-location/{userId} has subscribers).
+ * Pings that moved less than min-move-meters since the last accepted one are dropped (unless
+ * max-silence-ms has passed, so a stationary worker still refreshes). Accepted positions are
+ * coalesced and written to the workers table in one JDBC batch every flush-interval-ms instead
+ * of loading and saving the Worker entity on every ping.
+ */
+@Service
+public class WorkerLocationIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerLocationIngestionService.class);
+
+    private static final double EARTH_RADIUS_METERS = 6371000.0;
+
+    private static final String FLUSH_SQL =
+            "UPDATE workers SET current_latitude = ?, current_longitude = ?, " +
+            "current_address = COALESCE(?, current_address) WHERE id = ?";
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private StompSubscriptionRegistry stompSubscriptionRegistry;
+
+    @Value("${worker-location.min-move-meters:25}")
+    private double minMoveMeters;
+
+    @Value("${worker-location.max-silence-ms:60000}")
+    private long maxSilenceMs;
+
+    // userId -> worker id, so pings do not need a DB lookup after the first one
+    private final Map<Long, Long> workerIdsByUserId = new ConcurrentHashMap<>();
+
+    // userId -> latest accepted position
+    private final Map<Long, LivePosition> latestByUserId = new ConcurrentHashMap<>();
+
+    // worker id -> position not yet written to the workers table
+    private final Map<Long, LivePosition> pendingByWorkerId = new ConcurrentHashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    /**
+     * Accept a GPS ping from a worker.
+     * @return the worker's current live location (the previous one when the ping was dropped)
+     */
+    public Location ingest(Long userId, LocationDto locationDto) {
+        if (locationDto == null || locationDto.getLatitude() == null || locationDto.getLongitude() == null) {
+            throw new RuntimeException("Latitude and longitude are required");
+        }
+        if (Math.abs(locationDto.getLatitude()) > 90 || Math.abs(locationDto.getLongitude()) > 180) {
+            throw new RuntimeException("Invalid coordinates");
+        }
+        received.incrementAndGet();
+
+        Long workerId = resolveWorkerId(userId);
+        long now = System.currentTimeMillis();
+        LivePosition candidate = new LivePosition(workerId, locationDto.getLatitude(), locationDto.getLongitude(),
+                locationDto.getAddress(), now);
+
+        LivePosition accepted = latestByUserId.compute(userId, (id, previous) -> {
+            if (previous != null && !shouldAccept(previous, candidate)) {
+                return previous;
+            }
+            // Queued inside compute, so a concurrent older ping cannot overwrite the pending entry
+            pendingByWorkerId.put(workerId, candidate);
+            return candidate;
+        });
+
+        if (accepted != candidate) {
+            dropped.incrementAndGet();
+            return accepted.toLocation();
+        }
+
+        // Customers follow deployed workers through LiveTrackingService; only publish per-worker pings if someone listens
+        String destination = "/topic/worker-location/" + userId;
+        if (stompSubscriptionRegistry.hasSubscribers(destination)) {
+            Map<String, Object> locationUpdate = new HashMap<>();
+            locationUpdate.put("workerId", userId);
+            locationUpdate.put("location", locationDto);
+            messagingTemplate.convertAndSend(destination, locationUpdate);
+        }
+
+        return candidate.toLocation();
+    }
+
+    /**
+     * Latest in-memory position of a worker (by user id), or null if none was received since startup
+     */
+    public Location getLiveLocation(Long userId) {
+        LivePosition position = latestByUserId.get(userId);
+        return position != null ? position.toLocation() : null;
+    }
+
+    /**
+     * Freshest known location per worker id: the live position where one was received, otherwise
+     * the stored one. The entities are left untouched - they are usually managed, and a changed
+     * location would be flushed back to the workers table as one UPDATE per worker.
+     */
+    public Map<Long, Location> currentLocations(List<Worker> workers) {
+        Map<Long, Location> locations = new HashMap<>();
+        for (Worker worker : workers) {
+            Location stored = worker.getCurrentLocation();
+            LivePosition position = worker.getUser() != null ? latestByUserId.get(worker.getUser().getId()) : null;
+            if (position == null) {
+                if (stored != null) {
+                    locations.put(worker.getId(), stored);
+                }
+                continue;
+            }
+            Location location = new Location();
+            location.setLatitude(position.latitude);
+            location.setLongitude(position.longitude);
+            location.setAddress(position.address != null ? position.address : stored != null ? stored.getAddress() : null);
+            location.setLandmark(stored != null ? stored.getLandmark() : null);
+            locations.put(worker.getId(), location);
+        }
+        return locations;
+    }
+
+    /**
+     * Write coalesced positions to the workers table in one batch
+     */
+    @Scheduled(fixedDelayString = "${worker-location.flush-interval-ms:5000}")
+    public void flush() {
+        if (pendingByWorkerId.isEmpty()) {
+            return;
+        }
+        List<LivePosition> batch = new ArrayList<>(pendingByWorkerId.values());
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch, batch.size(), (ps, position) -> {
+                ps.setDouble(1, position.latitude);
+                ps.setDouble(2, position.longitude);
+                ps.setString(3, position.address);
+                ps.setLong(4, position.workerId);
+            });
+            // Only clear entries that were not replaced by a newer ping while flushing
+            batch.forEach(position -> pendingByWorkerId.remove(position.workerId, position));
+            flushedRows.addAndGet(batch.size());
+            flushes.incrementAndGet();
+            logger.debug("📍 Flushed {} worker locations", batch.size());
+        } catch (Exception e) {
+            // Entries stay pending and are retried on the next flush
+            logger.error("Failed to flush {} worker locations: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("received", received.get());
+        stats.put("dropped", dropped.get());
+        stats.put("pending", pendingByWorkerId.size());
+        stats.put("trackedWorkers", latestByUserId.size());
+        stats.put("flushes", flushes.get());
+        stats.put("flushedRows", flushedRows.get());
+        return stats;
+    }
+
+    private Long resolveWorkerId(Long userId) {
+        Long workerId = workerIdsByUserId.get(userId);
+        if (workerId != null) {
+            return workerId;
+        }
+        Worker worker = workerRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Worker profile not found"));
+        workerIdsByUserId.put(userId, worker.getId());
+        return worker.getId();
+    }
+
+    private boolean shouldAccept(LivePosition previous, LivePosition candidate) {
+        if (candidate.receivedAt - previous.receivedAt >= maxSilenceMs) {
+            return true;
+        }
+        if (candidate.address != null && !Objects.equals(candidate.address, previous.address)) {
+            return true;
+        }
+        return distanceMeters(previous.latitude, previous.longitude, candidate.latitude, candidate.longitude) >= minMoveMeters;
+    }
+
+    private double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static class LivePosition {
+        private final Long workerId;
+        private final double latitude;
+        private final double longitude;
+        private final String address;
+        private final long receivedAt;
+
+        LivePosition(Long workerId, double latitude, double longitude, String address, long receivedAt) {
+            this.workerId = workerId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.address = address;
+            this.receivedAt = receivedAt;
+        }
+
+        Location toLocation() {
+            Location location = new Location();
+            location.setLatitude(latitude);
+            location.setLongitude(longitude);
+            location.setAddress(address);
+            return location;
+        }
+    }
+}
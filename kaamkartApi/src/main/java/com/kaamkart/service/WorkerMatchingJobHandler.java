@@ -0,0 +1,33 @@
+package com.kaamkart.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds and notifies the matching workers of an approved request.
+ * Enqueued on approval, or once a request approved without coordinates has been geocoded.
+ * A repeated run is a no-op: matching only happens while the request is still ADMIN_APPROVED.
+ */
+@Component
+public class WorkerMatchingJobHandler implements JobHandler<Long> {
+
+    public static final String TYPE = "request.match-workers";
+
+    @Autowired
+    private AdminService adminService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<Long> payloadType() {
+        return Long.class;
+    }
+
+    @Override
+    public void handle(Long requestId) {
+        adminService.runDeferredMatching(requestId);
+    }
+}
@@ -0,0 +1,234 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.Request;
+import com.kaamkart.model.RequestWorkerTypeRequirement;
+import com.kaamkart.model.Worker;
+import com.kaamkart.repository.ConfirmedWorkerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Picks which in-radius workers get notified for an approved request.
+ *
+ * Each candidate gets a weighted score from distance, rating, experience, completed jobs and
+ * recent responsiveness (confirmations in the last responsiveness-days). For every worker type
+ * requirement the best (numberOfWorkers * notify-multiplier) candidates of that type are kept
+ * with a bounded min-heap, so selection is O(n log k) instead of sorting every candidate.
+ * A worker is only counted against one type; scarce types (fewest candidates) pick first.
+ */
+@Service
+public class WorkerRankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerRankingService.class);
+
+    @Autowired
+    private ConfirmedWorkerRepository confirmedWorkerRepository;
+
+    @Value("${worker-ranking.weight.distance:0.45}")
+    private double distanceWeight;
+
+    @Value("${worker-ranking.weight.rating:0.25}")
+    private double ratingWeight;
+
+    @Value("${worker-ranking.weight.experience:0.1}")
+    private double experienceWeight;
+
+    @Value("${worker-ranking.weight.jobs:0.1}")
+    private double jobsWeight;
+
+    @Value("${worker-ranking.weight.responsiveness:0.1}")
+    private double responsivenessWeight;
+
+    // Values at or above these caps score the full weight
+    @Value("${worker-ranking.experience-cap-years:10}")
+    private int experienceCapYears;
+
+    @Value("${worker-ranking.jobs-cap:50}")
+    private int jobsCap;
+
+    @Value("${worker-ranking.responsiveness-cap:5}")
+    private int responsivenessCap;
+
+    @Value("${worker-ranking.responsiveness-days:30}")
+    private int responsivenessDays;
+
+    @Value("${worker-ranking.notify-multiplier:3}")
+    private int notifyMultiplier;
+
+    /**
+     * Rank candidates (worker + distance in km) for the request and return the workers to notify,
+     * best first within each worker type
+     */
+    public List<RankedWorker> selectWorkersToNotify(Request request, List<RankedWorker> candidates, double radiusKm) {
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Long> recentConfirmations = loadRecentConfirmations(candidates);
+        for (RankedWorker candidate : candidates) {
+            candidate.score = score(candidate, radiusKm, recentConfirmations.getOrDefault(candidate.getUserId(), 0L));
+        }
+
+        Map<String, Integer> quotas = buildQuotas(request);
+        Map<String, List<RankedWorker>> candidatesByType = new HashMap<>();
+        for (RankedWorker candidate : candidates) {
+            List<String> types = candidate.getWorker().getWorkerTypes();
+            if (types == null) {
+                continue;
+            }
+            for (String type : types) {
+                if (quotas.containsKey(type)) {
+                    candidatesByType.computeIfAbsent(type, k -> new ArrayList<>()).add(candidate);
+                }
+            }
+        }
+
+        // Scarce types first, so a multi-skilled worker is not used up by a type that has plenty of candidates
+        List<String> typeOrder = quotas.keySet().stream()
+                .sorted(Comparator.comparingInt(type -> candidatesByType.getOrDefault(type, List.of()).size()))
+                .collect(Collectors.toList());
+
+        Set<Long> selectedUserIds = new HashSet<>();
+        List<RankedWorker> selected = new ArrayList<>();
+        for (String type : typeOrder) {
+            int k = quotas.get(type) * notifyMultiplier;
+            List<RankedWorker> best = topK(candidatesByType.getOrDefault(type, List.of()), k, selectedUserIds);
+            for (RankedWorker worker : best) {
+                worker.matchedWorkerType = type;
+                selectedUserIds.add(worker.getUserId());
+            }
+            selected.addAll(best);
+            logger.debug("🏅 Ranking for request {} | type {} | quota {} | candidates {} | selected {}",
+                    request.getId(), type, k, candidatesByType.getOrDefault(type, List.of()).size(), best.size());
+        }
+        return selected;
+    }
+
+    /**
+     * Best k candidates by score (highest first), skipping already selected workers.
+     * Keeps a min-heap of size k: the root is the weakest of the current best and is evicted when a better one arrives.
+     */
+    private List<RankedWorker> topK(List<RankedWorker> candidates, int k, Set<Long> excludedUserIds) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        Comparator<RankedWorker> byScore = Comparator.comparingDouble(RankedWorker::getScore)
+                .thenComparing(Comparator.comparingDouble(RankedWorker::getDistance).reversed());
+        PriorityQueue<RankedWorker> heap = new PriorityQueue<>(k + 1, byScore);
+        for (RankedWorker candidate : candidates) {
+            if (excludedUserIds.contains(candidate.getUserId())) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.offer(candidate);
+            } else if (byScore.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(candidate);
+            }
+        }
+        List<RankedWorker> best = new ArrayList<>(heap);
+        best.sort(byScore.reversed());
+        return best;
+    }
+
+    private Map<String, Integer> buildQuotas(Request request) {
+        Map<String, Integer> quotas = new LinkedHashMap<>();
+        List<RequestWorkerTypeRequirement> requirements = request.getWorkerTypeRequirements();
+        if (requirements != null && !requirements.isEmpty()) {
+            for (RequestWorkerTypeRequirement requirement : requirements) {
+                int needed = requirement.getNumberOfWorkers() != null ? requirement.getNumberOfWorkers() : 0;
+                quotas.merge(requirement.getWorkerType(), needed, Integer::sum);
+            }
+        } else if (request.getWorkerTypes() != null && !request.getWorkerTypes().isEmpty()) {
+            // Older requests without per-type requirements: split the total evenly (rounded up)
+            int types = request.getWorkerTypes().size();
+            int total = request.getNumberOfWorkers() != null ? request.getNumberOfWorkers() : 0;
+            int perType = (total + types - 1) / types;
+            for (String type : request.getWorkerTypes()) {
+                quotas.put(type, Math.max(1, perType));
+            }
+        }
+        return quotas;
+    }
+
+    private double score(RankedWorker candidate, double radiusKm, long recentConfirmations) {
+        Worker worker = candidate.getWorker();
+        double distanceScore = Math.max(0.0, 1.0 - candidate.getDistance() / radiusKm);
+        double ratingScore = worker.getRating() != null ? Math.min(worker.getRating(), 5.0) / 5.0 : 0.0;
+        double experienceScore = capped(worker.getExperience() != null ? worker.getExperience() : 0, experienceCapYears);
+        double jobsScore = capped(worker.getTotalJobs() != null ? worker.getTotalJobs() : 0, jobsCap);
+        double responsivenessScore = capped(recentConfirmations, responsivenessCap);
+        return distanceWeight * distanceScore
+                + ratingWeight * ratingScore
+                + experienceWeight * experienceScore
+                + jobsWeight * jobsScore
+                + responsivenessWeight * responsivenessScore;
+    }
+
+    private double capped(long value, int cap) {
+        if (cap <= 0) {
+            return 0.0;
+        }
+        return Math.min(Math.max(value, 0), cap) / (double) cap;
+    }
+
+    private Map<Long, Long> loadRecentConfirmations(List<RankedWorker> candidates) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (responsivenessWeight <= 0) {
+            return counts;
+        }
+        List<Long> userIds = candidates.stream().map(RankedWorker::getUserId).distinct().collect(Collectors.toList());
+        LocalDateTime since = LocalDateTime.now().minusDays(responsivenessDays);
+        for (Object[] row : confirmedWorkerRepository.countConfirmationsSince(userIds, since)) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    public static class RankedWorker {
+        private final Worker worker;
+        private final double distance;
+        private double score;
+        private String matchedWorkerType;
+
+        public RankedWorker(Worker worker, double distance) {
+            this.worker = worker;
+            this.distance = distance;
+        }
+
+        public Worker getWorker() {
+            return worker;
+        }
+
+        public Long getUserId() {
+            return worker.getUser().getId();
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public String getMatchedWorkerType() {
+            return matchedWorkerType;
+        }
+    }
+}
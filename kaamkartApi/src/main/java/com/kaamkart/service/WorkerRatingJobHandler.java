@@ -0,0 +1,32 @@
+package com.kaamkart.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes a worker's average rating after a rating was given or changed.
+ * The average is computed from all ratings at run time, so repeated runs give the same result.
+ */
+@Component
+public class WorkerRatingJobHandler implements JobHandler<Long> {
+
+    public static final String TYPE = "worker.recompute-rating";
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<Long> payloadType() {
+        return Long.class;
+    }
+
+    @Override
+    public void handle(Long workerUserId) {
+        ratingService.recomputeWorkerRating(workerUserId);
+    }
+}
@@ -2,6 +2,8 @@ package com.kaamkart.service;
 
 import com.kaamkart.dto.LocationDto;
 import com.kaamkart.dto.UpdateProfileDto;
+import com.kaamkart.dto.WorkHistoryEntryDto;
+import com.kaamkart.dto.WorkHistoryPageDto;
 import com.kaamkart.model.*;
 import com.kaamkart.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,8 @@ import java.util.*;
 
 @Service
 public class WorkerService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     @Autowired
     private WorkerRepository workerRepository;
 
@@ -30,29 +34,28 @@ public class WorkerService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private WorkerLocationIngestionService workerLocationIngestionService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private ClusterCacheService clusterCacheService;
+
+    @Autowired
+    private WorkerCellNotificationService workerCellNotificationService;
+
     public Worker getWorkerProfile(Long userId) {
         return workerRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Worker profile not found"));
     }
 
-    @Transactional
-    public Worker updateLocation(Long userId, LocationDto locationDto) {
-        Worker worker = workerRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Worker profile not found"));
-
-        Location location = new Location();
-        location.setLatitude(locationDto.getLatitude());
-        location.setLongitude(locationDto.getLongitude());
-        location.setAddress(locationDto.getAddress());
-        worker.setCurrentLocation(location);
-
-        // Notify via WebSocket if needed
-        Map<String, Object> locationUpdate = new HashMap<>();
-        locationUpdate.put("workerId", userId);
-        locationUpdate.put("location", locationDto);
-        messagingTemplate.convertAndSend("/topic/worker-location/" + userId, locationUpdate);
-
-        return workerRepository.save(worker);
+    /**
+     * GPS pings go through the in-memory ingestion path; the workers table is updated in coalesced batches
+     */
+    public Location updateLocation(Long userId, LocationDto locationDto) {
+        return workerLocationIngestionService.ingest(userId, locationDto);
     }
 
     @Transactional
@@ -72,9 +75,12 @@ public class WorkerService {
             List<DeployedWorker> deployments = deployedWorkerRepository.findByWorkerOrderByDeployedAtDesc(worker.getUser());
             for (DeployedWorker dw : deployments) {
                 if (dw.getRequest() != null) {
-                    // If work is not completed, worker cannot set themselves as available
+                    // If work is not completed and its period is still running, worker cannot set themselves as available
+                    // (once the end date passes RequestLifecycleSweeper releases them)
                     boolean workNotCompleted = dw.getRequest().getStatus() != com.kaamkart.model.Request.RequestStatus.COMPLETED;
-                    if (workNotCompleted) {
+                    boolean periodEnded = dw.getRequest().getEndDate() != null
+                            && dw.getRequest().getEndDate().isBefore(java.time.LocalDate.now());
+                    if (workNotCompleted && !periodEnded) {
                         throw new RuntimeException("Cannot set availability to true while deployed on active work. You will be automatically set as available once the work is completed.");
                     }
                 }
@@ -82,6 +88,10 @@ public class WorkerService {
         }
 
         worker.setAvailable(available);
+        if (!available) {
+            // Unavailable workers must stop receiving new requests on their cell topics
+            workerCellNotificationService.revokeSubscriptions(userId);
+        }
 
         // Notify via WebSocket
         Map<String, Object> availabilityUpdate = new HashMap<>();
@@ -92,68 +102,119 @@ public class WorkerService {
         return workerRepository.save(worker);
     }
 
-    public List<Map<String, Object>> getWorkHistory(@NonNull Long userId) {
-        User worker = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Worker not found"));
-
-        List<Map<String, Object>> history = new ArrayList<>();
-        Set<Long> deployedRequestIds = new HashSet<>();
-
-        // First, get all deployed work and track their request IDs
-        List<DeployedWorker> deployedWork = deployedWorkerRepository.findByWorkerOrderByDeployedAtDesc(worker);
-        for (DeployedWorker dw : deployedWork) {
-            deployedRequestIds.add(dw.getRequest().getId());
-            Map<String, Object> entry = new HashMap<>();
-            entry.put("type", "deployed");
-            entry.put("requestId", dw.getRequest().getId());
-            entry.put("workerTypes", dw.getRequest().getWorkerTypes() != null ? 
-                dw.getRequest().getWorkerTypes() : new ArrayList<>());
-            entry.put("workType", dw.getRequest().getWorkType());
-            entry.put("location", dw.getRequest().getLocation());
-            entry.put("status", dw.getRequest().getStatus());
-            entry.put("date", dw.getDeployedAt());
-            entry.put("customer", Map.of(
-                    "id", dw.getRequest().getCustomer().getId(),
-                    "name", dw.getRequest().getCustomer().getName(),
-                    "phone", dw.getRequest().getCustomer().getPhone()
-            ));
-            history.add(entry);
+    /**
+     * Full work history (legacy unpaginated endpoint), read page by page through the projection query
+     */
+    public List<WorkHistoryEntryDto> getWorkHistory(@NonNull Long userId) {
+        List<WorkHistoryEntryDto> history = new ArrayList<>();
+        String cursor = null;
+        WorkHistoryPageDto page;
+        do {
+            page = getWorkHistoryPage(userId, cursor, MAX_HISTORY_PAGE_SIZE, null, null);
+            history.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+        return history;
+    }
+
+    /**
+     * Cursor-paginated work history backed by a single projection query.
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param statuses request statuses to include (all when empty)
+     * @param type "deployed", "confirmed" or null for both
+     */
+    @Transactional(readOnly = true)
+    public WorkHistoryPageDto getWorkHistoryPage(@NonNull Long userId, String cursor, int limit,
+                                                 List<String> statuses, String type) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("Worker not found");
         }
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
 
-        // Get confirmed work, but exclude requests that are already in deployed work
-        List<ConfirmedWorker> confirmedWork = confirmedWorkerRepository.findByWorkerOrderByConfirmedAtDesc(worker);
-        for (ConfirmedWorker cw : confirmedWork) {
-            // Only add if this request is not already in deployed work
-            if (!deployedRequestIds.contains(cw.getRequest().getId())) {
-                Map<String, Object> entry = new HashMap<>();
-                entry.put("type", "confirmed");
-                entry.put("requestId", cw.getRequest().getId());
-                entry.put("workerTypes", cw.getRequest().getWorkerTypes() != null ? 
-                    cw.getRequest().getWorkerTypes()
-                        : new ArrayList<>());
-                entry.put("workType", cw.getRequest().getWorkType());
-                entry.put("startDate", cw.getRequest().getStartDate());
-                entry.put("endDate", cw.getRequest().getEndDate());
-                entry.put("location", cw.getRequest().getLocation());
-                entry.put("status", cw.getRequest().getStatus());
-                entry.put("date", cw.getConfirmedAt());
-                entry.put("customer", Map.of(
-                        "id", cw.getRequest().getCustomer().getId(),
-                        "name", cw.getRequest().getCustomer().getName(),
-                        "phone", cw.getRequest().getCustomer().getPhone()
-                ));
-                history.add(entry);
+        // First page starts after the latest possible key
+        LocalDateTime cursorAt = LocalDateTime.of(9999, 12, 31, 23, 59);
+        Long cursorRequestId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.trim().isEmpty()) {
+            String[] parts = cursor.trim().split("_", 2);
+            try {
+                cursorAt = LocalDateTime.parse(parts[0]);
+                cursorRequestId = Long.parseLong(parts[1]);
+            } catch (Exception e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        List<String> statusFilter = new ArrayList<>();
+        if (statuses == null || statuses.isEmpty()) {
+            for (Request.RequestStatus status : Request.RequestStatus.values()) {
+                statusFilter.add(status.name());
+            }
+        } else {
+            for (String status : statuses) {
+                try {
+                    statusFilter.add(Request.RequestStatus.valueOf(status.trim().toUpperCase()).name());
+                } catch (IllegalArgumentException e) {
+                    throw new RuntimeException("Invalid status: " + status);
+                }
             }
         }
+        boolean includeDeployed = type == null || type.isEmpty() || "deployed".equalsIgnoreCase(type);
+        boolean includeConfirmed = type == null || type.isEmpty() || "confirmed".equalsIgnoreCase(type);
 
-        // Sort by date (most recent first)
-        history.sort((a, b) -> {
-            LocalDateTime dateA = (LocalDateTime) a.get("date");
-            LocalDateTime dateB = (LocalDateTime) b.get("date");
-            return dateB.compareTo(dateA);
-        });
+        // Fetch one extra row to know whether another page exists
+        List<Object[]> rows = deployedWorkerRepository.findWorkHistoryPage(userId, statusFilter,
+                includeDeployed, includeConfirmed, cursorAt, cursorRequestId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
 
-        return history;
+        List<WorkHistoryEntryDto> items = new ArrayList<>();
+        Map<Long, List<String>> workerTypesByRequest = new HashMap<>();
+        for (Object[] row : rows) {
+            WorkHistoryEntryDto entry = new WorkHistoryEntryDto();
+            entry.setType((String) row[0]);
+            entry.setRequestId(((Number) row[1]).longValue());
+            entry.setDate(toLocalDateTime(row[2]));
+            entry.setWorkType((String) row[3]);
+            entry.setStatus(row[4] != null ? Request.RequestStatus.valueOf((String) row[4]) : null);
+            entry.setStartDate(toLocalDate(row[5]));
+            entry.setEndDate(toLocalDate(row[6]));
+            entry.setLocation(new Location(
+                    row[7] != null ? ((Number) row[7]).doubleValue() : null,
+                    row[8] != null ? ((Number) row[8]).doubleValue() : null,
+                    (String) row[9], (String) row[10]));
+            entry.setCustomer(new WorkHistoryEntryDto.CustomerSummary(
+                    ((Number) row[11]).longValue(), (String) row[12], (String) row[13]));
+            entry.setWorkerTypes(workerTypesByRequest.computeIfAbsent(entry.getRequestId(), id -> new ArrayList<>()));
+            items.add(entry);
+        }
+        if (!workerTypesByRequest.isEmpty()) {
+            for (Object[] row : requestRepository.findWorkerTypesByRequestIds(workerTypesByRequest.keySet())) {
+                workerTypesByRequest.get((Long) row[0]).add((String) row[1]);
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore && !items.isEmpty()) {
+            WorkHistoryEntryDto last = items.get(items.size() - 1);
+            nextCursor = last.getDate() + "_" + last.getRequestId();
+        }
+        return new WorkHistoryPageDto(items, nextCursor, hasMore);
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private java.time.LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return (java.time.LocalDate) value;
     }
 
     @Transactional
@@ -190,7 +251,10 @@ public class WorkerService {
             }
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // The display name is cached per principal on every node
+        clusterCacheService.invalidate(ClusterCacheService.PRINCIPALS, userId);
+        return savedUser;
     }
 }
 
@@ -0,0 +1,188 @@
+package com.kaamkart.service;
+
+import com.kaamkart.model.WorkerType;
+import com.kaamkart.repository.WorkerTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Interns worker type names to bit positions (WorkerType.bitIndex, 0..62) so that "does this worker
+ * have any of the request's types" is a single bitwise AND on workers.worker_types_mask and
+ * requests.worker_types_mask instead of comparing string lists or joining the element collections.
+ *
+ * Worker types are still stored as strings, so a name that is not (or no longer) a WorkerType row
+ * has no bit. Such rows get UNINTERNED_FLAG (the sign bit) in their mask, and every check that sees
+ * the flag, or a mask that was never computed (null), falls back to comparing the string lists.
+ */
+@Service
+public class WorkerTypeRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerTypeRegistry.class);
+
+    public static final long UNINTERNED_FLAG = Long.MIN_VALUE;
+
+    static final int MAX_BITS = 63;
+
+    // Recompute masks from the element collections; only rows whose mask changes are written
+    private static final String RECOMPUTE_WORKER_MASKS_SQL =
+            "UPDATE workers w SET worker_types_mask = m.mask FROM (" +
+            "  SELECT w2.id, COALESCE(bit_or(CAST(1 AS BIGINT) << wt.bit_index), 0) " +
+            "         | CASE WHEN bool_or(x.worker_type IS NOT NULL AND wt.bit_index IS NULL) " +
+            "                THEN CAST(-9223372036854775808 AS BIGINT) ELSE 0 END AS mask" +
+            "  FROM workers w2" +
+            "  LEFT JOIN workers_worker_types x ON x.worker_id = w2.id" +
+            "  LEFT JOIN worker_types wt ON wt.name = x.worker_type" +
+            "  GROUP BY w2.id) m " +
+            "WHERE m.id = w.id AND w.worker_types_mask IS DISTINCT FROM m.mask";
+
+    private static final String RECOMPUTE_REQUEST_MASKS_SQL =
+            "UPDATE requests r SET worker_types_mask = m.mask FROM (" +
+            "  SELECT r2.id, COALESCE(bit_or(CAST(1 AS BIGINT) << wt.bit_index), 0) " +
+            "         | CASE WHEN bool_or(x.worker_type IS NOT NULL AND wt.bit_index IS NULL) " +
+            "                THEN CAST(-9223372036854775808 AS BIGINT) ELSE 0 END AS mask" +
+            "  FROM requests r2" +
+            "  LEFT JOIN request_worker_types x ON x.request_id = r2.id" +
+            "  LEFT JOIN worker_types wt ON wt.name = x.worker_type" +
+            "  GROUP BY r2.id) m " +
+            "WHERE m.id = r.id AND r.worker_types_mask IS DISTINCT FROM m.mask";
+
+    @Autowired
+    private WorkerTypeRepository workerTypeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Not synchronized: refresh runs SQL, which would pin the carrier of a virtual thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Map<String, Integer> bitsByName = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            refresh(true);
+        } catch (Exception e) {
+            logger.error("Failed to initialize worker type bitmasks (string matching stays in use): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Give every worker type without a bit the lowest free one, reload the name -> bit map and
+     * optionally recompute stored masks (needed whenever a bit is assigned, freed or renamed)
+     */
+    public void refresh(boolean recomputeMasks) {
+        refreshLock.lock();
+        try {
+            // Own transaction: callers refresh from afterCommit, where a joined transaction is never committed
+            TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+            requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            Map<String, Integer> bits = requiresNew.execute(status -> assignBits(recomputeMasks));
+            // Published only once the bits and masks are committed
+            bitsByName = bits != null ? bits : Map.of();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Map<String, Integer> assignBits(boolean recomputeMasks) {
+        List<WorkerType> types = workerTypeRepository.findAll();
+        Set<Integer> usedBits = new HashSet<>();
+        for (WorkerType type : types) {
+            if (type.getBitIndex() != null) {
+                usedBits.add(type.getBitIndex());
+            }
+        }
+        int nextBit = 0;
+        for (WorkerType type : types) {
+            if (type.getBitIndex() != null) {
+                continue;
+            }
+            while (nextBit < MAX_BITS && usedBits.contains(nextBit)) {
+                nextBit++;
+            }
+            if (nextBit >= MAX_BITS) {
+                logger.warn("⚠️ No free worker type bit for {} - it will be matched by name", type.getName());
+                continue;
+            }
+            type.setBitIndex(nextBit);
+            usedBits.add(nextBit);
+            workerTypeRepository.save(type);
+            recomputeMasks = true;
+        }
+
+        Map<String, Integer> bits = new HashMap<>();
+        for (WorkerType type : types) {
+            if (type.getBitIndex() != null) {
+                bits.put(type.getName(), type.getBitIndex());
+            }
+        }
+
+        if (recomputeMasks) {
+            int workers = jdbcTemplate.update(RECOMPUTE_WORKER_MASKS_SQL);
+            int requests = jdbcTemplate.update(RECOMPUTE_REQUEST_MASKS_SQL);
+            logger.info("🧩 Worker type bitmasks: {} types interned, {} worker and {} request masks updated",
+                    bits.size(), workers, requests);
+        }
+        return bits;
+    }
+
+    /**
+     * Mask for a list of worker type names (with UNINTERNED_FLAG if any name has no bit)
+     */
+    public long maskOf(Collection<String> workerTypes) {
+        long mask = 0L;
+        if (workerTypes == null) {
+            return mask;
+        }
+        Map<String, Integer> bits = bitsByName;
+        for (String name : workerTypes) {
+            Integer bit = name != null ? bits.get(name) : null;
+            if (bit != null) {
+                mask |= 1L << bit;
+            } else if (name != null) {
+                mask |= UNINTERNED_FLAG;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * True if the worker has at least one of the request's worker types
+     */
+    public boolean hasAnyType(Long workerMask, List<String> workerTypes, Long requestMask, List<String> requestTypes) {
+        if (workerMask != null && requestMask != null && ((workerMask | requestMask) & UNINTERNED_FLAG) == 0) {
+            return (workerMask & requestMask) != 0;
+        }
+        if (workerTypes == null || requestTypes == null) {
+            return false;
+        }
+        return requestTypes.stream().anyMatch(workerTypes::contains);
+    }
+
+    /**
+     * Names among the given ones that have no bit and must be matched by name
+     */
+    public List<String> uninterned(Collection<String> workerTypes) {
+        Map<String, Integer> bits = bitsByName;
+        return workerTypes.stream().filter(name -> name != null && !bits.containsKey(name)).toList();
+    }
+}
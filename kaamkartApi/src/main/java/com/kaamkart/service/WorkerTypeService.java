@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +20,9 @@ public class WorkerTypeService {
     
     @Autowired
     private WorkerTypeRepository workerTypeRepository;
+
+    @Autowired
+    private WorkerTypeRegistry workerTypeRegistry;
     
     public List<WorkerType> getActiveWorkerTypes() {
         return workerTypeRepository.findActiveWorkerTypesOrdered();
@@ -48,7 +53,9 @@ public class WorkerTypeService {
         }
         
         workerType.setName(normalizedName);
-        return workerTypeRepository.save(workerType);
+        WorkerType saved = workerTypeRepository.save(workerType);
+        refreshRegistryAfterCommit();
+        return saved;
     }
     
     @Transactional
@@ -64,6 +71,7 @@ public class WorkerTypeService {
                 throw new RuntimeException("Worker type with name '" + newName + "' already exists");
             }
             existing.setName(newName);
+            refreshRegistryAfterCommit();
         }
         
         existing.setDisplayName(updatedWorkerType.getDisplayName());
@@ -82,6 +90,7 @@ public class WorkerTypeService {
             throw new RuntimeException("Worker type not found with ID: " + id);
         }
         workerTypeRepository.deleteById(id);
+        refreshRegistryAfterCommit();
     }
     
     @Transactional
@@ -93,5 +102,21 @@ public class WorkerTypeService {
         workerType.setIsActive(!workerType.getIsActive());
         return workerTypeRepository.save(workerType);
     }
-}
 
+    /**
+     * New, renamed or deleted types change which bit each name maps to, so stored masks are recomputed
+     * once the change is committed
+     */
+    private void refreshRegistryAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    workerTypeRegistry.refresh(true);
+                } catch (Exception e) {
+                    logger.error("Failed to refresh worker type bitmasks: {}", e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.kaamkart.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal consecutive-failure circuit breaker for an outbound upstream.
+ * CLOSED -> OPEN after failureThreshold consecutive failures,
+ * OPEN -> HALF_OPEN after openDurationMs, HALF_OPEN lets one trial call through at a time.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private volatile State state = State.CLOSED;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicLong lastTrialAt = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt.get() < openDurationMs) {
+                shortCircuited.incrementAndGet();
+                return false;
+            }
+            state = State.HALF_OPEN;
+            lastTrialAt.set(0);
+        }
+        if (state == State.HALF_OPEN) {
+            // Only one trial call at a time while half-open; a trial that never reported back expires
+            long now = System.currentTimeMillis();
+            if (now - lastTrialAt.get() < openDurationMs) {
+                shortCircuited.incrementAndGet();
+                return false;
+            }
+            lastTrialAt.set(now);
+        }
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures.set(0);
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt.set(System.currentTimeMillis());
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited.get();
+    }
+}
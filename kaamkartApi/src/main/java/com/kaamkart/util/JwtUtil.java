@@ -1,6 +1,7 @@
 package com.kaamkart.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,10 +21,28 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    public static final String REPLAY_AUDIENCE = "kaamkart-replay";
+
+    // Traffic replay tokens are signed with their own secret, so they are useless against an
+    // instance that does not set replay.accept-tokens
+    @Value("${replay.token-secret:}")
+    private String replayTokenSecret;
+
+    @Value("${replay.accept-tokens:false}")
+    private boolean acceptReplayTokens;
+
     private SecretKey getSigningKey() {
         return Keys.hmacShaKeyFor(secret.getBytes());
     }
 
+    private SecretKey getReplaySigningKey() {
+        return Keys.hmacShaKeyFor(replayTokenSecret.getBytes());
+    }
+
+    public boolean canMintReplayTokens() {
+        return replayTokenSecret != null && !replayTokenSecret.isBlank() && !replayTokenSecret.equals(secret);
+    }
+
     public String generateToken(Long userId, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
@@ -31,6 +50,24 @@ public class JwtUtil {
         return createToken(claims, userId.toString());
     }
 
+    /**
+     * Short-lived token for a replayed call, accepted only by instances with replay.accept-tokens=true
+     */
+    public String generateReplayToken(Long userId, String role, long ttlMs) {
+        if (!canMintReplayTokens()) {
+            throw new RuntimeException("replay.token-secret must be set and differ from jwt.secret");
+        }
+        return Jwts.builder()
+                .claim("userId", userId)
+                .claim("role", role)
+                .subject(userId.toString())
+                .audience().add(REPLAY_AUDIENCE).and()
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + ttlMs))
+                .signWith(getReplaySigningKey())
+                .compact();
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
@@ -59,11 +96,23 @@ public class JwtUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        try {
+            return Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        } catch (JwtException e) {
+            if (!acceptReplayTokens || !canMintReplayTokens()) {
+                throw e;
+            }
+            return Jwts.parser()
+                    .verifyWith(getReplaySigningKey())
+                    .requireAudience(REPLAY_AUDIENCE)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        }
     }
 
     public Boolean isTokenExpired(String token) {
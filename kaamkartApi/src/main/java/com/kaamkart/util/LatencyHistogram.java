@@ -0,0 +1,75 @@
+package com.kaamkart.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram (milliseconds). Lock-free recording,
+ * percentiles are approximated by the upper bound of the bucket they fall in.
+ */
+public class LatencyHistogram {
+
+    private static final long[] BUCKET_UPPER_BOUNDS_MS = {25, 50, 100, 250, 500, 1000, 2000, 5000, 10000, Long.MAX_VALUE};
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_UPPER_BOUNDS_MS.length];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMs = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long latencyMs) {
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MS.length; i++) {
+            if (latencyMs <= BUCKET_UPPER_BOUNDS_MS[i]) {
+                buckets[i].increment();
+                break;
+            }
+        }
+        count.increment();
+        totalMs.add(latencyMs);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long percentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0L;
+        }
+        long threshold = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= threshold) {
+                return BUCKET_UPPER_BOUNDS_MS[i] == Long.MAX_VALUE ? BUCKET_UPPER_BOUNDS_MS[i - 1] : BUCKET_UPPER_BOUNDS_MS[i];
+            }
+        }
+        return BUCKET_UPPER_BOUNDS_MS[BUCKET_UPPER_BOUNDS_MS.length - 2];
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        long total = count.sum();
+        snapshot.put("count", total);
+        snapshot.put("avgMs", total == 0 ? 0.0 : Math.round(totalMs.sum() * 10.0 / total) / 10.0);
+        snapshot.put("p50Ms", percentile(0.50));
+        snapshot.put("p95Ms", percentile(0.95));
+        snapshot.put("p99Ms", percentile(0.99));
+
+        Map<String, Long> bucketCounts = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            String label = BUCKET_UPPER_BOUNDS_MS[i] == Long.MAX_VALUE
+                    ? ">" + BUCKET_UPPER_BOUNDS_MS[i - 1]
+                    : "<=" + BUCKET_UPPER_BOUNDS_MS[i];
+            bucketCounts.put(label, buckets[i].sum());
+        }
+        snapshot.put("buckets", bucketCounts);
+        return snapshot;
+    }
+}
@@ -0,0 +1,406 @@
+package com.kaamkart.util;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared outbound HTTP layer for third-party APIs (India Post, Nominatim, ip-api).
+ *
+ * One pooled keep-alive HttpClient is shared by all upstreams. Calls are non-blocking
+ * (sendAsync), so no thread waits on a slow upstream. Each upstream gets its own bulkhead
+ * (max-concurrency calls in flight, queue-capacity waiting), circuit breaker and latency
+ * histogram, so a slow or dead provider fails fast. Every attempt has a deadline of timeout-ms
+ * from submission: a call still running at the deadline is cancelled, and a queued attempt that
+ * reaches it is failed without being sent. Idempotent GETs can be hedged: if the first attempt
+ * has not answered after hedge-delay-ms a second one is sent and the first response wins.
+ *
+ * The bulkhead bounds concurrency, not rate. An upstream with a published rate limit (Nominatim
+ * allows about one request per second) also sets rate-per-second: every HTTP call sent, hedges
+ * included, then takes a token from that upstream's TokenBucket, and attempts wait in the queue
+ * (still bounded by their deadline) until one is available. Callers fanning out several queries
+ * do not need to space their own calls.
+ *
+ * Upstream settings are read from outbound.{name}.* properties (see application.properties).
+ */
+@Component
+public class OutboundHttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundHttpClient.class);
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(3))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    // Fires hedges and drains queues that are waiting for a rate limit token
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "outbound-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    /**
+     * Asynchronous GET through the named upstream's bulkhead and circuit breaker
+     */
+    public CompletableFuture<Response> getAsync(String upstreamName, String url, Map<String, String> headers) {
+        Upstream upstream = upstream(upstreamName);
+        if (!upstream.circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Circuit open for upstream " + upstreamName));
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofMillis(upstream.timeoutMs))
+                .GET();
+        if (headers != null) {
+            headers.forEach(builder::header);
+        }
+        HttpRequest request = builder.build();
+
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger(1);
+
+        submitAttempt(upstream, new Attempt(request, result, attempts, pending, upstream.timeoutMs));
+
+        if (upstream.hedgeDelayMs > 0) {
+            scheduler.schedule(() -> {
+                if (!result.isDone()) {
+                    upstream.hedges.incrementAndGet();
+                    pending.incrementAndGet();
+                    submitAttempt(upstream, new Attempt(request, result, attempts, pending, upstream.timeoutMs));
+                }
+            }, upstream.hedgeDelayMs, TimeUnit.MILLISECONDS);
+        }
+
+        // First attempt to finish wins, the other one is cancelled
+        result.whenComplete((response, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+        return result;
+    }
+
+    /**
+     * Blocking convenience wrapper: body of a 200 response, or null on any failure.
+     * The wait is bounded by the upstream timeout (plus hedge delay).
+     */
+    public String getBody(String upstreamName, String url, Map<String, String> headers) {
+        return awaitBody(upstreamName, url, getAsync(upstreamName, url, headers));
+    }
+
+    /**
+     * Wait for a call started with getAsync: body of a 200 response, or null on any failure
+     */
+    public String awaitBody(String upstreamName, String url, CompletableFuture<Response> call) {
+        Upstream upstream = upstream(upstreamName);
+        try {
+            Response response = call.get(upstream.timeoutMs + upstream.hedgeDelayMs + 500, TimeUnit.MILLISECONDS);
+            if (response.getStatusCode() == 200) {
+                return response.getBody();
+            }
+            logger.debug("Upstream {} returned status code: {} for {}", upstreamName, response.getStatusCode(), url);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.debug("Upstream {} call failed for {}: {}", upstreamName, url, cause.getMessage());
+            call.cancel(true);
+        }
+        return null;
+    }
+
+    public long getTimeoutMs(String upstreamName) {
+        Upstream upstream = upstream(upstreamName);
+        return upstream.timeoutMs + upstream.hedgeDelayMs;
+    }
+
+    public Map<String, Object> getUpstreamStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        upstreams.forEach((name, upstream) -> {
+            Map<String, Object> upstreamStats = new LinkedHashMap<>();
+            upstreamStats.put("circuitState", upstream.circuitBreaker.getState().name());
+            upstreamStats.put("consecutiveFailures", upstream.circuitBreaker.getConsecutiveFailures());
+            upstreamStats.put("shortCircuited", upstream.circuitBreaker.getShortCircuited());
+            upstreamStats.put("activeCalls", upstream.maxConcurrency - upstream.permits.availablePermits());
+            upstreamStats.put("queuedCalls", upstream.queue.size());
+            upstreamStats.put("rejected", upstream.rejected.get());
+            upstreamStats.put("expiredInQueue", upstream.expiredInQueue.get());
+            upstreamStats.put("hedges", upstream.hedges.get());
+            if (upstream.rateLimiter != null) {
+                upstreamStats.put("ratePerSecond", upstream.ratePerSecond);
+                upstreamStats.put("availableTokens", upstream.rateLimiter.getAvailableTokens());
+                upstreamStats.put("rateLimitWaits", upstream.rateLimitWaits.get());
+            }
+            upstreamStats.put("latency", upstream.latency.snapshot());
+            stats.put(name, upstreamStats);
+        });
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        upstreams.values().forEach(upstream -> {
+            Attempt queued;
+            while ((queued = upstream.queue.poll()) != null) {
+                queued.result.cancel(false);
+            }
+        });
+    }
+
+    private void submitAttempt(Upstream upstream, Attempt attempt) {
+        // A rate-limited upstream always goes through the queue, which hands out the tokens in order
+        if (upstream.rateLimiter == null && upstream.permits.tryAcquire()) {
+            start(upstream, attempt);
+        } else if (!upstream.queue.offer(attempt)) {
+            upstream.rejected.incrementAndGet();
+            failAttempt(attempt, new RuntimeException("Bulkhead full for upstream " + upstream.name));
+            return;
+        }
+        // A permit may have been released while this attempt was being queued
+        drainQueue(upstream);
+    }
+
+    private void drainQueue(Upstream upstream) {
+        while (!upstream.queue.isEmpty() && upstream.permits.tryAcquire()) {
+            if (upstream.rateLimiter != null) {
+                long waitNanos = upstream.rateLimiter.tryAcquire();
+                if (waitNanos > 0) {
+                    upstream.permits.release();
+                    scheduleDrain(upstream, waitNanos);
+                    return;
+                }
+            }
+            Attempt next = upstream.queue.poll();
+            boolean sent = false;
+            if (next == null) {
+                upstream.permits.release();
+            } else {
+                sent = start(upstream, next);
+            }
+            if (!sent && upstream.rateLimiter != null) {
+                // Queue emptied by another drain, or the attempt expired: nothing was sent on this token
+                upstream.rateLimiter.refund();
+            }
+        }
+    }
+
+    /**
+     * Drain again once the next rate limit token is due (at most one pending drain per upstream)
+     */
+    private void scheduleDrain(Upstream upstream, long delayNanos) {
+        if (!upstream.drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.rateLimitWaits.incrementAndGet();
+        try {
+            scheduler.schedule(() -> {
+                upstream.drainScheduled.set(false);
+                drainQueue(upstream);
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // Scheduler shut down: queued attempts are cancelled by shutdown()
+            upstream.drainScheduled.set(false);
+        }
+    }
+
+    /**
+     * Send an attempt that holds a permit; the permit is released when the call completes.
+     * Returns false if the attempt was not sent (already settled, expired or failed to start).
+     */
+    private boolean start(Upstream upstream, Attempt attempt) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(attempt.deadlineNanos - System.nanoTime());
+        if (attempt.result.isDone() || remainingMs <= 0) {
+            // Settled by another attempt, or waited in the queue until its deadline: never sent
+            upstream.permits.release();
+            if (!attempt.result.isDone()) {
+                upstream.expiredInQueue.incrementAndGet();
+            }
+            failAttempt(attempt, new TimeoutException("Deadline passed in the queue of upstream " + upstream.name));
+            return false;
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> call;
+        try {
+            call = httpClient.sendAsync(attempt.request, HttpResponse.BodyHandlers.ofString())
+                    .orTimeout(remainingMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            upstream.permits.release();
+            upstream.circuitBreaker.recordFailure();
+            failAttempt(attempt, e);
+            return false;
+        }
+        attempt.attempts.add(call);
+
+        call.whenComplete((httpResponse, error) -> {
+            upstream.permits.release();
+            try {
+                long latencyMs = (System.nanoTime() - start) / 1_000_000L;
+                if (error == null) {
+                    upstream.latency.record(latencyMs);
+                    int status = httpResponse.statusCode();
+                    if (status >= 500 || status == 429) {
+                        upstream.circuitBreaker.recordFailure();
+                    } else {
+                        upstream.circuitBreaker.recordSuccess();
+                    }
+                    attempt.result.complete(new Response(status, httpResponse.body(), latencyMs));
+                    return;
+                }
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                // A loser cancelled after the result is settled is not an upstream failure
+                if (!(cause instanceof CancellationException) && !attempt.result.isDone()) {
+                    upstream.latency.record(latencyMs);
+                    upstream.circuitBreaker.recordFailure();
+                }
+                failAttempt(attempt, cause);
+            } finally {
+                drainQueue(upstream);
+            }
+        });
+        if (attempt.result.isDone()) {
+            // Settled while this call was being started: the whenComplete of getAsync already ran
+            call.cancel(true);
+        }
+        return true;
+    }
+
+    private void failAttempt(Attempt attempt, Throwable error) {
+        if (attempt.pending.decrementAndGet() <= 0) {
+            attempt.result.completeExceptionally(error);
+        }
+    }
+
+    private Upstream upstream(String name) {
+        return upstreams.computeIfAbsent(name, this::createUpstream);
+    }
+
+    private Upstream createUpstream(String name) {
+        String prefix = "outbound." + name + ".";
+        int maxConcurrency = environment.getProperty(prefix + "max-concurrency", Integer.class, 8);
+        int queueCapacity = environment.getProperty(prefix + "queue-capacity", Integer.class, 32);
+        long timeoutMs = environment.getProperty(prefix + "timeout-ms", Long.class, 5000L);
+        long hedgeDelayMs = environment.getProperty(prefix + "hedge-delay-ms", Long.class, 0L);
+        int failureThreshold = environment.getProperty(prefix + "failure-threshold", Integer.class, 5);
+        long openDurationMs = environment.getProperty(prefix + "open-duration-ms", Long.class, 30000L);
+        double ratePerSecond = environment.getProperty(prefix + "rate-per-second", Double.class, 0.0);
+        int rateBurst = environment.getProperty(prefix + "rate-burst", Integer.class, 1);
+
+        logger.info("🌐 Outbound upstream registered | {} | Concurrency: {} | Queue: {} | Timeout: {}ms | Hedge: {}ms | Rate: {}",
+                name, maxConcurrency, queueCapacity, timeoutMs, hedgeDelayMs,
+                ratePerSecond > 0 ? ratePerSecond + "/s (burst " + rateBurst + ")" : "unlimited");
+        return new Upstream(name, maxConcurrency, queueCapacity, new CircuitBreaker(failureThreshold, openDurationMs),
+                timeoutMs, hedgeDelayMs, ratePerSecond, rateBurst);
+    }
+
+    public static class Response {
+        private final int statusCode;
+        private final String body;
+        private final long latencyMs;
+
+        public Response(int statusCode, String body, long latencyMs) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.latencyMs = latencyMs;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public long getLatencyMs() {
+            return latencyMs;
+        }
+    }
+
+    /**
+     * One attempt of a call; a hedged call has two sharing the same result
+     */
+    private static class Attempt {
+        private final HttpRequest request;
+        private final CompletableFuture<Response> result;
+        private final List<Future<?>> attempts;
+        private final AtomicInteger pending;
+        private final long deadlineNanos;
+
+        Attempt(HttpRequest request, CompletableFuture<Response> result, List<Future<?>> attempts,
+                AtomicInteger pending, long timeoutMs) {
+            this.request = request;
+            this.result = result;
+            this.attempts = attempts;
+            this.pending = pending;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        }
+    }
+
+    private static class Upstream {
+        private final String name;
+        private final int maxConcurrency;
+        private final Semaphore permits;
+        private final BlockingQueue<Attempt> queue;
+        private final CircuitBreaker circuitBreaker;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final long timeoutMs;
+        private final long hedgeDelayMs;
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong expiredInQueue = new AtomicLong();
+        private final AtomicLong hedges = new AtomicLong();
+        private final double ratePerSecond;
+        private final TokenBucket rateLimiter; // null = no rate limit
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+        private final AtomicLong rateLimitWaits = new AtomicLong();
+
+        Upstream(String name, int maxConcurrency, int queueCapacity, CircuitBreaker circuitBreaker,
+                 long timeoutMs, long hedgeDelayMs, double ratePerSecond, int rateBurst) {
+            this.name = name;
+            this.maxConcurrency = maxConcurrency;
+            this.permits = new Semaphore(maxConcurrency);
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+            this.circuitBreaker = circuitBreaker;
+            this.timeoutMs = timeoutMs;
+            this.hedgeDelayMs = hedgeDelayMs;
+            this.ratePerSecond = ratePerSecond;
+            this.rateLimiter = ratePerSecond > 0 ? new TokenBucket(ratePerSecond, rateBurst) : null;
+        }
+    }
+}
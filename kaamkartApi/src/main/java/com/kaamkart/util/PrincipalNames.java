@@ -0,0 +1,26 @@
+package com.kaamkart.util;
+
+import org.springframework.security.core.Authentication;
+
+import java.util.Map;
+
+/**
+ * Display name of the authenticated caller, as put into the authentication details by
+ * JwtAuthenticationFilter, so controllers need not reload the user to name the sender of a message
+ */
+public final class PrincipalNames {
+
+    private PrincipalNames() {
+    }
+
+    /**
+     * The caller's name, or null when the authentication carries none
+     */
+    public static String nameOf(Authentication authentication) {
+        if (authentication != null && authentication.getDetails() instanceof Map<?, ?> details
+                && details.get("name") instanceof String name && !name.isEmpty()) {
+            return name;
+        }
+        return null;
+    }
+}
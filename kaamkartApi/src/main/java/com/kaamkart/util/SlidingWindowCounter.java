@@ -0,0 +1,153 @@
+package com.kaamkart.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory sliding-window event counter per key (e.g. login attempts per IP).
+ * Each key keeps the timestamps of its events inside the window, capped at maxEvents + 1,
+ * so memory per key stays bounded no matter how many events a caller fires.
+ * At most maxKeys keys are tracked; beyond that the least recently used key is dropped.
+ */
+public class SlidingWindowCounter {
+
+    private final long windowMs;
+    private final int maxEvents;
+    private final int maxKeys;
+
+    // Access-ordered, so the eldest entry is the least recently used key; guarded by its own monitor
+    private final LinkedHashMap<String, Deque<Long>> eventsByKey = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Deque<Long>> eldest) {
+            return size() > maxKeys;
+        }
+    };
+
+    public SlidingWindowCounter(long windowMs, int maxEvents, int maxKeys) {
+        this.windowMs = windowMs;
+        this.maxEvents = maxEvents;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Number of events for the key inside the window ending now
+     */
+    public int count(String key, long now) {
+        Deque<Long> events = get(key);
+        if (events == null) {
+            return 0;
+        }
+        synchronized (events) {
+            evictOlderThan(events, now - windowMs);
+            return events.size();
+        }
+    }
+
+    public boolean isOverLimit(String key, long now) {
+        return count(key, now) >= maxEvents;
+    }
+
+    /**
+     * Check and count in one step: records the event unless the key is already at the limit.
+     * Concurrent callers for the same key cannot all pass a check made before any of them recorded.
+     * @return 0 if the event was recorded, otherwise milliseconds until the key is under the limit
+     */
+    public long tryAcquire(String key, long now) {
+        Deque<Long> events;
+        synchronized (eventsByKey) {
+            events = eventsByKey.computeIfAbsent(key, k -> new ArrayDeque<>());
+        }
+        synchronized (events) {
+            long retryMs = retryAfterMs(events, now);
+            if (retryMs > 0) {
+                return retryMs;
+            }
+            events.addLast(now);
+            while (events.size() > maxEvents + 1) {
+                events.removeFirst();
+            }
+            return 0;
+        }
+    }
+
+    public void record(String key, long now) {
+        Deque<Long> events;
+        synchronized (eventsByKey) {
+            events = eventsByKey.computeIfAbsent(key, k -> new ArrayDeque<>());
+        }
+        synchronized (events) {
+            evictOlderThan(events, now - windowMs);
+            events.addLast(now);
+            while (events.size() > maxEvents + 1) {
+                events.removeFirst();
+            }
+        }
+    }
+
+    public void clear(String key) {
+        synchronized (eventsByKey) {
+            eventsByKey.remove(key);
+        }
+    }
+
+    /**
+     * Milliseconds until the oldest event in the window expires (0 if the key is under the limit)
+     */
+    public long retryAfterMs(String key, long now) {
+        Deque<Long> events = get(key);
+        if (events == null) {
+            return 0;
+        }
+        synchronized (events) {
+            return retryAfterMs(events, now);
+        }
+    }
+
+    /**
+     * Drop keys without events in the window (periodic cleanup, not called on the record path)
+     */
+    public void purgeExpired(long now) {
+        long cutoff = now - windowMs;
+        synchronized (eventsByKey) {
+            eventsByKey.values().removeIf(events -> {
+                synchronized (events) {
+                    evictOlderThan(events, cutoff);
+                    return events.isEmpty();
+                }
+            });
+        }
+    }
+
+    public int size() {
+        synchronized (eventsByKey) {
+            return eventsByKey.size();
+        }
+    }
+
+    private Deque<Long> get(String key) {
+        synchronized (eventsByKey) {
+            return eventsByKey.get(key);
+        }
+    }
+
+    // Caller holds the monitor of events
+    private long retryAfterMs(Deque<Long> events, long now) {
+        evictOlderThan(events, now - windowMs);
+        if (events.size() < maxEvents || events.isEmpty()) {
+            return 0;
+        }
+        // The window has to slide past enough events to drop below the limit
+        long[] timestamps = events.stream().mapToLong(Long::longValue).toArray();
+        long releasingEvent = timestamps[events.size() - maxEvents];
+        // Never 0 while at the limit, since 0 means "acquired" to tryAcquire
+        return Math.max(1, releasingEvent + windowMs - now);
+    }
+
+    private void evictOlderThan(Deque<Long> events, long cutoff) {
+        while (!events.isEmpty() && events.peekFirst() <= cutoff) {
+            events.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.kaamkart.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks which STOMP topic destinations currently have subscribers, including anonymous sessions
+ * (Spring's SimpUserRegistry only tracks sessions with an authenticated user).
+ * Publishers use it to skip building and sending messages nobody is listening to.
+ *
+ * It also keeps the open WebSocket sessions (registered by the transport decorator in WebSocketConfig)
+ * and the user behind each one, so a user's subscriptions can be revoked after SUBSCRIBE: the simple
+ * broker has no server-side unsubscribe a client would notice, so the session is closed instead.
+ */
+@Component
+public class StompSubscriptionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompSubscriptionRegistry.class);
+
+    // sessionId -> (subscriptionId -> destination)
+    private final Map<String, Map<String, String>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+    // destination -> active subscription count
+    private final Map<String, AtomicInteger> subscriberCounts = new ConcurrentHashMap<>();
+
+    // sessionId -> open WebSocket session, and the authenticated user name (user id) behind it
+    private final Map<String, WebSocketSession> openSessions = new ConcurrentHashMap<>();
+    private final Map<String, String> userBySession = new ConcurrentHashMap<>();
+
+    public void registerSession(WebSocketSession session) {
+        openSessions.put(session.getId(), session);
+    }
+
+    public void unregisterSession(String sessionId) {
+        openSessions.remove(sessionId);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+        Principal user = event.getUser();
+        if (user != null && user.getName() != null) {
+            userBySession.put(sessionId, user.getName());
+        }
+        String previous = subscriptionsBySession
+                .computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        subscriberCounts.computeIfAbsent(destination, d -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = subscriptionsBySession.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String destination = subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null) {
+            decrement(destination);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        userBySession.remove(event.getSessionId());
+        Map<String, String> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    public boolean hasSubscribers(String destination) {
+        AtomicInteger count = subscriberCounts.get(destination);
+        return count != null && count.get() > 0;
+    }
+
+    /**
+     * Destinations under the given prefix that have at least one subscriber
+     */
+    public List<String> getActiveDestinations(String prefix) {
+        return subscriberCounts.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix) && entry.getValue().get() > 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    public int getActiveDestinationCount() {
+        return (int) subscriberCounts.values().stream().filter(count -> count.get() > 0).count();
+    }
+
+    /**
+     * Close every session of the given user that holds a subscription under the given prefix.
+     * The client sees the connection drop and reconnects, and its SUBSCRIBE frames are authorized again.
+     * Returns the number of sessions closed.
+     */
+    public int closeSessionsSubscribedTo(String userName, String prefix, String reason) {
+        int closed = 0;
+        for (Map.Entry<String, Map<String, String>> entry : subscriptionsBySession.entrySet()) {
+            String sessionId = entry.getKey();
+            if (!userName.equals(userBySession.get(sessionId))
+                    || entry.getValue().values().stream().noneMatch(destination -> destination.startsWith(prefix))) {
+                continue;
+            }
+            WebSocketSession session = openSessions.get(sessionId);
+            if (session == null || !session.isOpen()) {
+                continue;
+            }
+            try {
+                session.close(CloseStatus.POLICY_VIOLATION.withReason(reason));
+                closed++;
+            } catch (Exception e) {
+                logger.warn("Could not close STOMP session {} of user {}: {}", sessionId, userName, e.getMessage());
+            }
+        }
+        return closed;
+    }
+
+    private void decrement(String destination) {
+        subscriberCounts.computeIfPresent(destination, (d, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+}
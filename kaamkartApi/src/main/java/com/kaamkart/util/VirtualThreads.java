@@ -0,0 +1,44 @@
+package com.kaamkart.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads (JDK 21+) from code compiled for Java 17.
+ * The JDK 21 APIs are looked up reflectively, so on an older runtime every method falls back
+ * to platform threads instead of failing.
+ * Enabled together with Spring's own virtual thread support by spring.threads.virtual.enabled.
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final boolean SUPPORTED = Runtime.version().feature() >= 21;
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Factory for virtual threads named prefix0, prefix1, ... or the fallback when not supported
+     */
+    public static ThreadFactory factory(String namePrefix, ThreadFactory fallback) {
+        if (!SUPPORTED) {
+            return fallback;
+        }
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Virtual threads unavailable, using platform threads for {}: {}", namePrefix, e.getMessage());
+            return fallback;
+        }
+    }
+}
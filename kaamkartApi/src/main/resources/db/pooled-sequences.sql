@@ -0,0 +1,46 @@
+-- Pooled id sequences for the high-volume tables
+-- Runs on every startup before Hibernate starts (spring.sql.init.*) and is idempotent.
+--
+-- These entities now take their ids from <table>_id_seq with allocationSize = 50: one nextval
+-- reserves a block of 50 ids, so inserts no longer need the generated key back per row and
+-- Hibernate can send them as JDBC batches.
+-- Existing databases created the columns as BIGSERIAL / identity, whose sequence has the same name,
+-- so only the increment has to change. The current value is kept: the next nextval jumps 50 ahead
+-- and the pooled optimizer hands out the ids below it, which are all above the existing max(id).
+-- The column default stays, but a row inserted through it takes an id inside a block an instance may
+-- have reserved: roll this out with the old build fully stopped, and do not insert into these
+-- tables by hand without an explicit id from a fresh nextval block.
+-- Fresh databases: the tables do not exist yet and are skipped; Hibernate creates the sequences with increment 50.
+DO $$
+DECLARE
+    t TEXT;
+    seq TEXT;
+    is_identity BOOLEAN;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['api_logs', 'deployed_workers', 'confirmed_workers',
+                             'request_worker_type_requirements', 'concern_messages', 'ratings'] LOOP
+        IF to_regclass(t) IS NULL THEN
+            CONTINUE;
+        END IF;
+        seq := pg_get_serial_sequence(t, 'id');
+        IF seq IS NULL THEN
+            RAISE NOTICE 'pooled-sequences: % has no id sequence, skipped', t;
+            CONTINUE;
+        END IF;
+        IF (SELECT s.seqincrement FROM pg_sequence s WHERE s.seqrelid = seq::regclass) = 50 THEN
+            CONTINUE;
+        END IF;
+
+        SELECT c.is_identity = 'YES' INTO is_identity
+        FROM information_schema.columns c
+        WHERE c.table_schema = current_schema() AND c.table_name = t AND c.column_name = 'id';
+
+        IF is_identity THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', t);
+        ELSE
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', seq);
+        END IF;
+        RAISE NOTICE 'pooled-sequences: % now increments by 50', seq;
+    END LOOP;
+END
+$$
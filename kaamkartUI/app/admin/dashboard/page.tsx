@@ -35,6 +35,7 @@ interface Request {
   status: string;
   createdAt: string;
   completedAt?: string;
+  locationError?: string;
   deployedWorkers?: any[];
   confirmedWorkers?: any[];
 }
@@ -844,7 +845,7 @@ export default function AdminDashboard() {
           headers: { Authorization: `Bearer ${token}` },
         }
       );
-      toast.success("Request approved! Workers have been notified.", {
+      toast.success("Request approved! Matching workers are being notified.", {
         id: `approve-${requestId}`,
       });
       setShowApproveModal({ show: false, requestId: null });
@@ -3726,6 +3727,14 @@ export default function AdminDashboard() {
                             {request.location?.address || "N/A"}
                           </span>
                         </div>
+                        {request.locationError && (
+                          <div className="flex items-start gap-2 text-red-600">
+                            <span className="flex-shrink-0">⚠️</span>
+                            <span className="break-words min-w-0">
+                              {request.locationError}
+                            </span>
+                          </div>
+                        )}
                         <div className="flex items-center gap-2 text-gray-600 flex-wrap">
                           <span className="flex-shrink-0">👤</span>
                           <span className="break-words min-w-0">
@@ -22,6 +22,12 @@ apiClient.interceptors.request.use(
     if (token && config.headers) {
       config.headers.Authorization = `Bearer ${token}`
     }
+
+    // Read-your-writes: tell the API when this tab last wrote, so it keeps our reads off lagging replicas
+    const lastWriteAt = SessionStorage.getLastWriteAt()
+    if (lastWriteAt && config.headers) {
+      config.headers['X-Last-Write-At'] = lastWriteAt
+    }
     
     // Update last activity on any API call
     SessionStorage.setLastActivity()
@@ -36,6 +42,10 @@ apiClient.interceptors.request.use(
 // Response interceptor for error handling
 apiClient.interceptors.response.use(
   (response) => {
+    const lastWriteAt = response.headers?.['x-last-write-at']
+    if (lastWriteAt) {
+      SessionStorage.setLastWriteAt(String(lastWriteAt))
+    }
     return response
   },
   (error: AxiosError) => {
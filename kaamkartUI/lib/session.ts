@@ -45,6 +45,7 @@ export const SessionStorage = {
     sessionStorage.removeItem('token')
     sessionStorage.removeItem('user')
     sessionStorage.removeItem('lastActivity')
+    sessionStorage.removeItem('lastWriteAt')
   },
 
   setLastActivity: (): void => {
@@ -56,6 +57,18 @@ export const SessionStorage = {
     if (typeof window === 'undefined') return null
     const lastActivity = sessionStorage.getItem('lastActivity')
     return lastActivity ? parseInt(lastActivity, 10) : null
+  },
+
+  // Server commit time of this tab's last write (X-Last-Write-At), echoed back so reads after a write
+  // are served by the primary database whichever API instance handles them
+  setLastWriteAt: (lastWriteAt: string): void => {
+    if (typeof window === 'undefined') return
+    sessionStorage.setItem('lastWriteAt', lastWriteAt)
+  },
+
+  getLastWriteAt: (): string | null => {
+    if (typeof window === 'undefined') return null
+    return sessionStorage.getItem('lastWriteAt')
   }
 }
 
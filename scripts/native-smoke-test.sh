@@ -0,0 +1,102 @@
+#!/bin/bash
+
+# Smoke test for the native KaamKart API executable
+# Build: cd kaamkartApi && mvn -Pnative native:compile
+# Usage: SPRING_DATASOURCE_URL=... SPRING_DATASOURCE_USERNAME=... SPRING_DATASOURCE_PASSWORD=... \
+#        ./scripts/native-smoke-test.sh [path-to-executable]
+# Optional: ADMIN_EMAIL / ADMIN_PASSWORD to also check admin login and the pending requests list
+
+BINARY=${1:-kaamkartApi/target/kaamkart-api}
+PORT=${PORT:-8686}
+BASE_URL="http://localhost:$PORT"
+SUFFIX=$(date +%s)
+FAILED=0
+
+if [ ! -x "$BINARY" ]; then
+    echo "❌ Native executable not found: $BINARY"
+    exit 1
+fi
+
+echo "🚀 Starting native executable ($BINARY) on port $PORT..."
+START_MS=$(date +%s%3N)
+"$BINARY" --server.port=$PORT --spring.profiles.active=${SPRING_PROFILES_ACTIVE:-dev} > native-smoke.log 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null' EXIT
+
+# /api/health answers 200 once startup and warm-up are done
+HEALTHY=0
+for i in $(seq 1 60); do
+    if curl -sf "$BASE_URL/api/health" > /dev/null; then
+        HEALTHY=1
+        break
+    fi
+    if ! kill -0 $APP_PID 2>/dev/null; then
+        echo "❌ Process exited during startup, see native-smoke.log"
+        exit 1
+    fi
+    sleep 0.5
+done
+if [ $HEALTHY -ne 1 ]; then
+    echo "❌ Not healthy after $(( $(date +%s%3N) - START_MS ))ms, see native-smoke.log"
+    exit 1
+fi
+echo "✅ Healthy after $(( $(date +%s%3N) - START_MS ))ms | RSS: $(ps -o rss= -p $APP_PID | tr -d ' ') KB"
+
+check() {
+    local name=$1
+    local expected=$2
+    local actual=$3
+    if [ "$actual" = "$expected" ]; then
+        echo "✅ $name"
+    else
+        echo "❌ $name (HTTP $actual, expected $expected)"
+        FAILED=1
+    fi
+}
+
+json_field() {
+    sed -n "s/.*\"$1\":\"\([^\"]*\)\".*/\1/p"
+}
+
+# Public catalog (entities serialized by Jackson)
+check "Public worker types" 200 "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/api/public/worker-types")"
+check "Public success stories" 200 "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/api/public/success-stories")"
+
+LOCATION='{"latitude":28.6139,"longitude":77.2090,"address":"Connaught Place, New Delhi","pinCode":"110001"}'
+
+# Registration and JWT issuing
+CUSTOMER_TOKEN=$(curl -s -X POST "$BASE_URL/api/auth/register" -H "Content-Type: application/json" \
+    -d "{\"name\":\"Smoke Customer\",\"email\":\"smoke-customer-$SUFFIX@example.com\",\"phone\":\"9000000001\",\"password\":\"smoke123\",\"role\":\"CUSTOMER\",\"location\":$LOCATION}" \
+    | json_field token)
+WORKER_TOKEN=$(curl -s -X POST "$BASE_URL/api/auth/register" -H "Content-Type: application/json" \
+    -d "{\"name\":\"Smoke Worker\",\"email\":\"smoke-worker-$SUFFIX@example.com\",\"phone\":\"9000000002\",\"password\":\"smoke123\",\"role\":\"WORKER\",\"workerTypes\":[\"ELECTRICIAN\"],\"location\":$LOCATION}" \
+    | json_field token)
+[ -n "$CUSTOMER_TOKEN" ] && [ -n "$WORKER_TOKEN" ] && echo "✅ Register customer and worker" || { echo "❌ Register"; FAILED=1; }
+
+# Login (password hashing pool, throttling, JWT)
+check "Worker login" 200 "$(curl -s -o /dev/null -w '%{http_code}' -X POST "$BASE_URL/api/auth/login" -H "Content-Type: application/json" \
+    -d "{\"email\":\"smoke-worker-$SUFFIX@example.com\",\"password\":\"smoke123\"}")"
+
+# Customer creates a request (validation, JPA writes), worker feed and customer list (JWT parsing, lazy loading, JSON)
+START_DATE=$(date -d "+1 day" +%F 2>/dev/null || date -v+1d +%F)
+END_DATE=$(date -d "+3 day" +%F 2>/dev/null || date -v+3d +%F)
+check "Create request" 200 "$(curl -s -o /dev/null -w '%{http_code}' -X POST "$BASE_URL/api/requests" \
+    -H "Authorization: Bearer $CUSTOMER_TOKEN" -H "Content-Type: application/json" \
+    -d "{\"workType\":\"Smoke test wiring\",\"workerTypeRequirements\":[{\"workerType\":\"ELECTRICIAN\",\"numberOfWorkers\":1}],\"startDate\":\"$START_DATE\",\"endDate\":\"$END_DATE\",\"location\":$LOCATION}")"
+check "Customer requests" 200 "$(curl -s -o /dev/null -w '%{http_code}' -H "Authorization: Bearer $CUSTOMER_TOKEN" "$BASE_URL/api/requests/my-requests")"
+check "Worker available feed" 200 "$(curl -s -o /dev/null -w '%{http_code}' -H "Authorization: Bearer $WORKER_TOKEN" "$BASE_URL/api/requests/available")"
+
+# STOMP endpoint (SockJS info)
+check "WebSocket endpoint" 200 "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/ws/info")"
+
+if [ -n "$ADMIN_EMAIL" ] && [ -n "$ADMIN_PASSWORD" ]; then
+    ADMIN_TOKEN=$(curl -s -X POST "$BASE_URL/api/auth/admin/login" -H "Content-Type: application/json" \
+        -d "{\"email\":\"$ADMIN_EMAIL\",\"password\":\"$ADMIN_PASSWORD\"}" | json_field token)
+    check "Admin pending requests" 200 "$(curl -s -o /dev/null -w '%{http_code}' -H "Authorization: Bearer $ADMIN_TOKEN" "$BASE_URL/api/admin/requests/pending")"
+fi
+
+if [ $FAILED -ne 0 ]; then
+    echo "❌ Native smoke test failed, see native-smoke.log"
+    exit 1
+fi
+echo "✅ Native smoke test passed"
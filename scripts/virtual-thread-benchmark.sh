@@ -0,0 +1,70 @@
+#!/bin/bash
+
+# Throughput benchmark: platform threads (default) vs virtual threads under a mixed I/O load
+# Needs a JDK 21+ on the PATH, a database configured through SPRING_DATASOURCE_* and a built jar:
+#   cd kaamkartApi && mvn clean package -DskipTests
+# Usage: ./scripts/virtual-thread-benchmark.sh [jar] [requests] [concurrency]
+#
+# Load mix per batch of 10 requests:
+#   6 x GET /api/requests/available (JDBC + JSON)
+#   2 x POST /api/auth/login (user lookup + BCrypt)
+#   2 x GET /api/public/worker-types (in-memory snapshot, CPU only)
+
+JAR=${1:-kaamkartApi/target/kaamkart-api-1.0.0.jar}
+REQUESTS=${2:-2000}
+CONCURRENCY=${3:-200}
+PORT=${PORT:-8687}
+BASE_URL="http://localhost:$PORT"
+
+if [ ! -f "$JAR" ]; then
+    echo "❌ Jar not found: $JAR"
+    exit 1
+fi
+if [ "$(java -XshowSettings:properties -version 2>&1 | sed -n 's/.*java.specification.version = //p')" -lt 21 ]; then
+    echo "❌ Virtual threads need JDK 21+ (java -version)"
+    exit 1
+fi
+
+run_mode() {
+    local virtual=$1
+    local log="benchmark-virtual-$virtual.log"
+
+    # Login throttling and warm-up are disabled so the numbers compare the thread models only
+    java -jar "$JAR" --server.port=$PORT --spring.profiles.active=${SPRING_PROFILES_ACTIVE:-dev} \
+        --spring.threads.virtual.enabled=$virtual --login-throttle.enabled=false --warmup.enabled=false \
+        > "$log" 2>&1 &
+    local pid=$!
+
+    for i in $(seq 1 120); do
+        curl -sf "$BASE_URL/api/health" > /dev/null && break
+        sleep 0.5
+    done
+
+    local email="bench-$virtual-$(date +%s)@example.com"
+    local token=$(curl -s -X POST "$BASE_URL/api/auth/register" -H "Content-Type: application/json" \
+        -d "{\"name\":\"Benchmark Worker\",\"email\":\"$email\",\"phone\":\"9000000003\",\"password\":\"bench123\",\"role\":\"WORKER\",\"workerTypes\":[\"ELECTRICIAN\"],\"location\":{\"latitude\":28.61,\"longitude\":77.20}}" \
+        | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+
+    local start=$(date +%s%3N)
+    seq 1 $REQUESTS | xargs -P $CONCURRENCY -I{} sh -c '
+        case $(( {} % 10 )) in
+            0|1) curl -s -o /dev/null -w "%{http_code} %{time_total}\n" -X POST "'$BASE_URL'/api/auth/login" \
+                     -H "Content-Type: application/json" -d "{\"email\":\"'$email'\",\"password\":\"bench123\"}" ;;
+            2|3) curl -s -o /dev/null -w "%{http_code} %{time_total}\n" "'$BASE_URL'/api/public/worker-types" ;;
+            *)   curl -s -o /dev/null -w "%{http_code} %{time_total}\n" -H "Authorization: Bearer '$token'" \
+                     "'$BASE_URL'/api/requests/available" ;;
+        esac' > "benchmark-virtual-$virtual.times"
+    local elapsed=$(( $(date +%s%3N) - start ))
+
+    local ok=$(grep -c '^200 ' "benchmark-virtual-$virtual.times")
+    local p99=$(awk '{print $2}' "benchmark-virtual-$virtual.times" | sort -n | awk '{a[NR]=$1} END {print a[int(NR*0.99)]}')
+    echo "virtual=$virtual | $REQUESTS requests, concurrency $CONCURRENCY | ${elapsed}ms | $(( REQUESTS * 1000 / (elapsed > 0 ? elapsed : 1) )) req/s | 200 OK: $ok | p99: ${p99}s"
+
+    kill $pid
+    wait $pid 2>/dev/null
+}
+
+echo "🏁 Platform threads (default)"
+run_mode false
+echo "🏁 Virtual threads"
+run_mode true